@@ -1,22 +1,30 @@
 package com.reliaquest.api.application;
 
 import com.reliaquest.api.controller.IEmployeeController;
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.DeleteEmployeeResponse;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
 import com.reliaquest.api.service.EmployeeCacheService;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.List;
+import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
 @Slf4j
 @RestController
 @RequestMapping("/employees")
 @AllArgsConstructor
+@ConditionalOnProperty(name = "app.api.mode", havingValue = "blocking", matchIfMissing = true)
 public class EmployeeController implements IEmployeeController<Employee, EmployeeInput> {
 
     private final EmployeeService employeeService;
@@ -30,6 +38,11 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamAllEmployees() {
+        return employeeService.streamAllEmployees();
+    }
+
     @Override
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<Employee>> getEmployeesByNameSearch(@PathVariable String searchString) {
@@ -38,6 +51,24 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
         return ResponseEntity.ok(employees);
     }
 
+    @GetMapping(value = "/search/{searchString}", params = "limit")
+    public ResponseEntity<List<Employee>> getEmployeesByNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam int limit) {
+        if (offset < 0 || limit < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Employee> employees = employeeService.getEmployeesByNameSearch(searchString, offset, limit);
+        log.debug(
+                "Returning employees: {} for search string {} (offset:{}, limit:{})",
+                employees,
+                searchString,
+                offset,
+                limit);
+        return ResponseEntity.ok(employees);
+    }
+
     @Override
     @GetMapping("/{id}")
     public ResponseEntity<Employee> getEmployeeById(@PathVariable String id) {
@@ -77,7 +108,35 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
     @Override
     @DeleteMapping("/{id}")
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
-        DeleteEmployeeResponse deleteEmployeeResponse = employeeService.deleteEmployeeById(id);
+        return delete(id, () -> employeeService.deleteEmployeeById(id));
+    }
+
+    /**
+     * Conditional delete: the employee is only deleted if it still matches the ETag in {@code If-Match}, which is
+     * passed on to the Mock Employee API; {@code 412 Precondition Failed} otherwise.
+     */
+    @DeleteMapping(value = "/{id}", headers = HttpHeaders.IF_MATCH)
+    public ResponseEntity<String> deleteEmployeeById(
+            @PathVariable String id, @RequestHeader(HttpHeaders.IF_MATCH) String ifMatch) {
+        return delete(id, () -> employeeService.deleteEmployeeById(id, ifMatch));
+    }
+
+    private ResponseEntity<String> delete(String id, Supplier<DeleteEmployeeResponse> delete) {
+        DeleteEmployeeResponse deleteEmployeeResponse;
+        try {
+            deleteEmployeeResponse = delete.get();
+        } catch (DownstreamException e) {
+            if (e.getStatusCodeValue() == HttpStatus.NOT_FOUND.value()) {
+                log.info("Employee {} not found", id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found : " + id);
+            }
+            if (e.getStatusCodeValue() == HttpStatus.PRECONDITION_FAILED.value()) {
+                log.info("Employee {} does not match If-Match", id);
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body("Employee does not match If-Match : " + id);
+            }
+            throw e;
+        }
         if (deleteEmployeeResponse != null) {
             if (deleteEmployeeResponse.error() != null) {
                 log.error("Error deleting employee {}: error {}", id, deleteEmployeeResponse.error());
@@ -88,7 +147,34 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
                 return ResponseEntity.ok().body(deleteEmployeeResponse.status() + " : " + id);
             }
         }
-        log.error("Error deleting employee {}", id);
-        return ResponseEntity.internalServerError().body("Error deleting employee with id " + id);
+        log.info("Employee {} not found", id);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found : " + id);
+    }
+
+    /**
+     * Creates many employees in one request; see {@link EmployeeService#createEmployees(List)}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<Employee>>> createEmployees(
+            @RequestBody List<EmployeeInput> employeeInputs) {
+        if (employeeInputs.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<BatchItemResult<Employee>> results = employeeService.createEmployees(employeeInputs);
+        log.debug("Created employees {}", results);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Deletes many employees by id in one request; see {@link EmployeeService#deleteEmployeesById(List)}.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult<Boolean>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        if (ids.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<BatchItemResult<Boolean>> results = employeeService.deleteEmployeesById(ids);
+        log.debug("Deleted employees {}", results);
+        return ResponseEntity.ok(results);
     }
 }
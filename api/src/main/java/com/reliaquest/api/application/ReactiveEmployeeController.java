@@ -0,0 +1,146 @@
+package com.reliaquest.api.application;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.BatchItemResult;
+import com.reliaquest.api.model.DeleteEmployeeResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of {@link EmployeeController} serving the same contract with {@link Mono} return types. Enabled with
+ * {@code app.api.mode=reactive}, which the {@code reactive} profile sets together with a reactive web server.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/employees")
+@AllArgsConstructor
+@ConditionalOnProperty(name = "app.api.mode", havingValue = "reactive")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @GetMapping()
+    public Mono<ResponseEntity<List<Employee>>> getAllEmployees() {
+        return employeeService.getAllEmployees().map(ResponseEntity::ok);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> streamAllEmployees() {
+        return employeeService.streamAllEmployees();
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return employeeService.getEmployeesByNameSearch(searchString).map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/search/{searchString}", params = "limit")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(
+            @PathVariable String searchString,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam int limit) {
+        if (offset < 0 || limit < 0) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService
+                .getEmployeesByNameSearch(searchString, offset, limit)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService
+                .getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames().map(ResponseEntity::ok);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody EmployeeInput employeeInput) {
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(employee -> ResponseEntity.status(HttpStatus.CREATED).body(employee))
+                .defaultIfEmpty(ResponseEntity.badRequest().build());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return delete(id, employeeService.deleteEmployeeById(id));
+    }
+
+    /** See {@link EmployeeController#deleteEmployeeById(String, String)}. */
+    @DeleteMapping(value = "/{id}", headers = HttpHeaders.IF_MATCH)
+    public Mono<ResponseEntity<String>> deleteEmployeeById(
+            @PathVariable String id, @RequestHeader(HttpHeaders.IF_MATCH) String ifMatch) {
+        return delete(id, employeeService.deleteEmployeeById(id, ifMatch));
+    }
+
+    private Mono<ResponseEntity<String>> delete(String id, Mono<DeleteEmployeeResponse> delete) {
+        return delete.map(response -> deleted(id, response))
+                .onErrorResume(DownstreamException.class, e -> {
+                    if (e.getStatusCodeValue() == HttpStatus.NOT_FOUND.value()) {
+                        return Mono.just(notFound(id));
+                    }
+                    if (e.getStatusCodeValue() == HttpStatus.PRECONDITION_FAILED.value()) {
+                        log.info("Employee {} does not match If-Match", id);
+                        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                .body("Employee does not match If-Match : " + id));
+                    }
+                    return Mono.error(e);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> notFound(id)));
+    }
+
+    private static ResponseEntity<String> deleted(String id, DeleteEmployeeResponse response) {
+        if (response.error() != null) {
+            log.error("Error deleting employee {}: error {}", id, response.error());
+            return ResponseEntity.badRequest().body(response.status() + " : " + response.error() + " : " + id);
+        }
+        log.info("Successfully deleted employee {}: status {}", id, response.status());
+        return ResponseEntity.ok().body(response.status() + " : " + id);
+    }
+
+    private static ResponseEntity<String> notFound(String id) {
+        log.info("Employee {} not found", id);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Employee not found : " + id);
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<List<BatchItemResult<Employee>>>> createEmployees(
+            @RequestBody List<EmployeeInput> employeeInputs) {
+        if (employeeInputs.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService.createEmployees(employeeInputs).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/batch")
+    public Mono<ResponseEntity<List<BatchItemResult<Boolean>>>> deleteEmployeesById(@RequestBody List<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return employeeService.deleteEmployeesById(ids).map(ResponseEntity::ok);
+    }
+}
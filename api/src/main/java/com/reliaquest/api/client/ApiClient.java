@@ -1,9 +1,15 @@
 package com.reliaquest.api.client;
 
 import com.reliaquest.api.model.*;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.service.annotation.DeleteExchange;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.PostExchange;
@@ -14,12 +20,43 @@ public interface ApiClient {
     @GetExchange
     EmployeeDataResponse getAllEmployees();
 
+    /**
+     * Lets the upstream filter, sort, page and project the roster; see {@link EmployeeQuery#toParams()}.
+     */
+    @GetExchange
+    EmployeeDataResponse findEmployees(@RequestParam Map<String, String> query);
+
+    /**
+     * Creates and deletes made upstream after sequence {@code since}, or without it only the current sequence. With
+     * {@code wait} the upstream holds the request until there are changes, for at most that long.
+     *
+     * @throws com.reliaquest.api.exception.DownstreamException with status 410 if the changes after {@code since} are
+     *     no longer available.
+     */
+    @GetExchange("/changes")
+    EmployeeChangesResponse getChanges(
+            @RequestParam(required = false) Long since, @RequestParam(required = false) Duration wait);
+
     @GetExchange("/{id}")
     EmployeeResponse getEmployeeById(@PathVariable String id);
 
     @PostExchange
-    Employee createEmployee(@RequestBody EmployeeInput employeeInput);
+    EmployeeResponse createEmployee(@RequestBody EmployeeInput employeeInput);
 
     @DeleteExchange
     DeleteEmployeeResponse deleteEmployeeByName(@RequestBody DeleteEmployeeInput deleteEmployeeInput);
+
+    /**
+     * Deletes by id in a single upstream call; with an {@code ifMatch} ETag only if the employee still matches it.
+     */
+    @DeleteExchange("/{id}")
+    DeleteEmployeeResponse deleteEmployeeById(
+            @PathVariable String id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+
+    @PostExchange("/batch")
+    BatchResponse<Employee> createEmployees(@RequestBody List<EmployeeInput> employeeInputs);
+
+    @DeleteExchange("/batch")
+    BatchResponse<Boolean> deleteEmployeesById(@RequestBody List<String> ids);
 }
@@ -0,0 +1,73 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.*;
+import com.reliaquest.api.util.SingleFlight;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link ApiClient} decorator that merges identical concurrent reads into one upstream exchange. Calls are keyed by
+ * method and arguments; every caller arriving while a call with the same key is in flight receives that call's
+ * response or exception. Creates and deletes are not idempotent and always go upstream individually.
+ */
+@RequiredArgsConstructor
+public class CoalescingApiClient implements ApiClient {
+
+    private final ApiClient delegate;
+    private final SingleFlight<List<Object>, Object> singleFlight = new SingleFlight<>();
+
+    @Override
+    public EmployeeDataResponse getAllEmployees() {
+        return coalesce(List.of("getAllEmployees"), delegate::getAllEmployees);
+    }
+
+    @Override
+    public EmployeeDataResponse findEmployees(Map<String, String> query) {
+        return coalesce(List.of("findEmployees", query), () -> delegate.findEmployees(query));
+    }
+
+    @Override
+    public EmployeeChangesResponse getChanges(Long since, Duration wait) {
+        // either may be null, which List.of does not allow
+        return coalesce(Arrays.asList("getChanges", since, wait), () -> delegate.getChanges(since, wait));
+    }
+
+    @Override
+    public EmployeeResponse getEmployeeById(String id) {
+        return coalesce(List.of("getEmployeeById", id), () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public EmployeeResponse createEmployee(EmployeeInput employeeInput) {
+        return delegate.createEmployee(employeeInput);
+    }
+
+    @Override
+    public DeleteEmployeeResponse deleteEmployeeByName(DeleteEmployeeInput deleteEmployeeInput) {
+        return delegate.deleteEmployeeByName(deleteEmployeeInput);
+    }
+
+    @Override
+    public DeleteEmployeeResponse deleteEmployeeById(String id, String ifMatch) {
+        return delegate.deleteEmployeeById(id, ifMatch);
+    }
+
+    @Override
+    public BatchResponse<Employee> createEmployees(List<EmployeeInput> employeeInputs) {
+        return delegate.createEmployees(employeeInputs);
+    }
+
+    @Override
+    public BatchResponse<Boolean> deleteEmployeesById(List<String> ids) {
+        return delegate.deleteEmployeesById(ids);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T coalesce(List<Object> key, Supplier<T> call) {
+        return (T) singleFlight.call(key, call::get);
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.*;
+import com.reliaquest.api.util.SingleFlight;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveApiClient} counterpart of {@link CoalescingApiClient}: a read subscribed to while an identical one is
+ * in flight shares its response or exception instead of sending another exchange. The shared exchange runs to
+ * completion even if the subscriber that started it cancels, as others may be waiting for it. Streams, creates and
+ * deletes always go upstream individually.
+ */
+@RequiredArgsConstructor
+public class CoalescingReactiveApiClient implements ReactiveApiClient {
+
+    private final ReactiveApiClient delegate;
+    private final SingleFlight<List<Object>, Object> singleFlight = new SingleFlight<>();
+
+    @Override
+    public Mono<EmployeeDataResponse> getAllEmployees() {
+        return coalesce(List.of("getAllEmployees"), delegate::getAllEmployees);
+    }
+
+    @Override
+    public Flux<Employee> streamAllEmployees() {
+        return delegate.streamAllEmployees();
+    }
+
+    @Override
+    public Mono<EmployeeDataResponse> findEmployees(Map<String, String> query) {
+        return coalesce(List.of("findEmployees", query), () -> delegate.findEmployees(query));
+    }
+
+    @Override
+    public Mono<EmployeeResponse> getEmployeeById(String id) {
+        return coalesce(List.of("getEmployeeById", id), () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public Mono<EmployeeResponse> createEmployee(EmployeeInput employeeInput) {
+        return delegate.createEmployee(employeeInput);
+    }
+
+    @Override
+    public Mono<DeleteEmployeeResponse> deleteEmployeeByName(DeleteEmployeeInput deleteEmployeeInput) {
+        return delegate.deleteEmployeeByName(deleteEmployeeInput);
+    }
+
+    @Override
+    public Mono<DeleteEmployeeResponse> deleteEmployeeById(String id, String ifMatch) {
+        return delegate.deleteEmployeeById(id, ifMatch);
+    }
+
+    @Override
+    public Mono<BatchResponse<Employee>> createEmployees(List<EmployeeInput> employeeInputs) {
+        return delegate.createEmployees(employeeInputs);
+    }
+
+    @Override
+    public Mono<BatchResponse<Boolean>> deleteEmployeesById(List<String> ids) {
+        return delegate.deleteEmployeesById(ids);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<T> coalesce(List<Object> key, Supplier<Mono<T>> call) {
+        // cancelling one subscriber must not cancel the exchange shared with the others
+        return Mono.defer(() -> Mono.fromFuture(
+                        singleFlight.execute(key, () -> call.get().cast(Object.class).toFuture()), true))
+                .map(value -> (T) value);
+    }
+}
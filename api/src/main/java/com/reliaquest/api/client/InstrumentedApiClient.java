@@ -0,0 +1,93 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link ApiClient} decorator that times every call in the {@code employee.client.calls} timer, tagged with the
+ * operation, its outcome and the exception it failed with, and publishes a percentile histogram for each.
+ */
+@RequiredArgsConstructor
+public class InstrumentedApiClient implements ApiClient {
+    static final String TIMER = "employee.client.calls";
+
+    private final ApiClient delegate;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public EmployeeDataResponse getAllEmployees() {
+        return time("getAllEmployees", delegate::getAllEmployees);
+    }
+
+    @Override
+    public EmployeeDataResponse findEmployees(Map<String, String> query) {
+        return time("findEmployees", () -> delegate.findEmployees(query));
+    }
+
+    @Override
+    public EmployeeChangesResponse getChanges(Long since, Duration wait) {
+        return time("getChanges", () -> delegate.getChanges(since, wait));
+    }
+
+    @Override
+    public EmployeeResponse getEmployeeById(String id) {
+        return time("getEmployeeById", () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public EmployeeResponse createEmployee(EmployeeInput employeeInput) {
+        return time("createEmployee", () -> delegate.createEmployee(employeeInput));
+    }
+
+    @Override
+    public DeleteEmployeeResponse deleteEmployeeByName(DeleteEmployeeInput deleteEmployeeInput) {
+        return time("deleteEmployeeByName", () -> delegate.deleteEmployeeByName(deleteEmployeeInput));
+    }
+
+    @Override
+    public DeleteEmployeeResponse deleteEmployeeById(String id, String ifMatch) {
+        return time("deleteEmployeeById", () -> delegate.deleteEmployeeById(id, ifMatch));
+    }
+
+    @Override
+    public BatchResponse<Employee> createEmployees(List<EmployeeInput> employeeInputs) {
+        return time("createEmployees", () -> delegate.createEmployees(employeeInputs));
+    }
+
+    @Override
+    public BatchResponse<Boolean> deleteEmployeesById(List<String> ids) {
+        return time("deleteEmployeesById", () -> delegate.deleteEmployeesById(ids));
+    }
+
+    private <T> T time(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        String exception = "none";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(timer(meterRegistry, operation, outcome, exception));
+        }
+    }
+
+    static Timer timer(MeterRegistry meterRegistry, String operation, String outcome, String exception) {
+        return Timer.builder(TIMER)
+                .description("Calls to the Mock Employee API")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
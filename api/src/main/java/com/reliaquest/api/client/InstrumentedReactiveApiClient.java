@@ -0,0 +1,88 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveApiClient} counterpart of {@link InstrumentedApiClient}, recording into the same
+ * {@code employee.client.calls} timer. A call is timed from subscription until it terminates; one cancelled before
+ * then, e.g. by a timeout downstream, is tagged with the outcome {@code cancelled}.
+ */
+@RequiredArgsConstructor
+public class InstrumentedReactiveApiClient implements ReactiveApiClient {
+
+    private final ReactiveApiClient delegate;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<EmployeeDataResponse> getAllEmployees() {
+        return time("getAllEmployees", delegate::getAllEmployees);
+    }
+
+    @Override
+    public Flux<Employee> streamAllEmployees() {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return delegate.streamAllEmployees()
+                    .doOnComplete(() -> stop(sample, "streamAllEmployees", "success", "none"))
+                    .doOnError(e -> stop(sample, "streamAllEmployees", "error", e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, "streamAllEmployees", "cancelled", "none"));
+        });
+    }
+
+    @Override
+    public Mono<EmployeeDataResponse> findEmployees(Map<String, String> query) {
+        return time("findEmployees", () -> delegate.findEmployees(query));
+    }
+
+    @Override
+    public Mono<EmployeeResponse> getEmployeeById(String id) {
+        return time("getEmployeeById", () -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public Mono<EmployeeResponse> createEmployee(EmployeeInput employeeInput) {
+        return time("createEmployee", () -> delegate.createEmployee(employeeInput));
+    }
+
+    @Override
+    public Mono<DeleteEmployeeResponse> deleteEmployeeByName(DeleteEmployeeInput deleteEmployeeInput) {
+        return time("deleteEmployeeByName", () -> delegate.deleteEmployeeByName(deleteEmployeeInput));
+    }
+
+    @Override
+    public Mono<DeleteEmployeeResponse> deleteEmployeeById(String id, String ifMatch) {
+        return time("deleteEmployeeById", () -> delegate.deleteEmployeeById(id, ifMatch));
+    }
+
+    @Override
+    public Mono<BatchResponse<Employee>> createEmployees(List<EmployeeInput> employeeInputs) {
+        return time("createEmployees", () -> delegate.createEmployees(employeeInputs));
+    }
+
+    @Override
+    public Mono<BatchResponse<Boolean>> deleteEmployeesById(List<String> ids) {
+        return time("deleteEmployeesById", () -> delegate.deleteEmployeesById(ids));
+    }
+
+    private <T> Mono<T> time(String operation, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.get()
+                    .doOnSuccess(result -> stop(sample, operation, "success", "none"))
+                    .doOnError(e -> stop(sample, operation, "error", e.getClass().getSimpleName()))
+                    .doOnCancel(() -> stop(sample, operation, "cancelled", "none"));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome, String exception) {
+        sample.stop(InstrumentedApiClient.timer(meterRegistry, operation, outcome, exception));
+    }
+}
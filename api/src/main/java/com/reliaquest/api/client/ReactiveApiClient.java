@@ -0,0 +1,52 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.*;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.service.annotation.DeleteExchange;
+import org.springframework.web.service.annotation.GetExchange;
+import org.springframework.web.service.annotation.PostExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link ApiClient}, backed by the same {@code WebClient}.
+ */
+public interface ReactiveApiClient {
+
+    @GetExchange
+    Mono<EmployeeDataResponse> getAllEmployees();
+
+    /** Streams the roster as newline-delimited JSON, decoding one employee at a time as it arrives. */
+    @GetExchange(accept = MediaType.APPLICATION_NDJSON_VALUE)
+    Flux<Employee> streamAllEmployees();
+
+    @GetExchange
+    Mono<EmployeeDataResponse> findEmployees(@RequestParam Map<String, String> query);
+
+    @GetExchange("/{id}")
+    Mono<EmployeeResponse> getEmployeeById(@PathVariable String id);
+
+    @PostExchange
+    Mono<EmployeeResponse> createEmployee(@RequestBody EmployeeInput employeeInput);
+
+    @DeleteExchange
+    Mono<DeleteEmployeeResponse> deleteEmployeeByName(@RequestBody DeleteEmployeeInput deleteEmployeeInput);
+
+    @DeleteExchange("/{id}")
+    Mono<DeleteEmployeeResponse> deleteEmployeeById(
+            @PathVariable String id,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch);
+
+    @PostExchange("/batch")
+    Mono<BatchResponse<Employee>> createEmployees(@RequestBody List<EmployeeInput> employeeInputs);
+
+    @DeleteExchange("/batch")
+    Mono<BatchResponse<Boolean>> deleteEmployeesById(@RequestBody List<String> ids);
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.*;
+import com.reliaquest.api.resilience.Bulkhead;
+import com.reliaquest.api.resilience.BulkheadFullException;
+import com.reliaquest.api.resilience.CircuitBreaker;
+import com.reliaquest.api.resilience.RateLimitExceededException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * {@link ApiClient} decorator that guards every operation with its own {@link CircuitBreaker} and {@link Bulkhead}.
+ * While the upstream is down or throttling, an open breaker fails calls immediately instead of letting each one wait
+ * out connect timeouts and retries, and the bulkhead caps how many request threads can be waiting on one operation.
+ * <p>
+ * 5xx answers, 429s and transport errors count as failures. Other 4xx answers show a healthy upstream and rejections
+ * by the client-side rate limiter or a full bulkhead never reached it, so neither is held against the breaker.
+ */
+public class ResilientApiClient implements ApiClient {
+
+    private final ApiClient delegate;
+    private final Guard getAllEmployees;
+    private final Guard findEmployees;
+    private final Guard getChanges;
+    private final Guard getEmployeeById;
+    private final Guard createEmployee;
+    private final Guard deleteEmployeeByName;
+    private final Guard deleteEmployeeById;
+    private final Guard createEmployees;
+    private final Guard deleteEmployeesById;
+
+    /**
+     * @param circuitBreakers creates the circuit breaker for the named operation, given the failure classification.
+     * @param bulkheads creates the bulkhead for the named operation.
+     */
+    public ResilientApiClient(
+            ApiClient delegate,
+            BiFunction<String, Predicate<Throwable>, CircuitBreaker> circuitBreakers,
+            Function<String, Bulkhead> bulkheads) {
+        this.delegate = delegate;
+        this.getAllEmployees = guard("getAllEmployees", circuitBreakers, bulkheads);
+        this.findEmployees = guard("findEmployees", circuitBreakers, bulkheads);
+        this.getChanges = guard("getChanges", circuitBreakers, bulkheads);
+        this.getEmployeeById = guard("getEmployeeById", circuitBreakers, bulkheads);
+        this.createEmployee = guard("createEmployee", circuitBreakers, bulkheads);
+        this.deleteEmployeeByName = guard("deleteEmployeeByName", circuitBreakers, bulkheads);
+        this.deleteEmployeeById = guard("deleteEmployeeById", circuitBreakers, bulkheads);
+        this.createEmployees = guard("createEmployees", circuitBreakers, bulkheads);
+        this.deleteEmployeesById = guard("deleteEmployeesById", circuitBreakers, bulkheads);
+    }
+
+    @Override
+    public EmployeeDataResponse getAllEmployees() {
+        return getAllEmployees.call(delegate::getAllEmployees);
+    }
+
+    @Override
+    public EmployeeDataResponse findEmployees(Map<String, String> query) {
+        return findEmployees.call(() -> delegate.findEmployees(query));
+    }
+
+    @Override
+    public EmployeeChangesResponse getChanges(Long since, Duration wait) {
+        return getChanges.call(() -> delegate.getChanges(since, wait));
+    }
+
+    @Override
+    public EmployeeResponse getEmployeeById(String id) {
+        return getEmployeeById.call(() -> delegate.getEmployeeById(id));
+    }
+
+    @Override
+    public EmployeeResponse createEmployee(EmployeeInput employeeInput) {
+        return createEmployee.call(() -> delegate.createEmployee(employeeInput));
+    }
+
+    @Override
+    public DeleteEmployeeResponse deleteEmployeeByName(DeleteEmployeeInput deleteEmployeeInput) {
+        return deleteEmployeeByName.call(() -> delegate.deleteEmployeeByName(deleteEmployeeInput));
+    }
+
+    @Override
+    public DeleteEmployeeResponse deleteEmployeeById(String id, String ifMatch) {
+        return deleteEmployeeById.call(() -> delegate.deleteEmployeeById(id, ifMatch));
+    }
+
+    @Override
+    public BatchResponse<Employee> createEmployees(List<EmployeeInput> employeeInputs) {
+        return createEmployees.call(() -> delegate.createEmployees(employeeInputs));
+    }
+
+    @Override
+    public BatchResponse<Boolean> deleteEmployeesById(List<String> ids) {
+        return deleteEmployeesById.call(() -> delegate.deleteEmployeesById(ids));
+    }
+
+    static boolean isFailure(Throwable failure) {
+        if (failure instanceof RateLimitExceededException || failure instanceof BulkheadFullException) {
+            return false;
+        }
+        if (failure instanceof DownstreamException downstreamException) {
+            int status = downstreamException.getStatusCodeValue();
+            return status >= 500 || status == 429;
+        }
+        return true;
+    }
+
+    private static Guard guard(
+            String operation,
+            BiFunction<String, Predicate<Throwable>, CircuitBreaker> circuitBreakers,
+            Function<String, Bulkhead> bulkheads) {
+        return new Guard(
+                circuitBreakers.apply(operation, ResilientApiClient::isFailure), bulkheads.apply(operation));
+    }
+
+    private record Guard(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+
+        <T> T call(Supplier<T> call) {
+            return circuitBreaker.call(() -> bulkhead.call(call));
+        }
+    }
+}
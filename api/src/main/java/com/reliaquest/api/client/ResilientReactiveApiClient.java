@@ -0,0 +1,115 @@
+package com.reliaquest.api.client;
+
+import com.reliaquest.api.model.*;
+import com.reliaquest.api.resilience.Bulkhead;
+import com.reliaquest.api.resilience.CircuitBreaker;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ReactiveApiClient} counterpart of {@link ResilientApiClient}: every operation gets its own
+ * {@link CircuitBreaker} and {@link Bulkhead}, and failures are classified the same way. The guards apply on
+ * subscription, so a call rejected by an open breaker or a full bulkhead fails without an exchange being sent.
+ */
+public class ResilientReactiveApiClient implements ReactiveApiClient {
+
+    private final ReactiveApiClient delegate;
+    private final Guard getAllEmployees;
+    private final Guard streamAllEmployees;
+    private final Guard findEmployees;
+    private final Guard getEmployeeById;
+    private final Guard createEmployee;
+    private final Guard deleteEmployeeByName;
+    private final Guard deleteEmployeeById;
+    private final Guard createEmployees;
+    private final Guard deleteEmployeesById;
+
+    /**
+     * @param circuitBreakers creates the circuit breaker for the named operation, given the failure classification.
+     * @param bulkheads creates the bulkhead for the named operation.
+     */
+    public ResilientReactiveApiClient(
+            ReactiveApiClient delegate,
+            BiFunction<String, Predicate<Throwable>, CircuitBreaker> circuitBreakers,
+            Function<String, Bulkhead> bulkheads) {
+        this.delegate = delegate;
+        this.getAllEmployees = guard("getAllEmployees", circuitBreakers, bulkheads);
+        this.streamAllEmployees = guard("streamAllEmployees", circuitBreakers, bulkheads);
+        this.findEmployees = guard("findEmployees", circuitBreakers, bulkheads);
+        this.getEmployeeById = guard("getEmployeeById", circuitBreakers, bulkheads);
+        this.createEmployee = guard("createEmployee", circuitBreakers, bulkheads);
+        this.deleteEmployeeByName = guard("deleteEmployeeByName", circuitBreakers, bulkheads);
+        this.deleteEmployeeById = guard("deleteEmployeeById", circuitBreakers, bulkheads);
+        this.createEmployees = guard("createEmployees", circuitBreakers, bulkheads);
+        this.deleteEmployeesById = guard("deleteEmployeesById", circuitBreakers, bulkheads);
+    }
+
+    @Override
+    public Mono<EmployeeDataResponse> getAllEmployees() {
+        return getAllEmployees.call(Mono.defer(delegate::getAllEmployees));
+    }
+
+    @Override
+    public Flux<Employee> streamAllEmployees() {
+        return streamAllEmployees.call(Flux.defer(delegate::streamAllEmployees));
+    }
+
+    @Override
+    public Mono<EmployeeDataResponse> findEmployees(Map<String, String> query) {
+        return findEmployees.call(Mono.defer(() -> delegate.findEmployees(query)));
+    }
+
+    @Override
+    public Mono<EmployeeResponse> getEmployeeById(String id) {
+        return getEmployeeById.call(Mono.defer(() -> delegate.getEmployeeById(id)));
+    }
+
+    @Override
+    public Mono<EmployeeResponse> createEmployee(EmployeeInput employeeInput) {
+        return createEmployee.call(Mono.defer(() -> delegate.createEmployee(employeeInput)));
+    }
+
+    @Override
+    public Mono<DeleteEmployeeResponse> deleteEmployeeByName(DeleteEmployeeInput deleteEmployeeInput) {
+        return deleteEmployeeByName.call(Mono.defer(() -> delegate.deleteEmployeeByName(deleteEmployeeInput)));
+    }
+
+    @Override
+    public Mono<DeleteEmployeeResponse> deleteEmployeeById(String id, String ifMatch) {
+        return deleteEmployeeById.call(Mono.defer(() -> delegate.deleteEmployeeById(id, ifMatch)));
+    }
+
+    @Override
+    public Mono<BatchResponse<Employee>> createEmployees(List<EmployeeInput> employeeInputs) {
+        return createEmployees.call(Mono.defer(() -> delegate.createEmployees(employeeInputs)));
+    }
+
+    @Override
+    public Mono<BatchResponse<Boolean>> deleteEmployeesById(List<String> ids) {
+        return deleteEmployeesById.call(Mono.defer(() -> delegate.deleteEmployeesById(ids)));
+    }
+
+    private static Guard guard(
+            String operation,
+            BiFunction<String, Predicate<Throwable>, CircuitBreaker> circuitBreakers,
+            Function<String, Bulkhead> bulkheads) {
+        return new Guard(
+                circuitBreakers.apply(operation, ResilientApiClient::isFailure), bulkheads.apply(operation));
+    }
+
+    private record Guard(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+
+        <T> Mono<T> call(Mono<T> call) {
+            return circuitBreaker.call(bulkhead.call(call));
+        }
+
+        <T> Flux<T> call(Flux<T> call) {
+            return circuitBreaker.call(bulkhead.call(call));
+        }
+    }
+}
@@ -1,12 +1,34 @@
 package com.reliaquest.api.config;
 
 import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.CoalescingApiClient;
+import com.reliaquest.api.client.CoalescingReactiveApiClient;
+import com.reliaquest.api.client.InstrumentedApiClient;
+import com.reliaquest.api.client.InstrumentedReactiveApiClient;
+import com.reliaquest.api.client.ReactiveApiClient;
+import com.reliaquest.api.client.ResilientApiClient;
+import com.reliaquest.api.client.ResilientReactiveApiClient;
 import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.resilience.AdaptiveRateLimiter;
+import com.reliaquest.api.resilience.Bulkhead;
+import com.reliaquest.api.resilience.CircuitBreaker;
+import com.reliaquest.api.resilience.HedgingFilter;
+import com.reliaquest.api.resilience.RateLimitingFilter;
+import com.reliaquest.api.resilience.RetryBudget;
+import com.reliaquest.api.resilience.RetryFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpMethod;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
 import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,57 +37,217 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.*;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
-import reactor.util.retry.Retry;
+import reactor.netty.resources.ConnectionProvider;
 
 @Slf4j
 @Configuration
 public class ClientConfig {
-    private static final int CONNECTION_TIMEOUT_MILLIS = 30000; // 30 seconds
-    private static final int TIMEOUT_SECONDS = 120; // 2 minutes
-    private static final int RESPONSE_TIMEOUT_SECONDS = 120; // 2 minutes
+    @Bean
+    public AdaptiveRateLimiter adaptiveRateLimiter(
+            @Value("${app.client.rate-limit.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${app.client.rate-limit.max-backoff:5m}") Duration maxBackoff,
+            @Value("${app.client.rate-limit.max-wait:10s}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        AdaptiveRateLimiter rateLimiter = new AdaptiveRateLimiter(initialBackoff, maxBackoff, maxWait);
+        Gauge.builder("employee.client.rate-limit.budget", rateLimiter, AdaptiveRateLimiter::budget)
+                .description("Learned upstream request budget per window")
+                .register(orGlobal(meterRegistry));
+        Gauge.builder("employee.client.rate-limit.backoff", rateLimiter, limiter -> limiter.backoff().toMillis())
+                .description("Learned upstream backoff window")
+                .baseUnit("milliseconds")
+                .register(orGlobal(meterRegistry));
+        return rateLimiter;
+    }
+
+    @Bean
+    public RetryBudget retryBudget(
+            @Value("${app.client.retry.budget.ratio:0.2}") double ratio,
+            @Value("${app.client.retry.budget.capacity:10}") int capacity) {
+        return new RetryBudget(ratio, capacity);
+    }
+
+    @Bean
+    public RetryFilter retryFilter(
+            RetryBudget retryBudget,
+            @Value("${app.client.retry.max-retries:3}") int maxRetries,
+            @Value("${app.client.retry.initial-backoff:2s}") Duration initialBackoff,
+            @Value("${app.client.retry.max-delay:2m}") Duration maxDelay,
+            @Value("${app.client.retry.jitter:0.2}") double jitter,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RetryFilter(maxRetries, initialBackoff, maxDelay, jitter, retryBudget, orGlobal(meterRegistry));
+    }
+
+    /**
+     * Dedicated connection pool for the upstream API. Idle connections are closed before the server's keep-alive
+     * timeout would close them under a request, the most recently used connection is reused first so surplus ones
+     * can idle out, and callers queue for a connection only up to a bounded count and time.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider employeeConnectionProvider(
+            @Value("${app.client.pool.max-connections:50}") int maxConnections,
+            @Value("${app.client.pool.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${app.client.pool.pending-acquire-timeout:5s}") Duration pendingAcquireTimeout,
+            @Value("${app.client.pool.max-idle-time:15s}") Duration maxIdleTime,
+            @Value("${app.client.pool.max-life-time:5m}") Duration maxLifeTime,
+            @Value("${app.client.pool.evict-in-background:30s}") Duration evictInBackground,
+            @Value("${app.client.pool.metrics-enabled:true}") boolean metrics) {
+        log.info("Creating connection pool (maxConnections:{}, maxIdleTime:{})", maxConnections, maxIdleTime);
+        return ConnectionProvider.builder("employee-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(evictInBackground)
+                .lifo()
+                .metrics(metrics)
+                .build();
+    }
 
+    /**
+     * Compression is off by default: the upstream usually runs next to this api, where inflating responses costs more
+     * than the bytes it saves.
+     */
     @Bean
-    public ApiClient apiClient(@Value("${app.server.url}") String url) {
-        log.info("Creating ApiClient: {}", url);
-        WebClient webClient = getBuilder(url)
+    public HttpClient employeeHttpClient(
+            ConnectionProvider employeeConnectionProvider,
+            @Value("${app.server.url}") String url,
+            @Value("${app.client.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${app.client.response-timeout:2m}") Duration responseTimeout,
+            @Value("${app.client.compression.enabled:false}") boolean compression,
+            @Value("${app.client.h2c.enabled:false}") boolean h2c,
+            @Value("${app.client.pool.warmup:true}") boolean warmup,
+            @Value("${app.client.pool.warmup-connections:0}") int warmupConnections) {
+        HttpClient httpClient = createHttpClient(employeeConnectionProvider, connectTimeout, responseTimeout)
+                .compress(compression);
+        if (h2c) {
+            // upgrades to cleartext HTTP/2 where the server supports it, multiplexing requests over fewer connections
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        if (warmup) {
+            // loads the event loops, native transport and host name resolver now instead of on the first request
+            httpClient.warmup().block();
+            openConnections(httpClient, url, warmupConnections, connectTimeout);
+        }
+        return httpClient;
+    }
+
+    /**
+     * Opens {@code count} pooled connections by sending as many concurrent {@code OPTIONS} requests, which the server
+     * answers without a body. Each request counts against the upstream's rate limit, so none are sent by default.
+     * Failures are only logged: the connections are then opened by the first requests instead.
+     */
+    static void openConnections(HttpClient httpClient, String url, int count, Duration timeout) {
+        if (count <= 0) {
+            return;
+        }
+        try {
+            Long opened = Flux.range(0, count)
+                    .flatMap(
+                            i -> httpClient
+                                    .request(HttpMethod.OPTIONS)
+                                    .uri(url)
+                                    .responseSingle((response, body) -> body.then(Mono.just(response.status()))),
+                            count)
+                    .count()
+                    .block(timeout);
+            log.info("Opened {} upstream connections", opened);
+        } catch (RuntimeException e) {
+            log.warn("Could not open upstream connections at startup: {}", e.getMessage());
+        }
+    }
+
+    @Bean
+    public WebClient employeeWebClient(
+            @Value("${app.server.url}") String url,
+            AdaptiveRateLimiter rateLimiter,
+            RetryFilter retryFilter,
+            RetryBudget retryBudget,
+            @Value("${app.client.hedging.enabled:false}") boolean hedging,
+            @Value("${app.client.hedging.percentile:0.95}") double hedgingPercentile,
+            HttpClient employeeHttpClient,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("Creating WebClient: {}", url);
+        WebClient.Builder builder = getBuilder(url, employeeHttpClient)
                 .filter(ExchangeFilterFunction.ofRequestProcessor(request -> {
-                    log.info("Sending request to {}", request.url());
-                    return Mono.just(ClientRequest.from(request).build());
+                    log.debug("Sending request to {}", request.url());
+                    return Mono.just(request);
                 }))
-                .build();
+                .filter(retryFilter);
+        if (hedging) {
+            builder.filter(new HedgingFilter(hedgingPercentile, retryBudget));
+        }
+        return builder.filter(new RateLimitingFilter(rateLimiter, orGlobal(meterRegistry))).build();
+    }
 
-        webClient = configureRetry(webClient);
+    @Bean
+    public ApiClient apiClient(
+            WebClient employeeWebClient,
+            @Value("${app.client.coalescing.enabled:true}") boolean coalescing,
+            @Value("${app.client.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${app.client.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${app.client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${app.client.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${app.client.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+            @Value("${app.client.bulkhead.max-concurrent:16}") int maxConcurrent,
+            @Value("${app.client.bulkhead.max-wait:500ms}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("Creating ApiClient");
+        ApiClient resilientApiClient = new ResilientApiClient(
+                HttpServiceProxyFactory.builderFor(WebClientAdapter.create(employeeWebClient))
+                        .build()
+                        .createClient(ApiClient.class),
+                circuitBreakers(failureRateThreshold, windowSize, minimumCalls, openDuration, halfOpenCalls),
+                operation -> new Bulkhead(operation, maxConcurrent, maxWait));
+        ApiClient apiClient = new InstrumentedApiClient(resilientApiClient, orGlobal(meterRegistry));
+        // coalesce outside the guards, so that merged callers share one bulkhead slot
+        return coalescing ? new CoalescingApiClient(apiClient) : apiClient;
+    }
 
-        return HttpServiceProxyFactory.builderFor(WebClientAdapter.create(webClient))
-                .build()
-                .createClient(ApiClient.class);
+    /**
+     * Guarded, timed and coalesced like {@link #apiClient}, with circuit breakers and bulkheads of its own.
+     */
+    @Bean
+    public ReactiveApiClient reactiveApiClient(
+            WebClient employeeWebClient,
+            @Value("${app.client.coalescing.enabled:true}") boolean coalescing,
+            @Value("${app.client.circuit-breaker.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${app.client.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${app.client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${app.client.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${app.client.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+            @Value("${app.client.bulkhead.max-concurrent:16}") int maxConcurrent,
+            @Value("${app.client.bulkhead.max-wait:500ms}") Duration maxWait,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        log.info("Creating ReactiveApiClient");
+        ReactiveApiClient resilientApiClient = new ResilientReactiveApiClient(
+                HttpServiceProxyFactory.builderFor(WebClientAdapter.create(employeeWebClient))
+                        .build()
+                        .createClient(ReactiveApiClient.class),
+                circuitBreakers(failureRateThreshold, windowSize, minimumCalls, openDuration, halfOpenCalls),
+                operation -> new Bulkhead(operation, maxConcurrent, maxWait));
+        ReactiveApiClient apiClient = new InstrumentedReactiveApiClient(resilientApiClient, orGlobal(meterRegistry));
+        return coalescing ? new CoalescingReactiveApiClient(apiClient) : apiClient;
     }
 
-    private WebClient configureRetry(WebClient webClient) {
-        return webClient
-                .mutate()
-                .filter((request, next) -> next.exchange(request)
-                        .retryWhen(Retry.backoff(3, Duration.ofSeconds(2))
-                                .filter(throwable -> throwable instanceof java.net.ConnectException
-                                        || throwable instanceof java.net.SocketTimeoutException
-                                        || throwable instanceof IllegalStateException)
-                                .doBeforeRetry(retrySignal -> {
-                                    long attempt = retrySignal.totalRetries() + 1;
-                                    log.info("Retry attempt {} for request: {}", attempt, request.url());
-                                })
-                                .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) -> {
-                                    log.error(
-                                            "Retry attempts exhausted for {}. Last error: {}",
-                                            request.url(),
-                                            retrySignal.failure().getMessage());
-                                    return retrySignal.failure();
-                                })))
-                .build();
+    private static BiFunction<String, Predicate<Throwable>, CircuitBreaker> circuitBreakers(
+            double failureRateThreshold, int windowSize, int minimumCalls, Duration openDuration, int halfOpenCalls) {
+        return (operation, isFailure) -> new CircuitBreaker(
+                operation, failureRateThreshold, windowSize, minimumCalls, openDuration, halfOpenCalls, isFailure);
     }
 
-    private static WebClient.Builder getBuilder(String baseUrl) {
+    /*
+     * The global registry includes Spring Boot's registries; it stands in when only this configuration is loaded.
+     */
+    private static MeterRegistry orGlobal(ObjectProvider<MeterRegistry> meterRegistry) {
+        return meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    private static WebClient.Builder getBuilder(String baseUrl, HttpClient httpClient) {
         return WebClient.builder()
                 .baseUrl(baseUrl)
                 .defaultStatusHandler(HttpStatusCode::isError, resp -> {
@@ -77,7 +259,7 @@ public class ClientConfig {
                 .exchangeStrategies(ExchangeStrategies.builder()
                         .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
                         .build())
-                .clientConnector(new ReactorClientHttpConnector(createHttpClient()));
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
     }
 
     private static void logErrorResponse(ClientResponse resp) {
@@ -90,17 +272,21 @@ public class ClientConfig {
 
     /**
      * Creates a shared HttpClient with connection and response timeout configurations.
+     * <p>
+     * The read and write timeout handlers are added per request: handlers added to a connection are removed when it is
+     * released to the pool, so handlers added once on connect would only guard the first request on each connection.
      *
      * @return A configured HttpClient instance.
      */
-    private static HttpClient createHttpClient() {
-
-        return HttpClient.create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, CONNECTION_TIMEOUT_MILLIS)
-                .doOnConnected(conn -> conn.addHandlerLast(new ReadTimeoutHandler(TIMEOUT_SECONDS))
-                        .addHandlerLast(new WriteTimeoutHandler(TIMEOUT_SECONDS)))
-                .responseTimeout(Duration.ofSeconds(RESPONSE_TIMEOUT_SECONDS))
-                .compress(true)
+    private static HttpClient createHttpClient(
+            ConnectionProvider connectionProvider, Duration connectTimeout, Duration responseTimeout) {
+
+        return HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .doOnRequest((request, conn) -> conn.addHandlerLast(
+                                new ReadTimeoutHandler(responseTimeout.toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(responseTimeout.toMillis(), TimeUnit.MILLISECONDS)))
+                .responseTimeout(responseTimeout)
                 .followRedirect(true);
     }
 }
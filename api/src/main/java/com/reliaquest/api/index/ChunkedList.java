@@ -0,0 +1,260 @@
+package com.reliaquest.api.index;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable list stored as a sequence of chunks of at most {@code maxChunk} elements, where {@code maxChunk} is about
+ * twice the square root of the largest size the list has reached. {@link #insert(int, Object)} and
+ * {@link #delete(int)} copy only the chunk they touch and the array of chunk references, O(sqrt(n)) together, and
+ * share every other chunk with this list, so a list can be updated cheaply while readers keep using the original.
+ * Lookups by position are O(log chunks) and iteration walks the chunks directly.
+ * <p>
+ * A chunk that overflows is split in two. A chunk that shrinks is merged with a neighbour once both fit into half a
+ * chunk, so the number of chunks stays about sqrt(n).
+ */
+public final class ChunkedList<E> extends AbstractList<E> implements RandomAccess {
+    private static final int MIN_CHUNK = 64;
+    private static final Object[][] NO_CHUNKS = new Object[0][];
+    private static final ChunkedList<?> EMPTY = new ChunkedList<>(NO_CHUNKS, new int[0], 0, MIN_CHUNK);
+
+    private final Object[][] chunks;
+    /** Position of the first element of each chunk. */
+    private final int[] offsets;
+
+    private final int size;
+    private final int maxChunk;
+
+    private ChunkedList(Object[][] chunks, int[] offsets, int size, int maxChunk) {
+        this.chunks = chunks;
+        this.offsets = offsets;
+        this.size = size;
+        this.maxChunk = maxChunk;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> ChunkedList<E> empty() {
+        return (ChunkedList<E>) EMPTY;
+    }
+
+    public static <E> ChunkedList<E> of(Collection<? extends E> elements) {
+        Object[] all = elements.toArray();
+        if (all.length == 0) {
+            return empty();
+        }
+        int maxChunk = chunkSizeFor(all.length);
+        // half full, so that inserts split a chunk only after maxChunk / 2 of them landed in it
+        int fill = maxChunk / 2;
+        int count = (all.length + fill - 1) / fill;
+        Object[][] chunks = new Object[count][];
+        int[] offsets = new int[count];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = i * fill;
+            chunks[i] = Arrays.copyOfRange(all, offsets[i], Math.min(offsets[i] + fill, all.length));
+        }
+        return new ChunkedList<>(chunks, offsets, all.length, maxChunk);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        int chunk = chunkOf(index);
+        return (E) chunks[chunk][index - offsets[chunk]];
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<>() {
+            private int chunk;
+            private int at;
+
+            @Override
+            public boolean hasNext() {
+                return chunk < chunks.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (chunk >= chunks.length) {
+                    throw new NoSuchElementException();
+                }
+                E next = (E) chunks[chunk][at++];
+                if (at == chunks[chunk].length) {
+                    chunk++;
+                    at = 0;
+                }
+                return next;
+            }
+        };
+    }
+
+    /**
+     * @return a list with {@code element} inserted at {@code index}, this list unchanged.
+     */
+    public ChunkedList<E> insert(int index, E element) {
+        Objects.checkIndex(index, size + 1);
+        if (size == 0) {
+            return new ChunkedList<>(new Object[][] {{element}}, new int[] {0}, 1, maxChunk);
+        }
+        int chunk = index == size ? chunks.length - 1 : chunkOf(index);
+        Object[] old = chunks[chunk];
+        int at = index - offsets[chunk];
+        if (old.length == maxChunk && at == old.length && chunk == chunks.length - 1) {
+            // appending to a full last chunk starts a new one rather than leaving two half full chunks behind
+            return replace(chunks.length, chunks.length, new Object[][] {{element}}, 1);
+        }
+        Object[] updated = new Object[old.length + 1];
+        System.arraycopy(old, 0, updated, 0, at);
+        updated[at] = element;
+        System.arraycopy(old, at, updated, at + 1, old.length - at);
+        if (updated.length <= maxChunk) {
+            return replace(chunk, chunk + 1, new Object[][] {updated}, 1);
+        }
+        int half = updated.length / 2;
+        return replace(
+                chunk,
+                chunk + 1,
+                new Object[][] {
+                    Arrays.copyOfRange(updated, 0, half),
+                    Arrays.copyOfRange(updated, half, updated.length)
+                },
+                1);
+    }
+
+    public ChunkedList<E> append(E element) {
+        return insert(size, element);
+    }
+
+    /**
+     * @return a list without the element at {@code index}, this list unchanged.
+     */
+    public ChunkedList<E> delete(int index) {
+        Objects.checkIndex(index, size);
+        if (size == 1) {
+            return empty();
+        }
+        int chunk = chunkOf(index);
+        Object[] old = chunks[chunk];
+        int at = index - offsets[chunk];
+        Object[] updated = new Object[old.length - 1];
+        System.arraycopy(old, 0, updated, 0, at);
+        System.arraycopy(old, at + 1, updated, at, old.length - at - 1);
+        if (updated.length == 0) {
+            return replace(chunk, chunk + 1, NO_CHUNKS, -1);
+        }
+        if (chunk > 0 && chunks[chunk - 1].length + updated.length <= maxChunk / 2) {
+            return replace(chunk - 1, chunk + 1, new Object[][] {concat(chunks[chunk - 1], updated)}, -1);
+        }
+        if (chunk < chunks.length - 1 && updated.length + chunks[chunk + 1].length <= maxChunk / 2) {
+            return replace(chunk, chunk + 2, new Object[][] {concat(updated, chunks[chunk + 1])}, -1);
+        }
+        return replace(chunk, chunk + 1, new Object[][] {updated}, -1);
+    }
+
+    /**
+     * Finds the element with the given key in a list ordered by ascending {@code key}.
+     *
+     * @return its position, or -1 if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public int indexOfKey(ToLongFunction<? super E> key, long value) {
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Object[] chunk = chunks[mid];
+            if (key.applyAsLong((E) chunk[chunk.length - 1]) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (chunks.length == 0) {
+            return -1;
+        }
+        Object[] chunk = chunks[low];
+        int from = 0;
+        int to = chunk.length - 1;
+        while (from <= to) {
+            int mid = (from + to) >>> 1;
+            long found = key.applyAsLong((E) chunk[mid]);
+            if (found < value) {
+                from = mid + 1;
+            } else if (found > value) {
+                to = mid - 1;
+            } else {
+                return offsets[low] + mid;
+            }
+        }
+        return -1;
+    }
+
+    /** Number of chunks, for tests. */
+    int chunkCount() {
+        return chunks.length;
+    }
+
+    private int chunkOf(int index) {
+        int low = 0;
+        int high = offsets.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return a list with the chunks in {@code [from, to)} replaced by {@code replacement}, which hold
+     *     {@code sizeDelta} more elements than the replaced ones.
+     */
+    private ChunkedList<E> replace(int from, int to, Object[][] replacement, int sizeDelta) {
+        int count = chunks.length - (to - from) + replacement.length;
+        if (count == 0) {
+            return empty();
+        }
+        Object[][] updated = new Object[count][];
+        int[] updatedOffsets = new int[count];
+        System.arraycopy(chunks, 0, updated, 0, from);
+        System.arraycopy(offsets, 0, updatedOffsets, 0, from);
+        int offset = from < offsets.length ? offsets[from] : size;
+        for (int i = 0; i < replacement.length; i++) {
+            updated[from + i] = replacement[i];
+            updatedOffsets[from + i] = offset;
+            offset += replacement[i].length;
+        }
+        for (int i = to; i < chunks.length; i++) {
+            updated[i - to + from + replacement.length] = chunks[i];
+            updatedOffsets[i - to + from + replacement.length] = offsets[i] + sizeDelta;
+        }
+        return new ChunkedList<>(
+                updated, updatedOffsets, size + sizeDelta, Math.max(maxChunk, chunkSizeFor(size + sizeDelta)));
+    }
+
+    private static int chunkSizeFor(int size) {
+        return Math.max(MIN_CHUNK, Integer.highestOneBit((int) Math.sqrt(size)) * 2);
+    }
+
+    private static Object[] concat(Object[] first, Object[] second) {
+        Object[] joined = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, joined, first.length, second.length);
+        return joined;
+    }
+}
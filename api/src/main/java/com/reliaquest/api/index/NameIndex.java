@@ -0,0 +1,176 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable case-insensitive substring index over employee names.
+ * <p>
+ * Names are case-folded once when they are indexed and every trigram of a folded name maps to a posting list of the
+ * employees containing it, kept in roster order. A search for three or more characters only verifies the candidates
+ * of the rarest trigram in the search string; shorter searches scan the pre-folded names. {@link #with(Employee)} and
+ * {@link #without(Employee)} return a new index that shares all untouched posting lists with this one; the entries,
+ * the touched posting lists and the posting map are {@link ChunkedList}s and a {@link ShardedMap}, so an update
+ * copies O(sqrt(n)) references per trigram of the name rather than the whole index.
+ */
+public final class NameIndex {
+    private static final int GRAM = 3;
+    private static final NameIndex EMPTY =
+            new NameIndex(ChunkedList.empty(), ShardedMap.of(Map.of()), ShardedMap.of(Map.of()), 0);
+
+    /** Entries in roster order, which is ascending {@link Entry#ordinal()}; so is every posting list. */
+    private final ChunkedList<Entry> entries;
+
+    private final ShardedMap<String, ChunkedList<Entry>> postings;
+    private final ShardedMap<UUID, Entry> byId;
+    private final long nextOrdinal;
+
+    private NameIndex(
+            ChunkedList<Entry> entries,
+            ShardedMap<String, ChunkedList<Entry>> postings,
+            ShardedMap<UUID, Entry> byId,
+            long nextOrdinal) {
+        this.entries = entries;
+        this.postings = postings;
+        this.byId = byId;
+        this.nextOrdinal = nextOrdinal;
+    }
+
+    public static NameIndex empty() {
+        return EMPTY;
+    }
+
+    public static NameIndex of(Collection<Employee> employees) {
+        List<Entry> entries = new ArrayList<>(employees.size());
+        Map<String, List<Entry>> postings = new HashMap<>();
+        Map<UUID, Entry> byId = new HashMap<>();
+        for (Employee employee : employees) {
+            if (employee.name() == null) {
+                continue;
+            }
+            Entry entry = new Entry(employee, fold(employee.name()), entries.size());
+            entries.add(entry);
+            if (employee.id() != null) {
+                byId.put(employee.id(), entry);
+            }
+            for (String gram : grams(entry.folded())) {
+                postings.computeIfAbsent(gram, ignored -> new ArrayList<>()).add(entry);
+            }
+        }
+        if (entries.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, ChunkedList<Entry>> frozen = new HashMap<>(postings.size() * 4 / 3 + 1);
+        postings.forEach((gram, posting) -> frozen.put(gram, ChunkedList.of(posting)));
+        return new NameIndex(ChunkedList.of(entries), ShardedMap.of(frozen), ShardedMap.of(byId), entries.size());
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public List<Employee> search(String searchString) {
+        return search(searchString, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds employees whose name contains {@code searchString}, ignoring case, in roster order.
+     *
+     * @param offset number of matches to skip.
+     * @param limit maximum number of matches to return.
+     */
+    public List<Employee> search(String searchString, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset and limit must not be negative");
+        }
+        String folded = fold(searchString);
+        List<Entry> candidates = folded.length() < GRAM ? entries : rarestPosting(folded);
+        List<Employee> matches = new ArrayList<>(Math.min(limit, Math.min(candidates.size(), 1024)));
+        int skipped = 0;
+        for (Iterator<Entry> it = candidates.iterator(); it.hasNext() && matches.size() < limit; ) {
+            Entry candidate = it.next();
+            if (candidate.folded().contains(folded) && skipped++ >= offset) {
+                matches.add(candidate.employee());
+            }
+        }
+        return matches;
+    }
+
+    public NameIndex with(Employee employee) {
+        if (employee.name() == null) {
+            return this;
+        }
+        Entry entry = new Entry(employee, fold(employee.name()), nextOrdinal);
+        ShardedMap<String, ChunkedList<Entry>> updated = postings;
+        for (String gram : grams(entry.folded())) {
+            ChunkedList<Entry> posting = updated.get(gram);
+            updated = updated.with(gram, (posting == null ? ChunkedList.<Entry>empty() : posting).append(entry));
+        }
+        return new NameIndex(
+                entries.append(entry),
+                updated,
+                employee.id() == null ? byId : byId.with(employee.id(), entry),
+                nextOrdinal + 1);
+    }
+
+    public NameIndex without(Employee employee) {
+        Entry entry = employee.id() == null ? null : byId.get(employee.id());
+        if (entry == null) {
+            return this;
+        }
+        if (entries.size() == 1) {
+            return EMPTY;
+        }
+        ShardedMap<String, ChunkedList<Entry>> updated = postings;
+        for (String gram : grams(entry.folded())) {
+            ChunkedList<Entry> posting = remove(updated.get(gram), entry);
+            updated = posting.isEmpty() ? updated.without(gram) : updated.with(gram, posting);
+        }
+        return new NameIndex(remove(entries, entry), updated, byId.without(employee.id()), nextOrdinal);
+    }
+
+    private List<Entry> rarestPosting(String folded) {
+        List<Entry> rarest = null;
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            List<Entry> posting = postings.get(folded.substring(i, i + GRAM));
+            if (posting == null) {
+                return List.of();
+            }
+            if (rarest == null || posting.size() < rarest.size()) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    private static String fold(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String folded) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= folded.length(); i++) {
+            grams.add(folded.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static ChunkedList<Entry> remove(ChunkedList<Entry> entries, Entry entry) {
+        return entries.delete(entries.indexOfKey(Entry::ordinal, entry.ordinal()));
+    }
+
+    /**
+     * @param ordinal position of the entry in the order employees were added to the index, which keeps roster order
+     *     across removals.
+     */
+    private record Entry(Employee employee, String folded, long ordinal) {}
+}
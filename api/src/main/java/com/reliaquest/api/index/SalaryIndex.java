@@ -0,0 +1,116 @@
+package com.reliaquest.api.index;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable index of employees ordered by salary, highest first. Employees with equal salaries keep the order in which
+ * they were added.
+ * <p>
+ * The highest salary and the names of the top {@link #TOP_K} earners are computed once per index instance, so reads
+ * are constant time and allocation free. {@link #with(Employee)} and {@link #without(Employee)} return a new index
+ * and leave this one untouched, which keeps it safe to share between concurrent readers. The ordering is a
+ * {@link ChunkedList}, so an update copies O(sqrt(n)) references rather than the whole index.
+ */
+public final class SalaryIndex {
+    public static final int TOP_K = 10;
+
+    private static final Comparator<Employee> BY_SALARY_DESC =
+            Comparator.comparingInt(Employee::salary).reversed();
+
+    private static final SalaryIndex EMPTY = new SalaryIndex(ChunkedList.empty());
+
+    private final ChunkedList<Employee> bySalary;
+    private final List<String> topNames;
+
+    private SalaryIndex(ChunkedList<Employee> bySalary) {
+        this.bySalary = bySalary;
+        this.topNames = bySalary.subList(0, Math.min(TOP_K, bySalary.size())).stream()
+                .map(Employee::name)
+                .toList();
+    }
+
+    public static SalaryIndex empty() {
+        return EMPTY;
+    }
+
+    public static SalaryIndex of(Collection<Employee> employees) {
+        List<Employee> bySalary = employees.stream()
+                .filter(employee -> employee.salary() != null)
+                .sorted(BY_SALARY_DESC)
+                .toList();
+        return bySalary.isEmpty() ? EMPTY : new SalaryIndex(ChunkedList.of(bySalary));
+    }
+
+    public int highestSalary() {
+        return bySalary.isEmpty() ? 0 : bySalary.get(0).salary();
+    }
+
+    public List<String> topNames() {
+        return topNames;
+    }
+
+    public List<Employee> top(int limit) {
+        return Collections.unmodifiableList(bySalary.subList(0, Math.min(limit, bySalary.size())));
+    }
+
+    public int size() {
+        return bySalary.size();
+    }
+
+    public SalaryIndex with(Employee employee) {
+        if (employee.salary() == null) {
+            return this;
+        }
+        return new SalaryIndex(bySalary.insert(upperBound(employee.salary()), employee));
+    }
+
+    public SalaryIndex without(Employee employee) {
+        if (employee.salary() == null) {
+            return this;
+        }
+        for (int i = lowerBound(employee.salary()); i < bySalary.size(); i++) {
+            if (bySalary.get(i).salary().intValue() != employee.salary()) {
+                break;
+            }
+            if (Objects.equals(bySalary.get(i).id(), employee.id())) {
+                return bySalary.size() == 1 ? EMPTY : new SalaryIndex(bySalary.delete(i));
+            }
+        }
+        return this;
+    }
+
+    /** First position whose salary is not greater than {@code salary}. */
+    private int lowerBound(int salary) {
+        int low = 0;
+        int high = bySalary.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bySalary.get(mid).salary() > salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** First position whose salary is lower than {@code salary}. */
+    private int upperBound(int salary) {
+        int low = 0;
+        int high = bySalary.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bySalary.get(mid).salary() >= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.api.index;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable hash map split into about sqrt(n) shards. {@link #with(Object, Object)} and {@link #without(Object)} copy
+ * only the shard holding the key and the array of shard references, O(sqrt(n)) together, and share every other shard
+ * with this map. A map that outgrows its shards is redistributed over twice as many, which happens each time it
+ * quadruples in size and so stays amortised constant per update.
+ */
+public final class ShardedMap<K, V> {
+    private static final int MIN_SHARDS = 16;
+
+    private final Map<K, V>[] shards;
+    private final int size;
+
+    private ShardedMap(Map<K, V>[] shards, int size) {
+        this.shards = shards;
+        this.size = size;
+    }
+
+    public static <K, V> ShardedMap<K, V> of(Map<? extends K, ? extends V> entries) {
+        int count = Math.max(MIN_SHARDS, Integer.highestOneBit((int) Math.sqrt(entries.size())) * 2);
+        return new ShardedMap<>(distribute(entries, count), entries.size());
+    }
+
+    public V get(Object key) {
+        return shards[shardOf(key, shards.length)].get(key);
+    }
+
+    public boolean containsKey(Object key) {
+        return shards[shardOf(key, shards.length)].containsKey(key);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a map with {@code key} mapped to {@code value}, this map unchanged.
+     */
+    public ShardedMap<K, V> with(K key, V value) {
+        int shard = shardOf(key, shards.length);
+        Map<K, V> updated = new HashMap<>(shards[shard]);
+        boolean added = !updated.containsKey(key);
+        updated.put(key, value);
+        return replace(shard, updated, added ? 1 : 0);
+    }
+
+    /**
+     * @return a map without {@code key}, or this map if it has no such key.
+     */
+    public ShardedMap<K, V> without(Object key) {
+        int shard = shardOf(key, shards.length);
+        if (!shards[shard].containsKey(key)) {
+            return this;
+        }
+        Map<K, V> updated = new HashMap<>(shards[shard]);
+        updated.remove(key);
+        return replace(shard, updated, -1);
+    }
+
+    private ShardedMap<K, V> replace(int shard, Map<K, V> updated, int sizeDelta) {
+        Map<K, V>[] copy = shards.clone();
+        copy[shard] = updated;
+        if (size + sizeDelta <= 4 * shards.length * shards.length) {
+            return new ShardedMap<>(copy, size + sizeDelta);
+        }
+        Map<K, V> all = new HashMap<>();
+        for (Map<K, V> each : copy) {
+            all.putAll(each);
+        }
+        return new ShardedMap<>(distribute(all, shards.length * 2), size + sizeDelta);
+    }
+
+    /** Number of shards, for tests. */
+    int shardCount() {
+        return shards.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Map<K, V>[] distribute(Map<? extends K, ? extends V> entries, int count) {
+        Map<K, V>[] shards = new Map[count];
+        Arrays.setAll(shards, i -> new HashMap<>());
+        entries.forEach((key, value) -> shards[shardOf(key, count)].put(key, value));
+        return shards;
+    }
+
+    private static int shardOf(Object key, int count) {
+        int hash = Objects.hashCode(key);
+        return (hash ^ (hash >>> 16)) & (count - 1);
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+
+public record BatchResponse<T>(
+        @JsonProperty("data") List<BatchItemResult<T>> data,
+        @JsonProperty("status") String status,
+        @JsonProperty("error") String error) {}
@@ -0,0 +1,14 @@
+package com.reliaquest.api.model;
+
+import java.util.UUID;
+
+/**
+ * One create or delete from the Mock Employee API's change feed; {@code employee} is only set for a create.
+ */
+public record EmployeeChange(long sequence, Type type, UUID id, Employee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.model;
+
+import java.util.List;
+
+/**
+ * The changes made upstream after a given sequence, oldest first.
+ *
+ * @param epoch identifies the upstream's change feed; it changes when the upstream restarts and its sequence starts
+ *     over.
+ * @param sequence sequence of the latest change, to ask for the changes after these next time.
+ */
+public record EmployeeChanges(String epoch, long sequence, List<EmployeeChange> changes) {}
@@ -0,0 +1,6 @@
+package com.reliaquest.api.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record EmployeeChangesResponse(
+        @JsonProperty("data") EmployeeChanges data, @JsonProperty("status") String status) {}
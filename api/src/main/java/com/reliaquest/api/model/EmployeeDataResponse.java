@@ -3,4 +3,15 @@ package com.reliaquest.api.model;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.List;
 
-public record EmployeeDataResponse(@JsonProperty("data") List<Employee> data, @JsonProperty("status") String status) {}
+/**
+ * @param position change feed position the roster is current up to; {@code null} if the upstream has no change feed.
+ */
+public record EmployeeDataResponse(
+        @JsonProperty("data") List<Employee> data,
+        @JsonProperty("status") String status,
+        @JsonProperty("position") EmployeeChanges position) {
+
+    public EmployeeDataResponse(List<Employee> data, String status) {
+        this(data, status, null);
+    }
+}
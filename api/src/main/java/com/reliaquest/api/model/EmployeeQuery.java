@@ -0,0 +1,66 @@
+package com.reliaquest.api.model;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filter, sort, page and field projection evaluated by the Mock Employee API on {@code GET /api/v1/employee}, so only
+ * the employees and fields asked for are sent and parsed. Unset ({@code null}) parts are not sent.
+ *
+ * @param sort {@code name}, {@code salary} or {@code age}; roster order when unset.
+ * @param order {@code asc} or {@code desc}.
+ * @param fields {@code id}, {@code name}, {@code salary}, {@code age}, {@code title} or {@code email}; all when unset.
+ */
+public record EmployeeQuery(
+        String nameContains,
+        Integer minSalary,
+        Integer maxSalary,
+        String sort,
+        String order,
+        Integer offset,
+        Integer limit,
+        List<String> fields) {
+
+    private static final Set<String> SHAPE_PARAMS = Set.of("sort", "order", "fields");
+
+    /** Employees whose name contains {@code searchString}, ignoring case, in roster order. */
+    public static EmployeeQuery nameContains(String searchString, Integer offset, Integer limit) {
+        return new EmployeeQuery(searchString, null, null, null, null, offset, limit, null);
+    }
+
+    /** The {@code limit} highest earners among employees with a salary, with only the given fields. */
+    public static EmployeeQuery topEarners(int limit, String... fields) {
+        return new EmployeeQuery(null, 0, null, "salary", "desc", null, limit, List.of(fields));
+    }
+
+    /**
+     * The parameters this query sets, with the values of those that only select which employees are returned left
+     * out. Queries of the same shape ask the upstream for the same kind of answer, e.g. searches for different names.
+     */
+    public Map<String, String> shape() {
+        Map<String, String> shape = toParams();
+        shape.replaceAll((name, value) -> SHAPE_PARAMS.contains(name) ? value : "");
+        return shape;
+    }
+
+    public Map<String, String> toParams() {
+        Map<String, String> params = new LinkedHashMap<>();
+        put(params, "nameContains", nameContains);
+        put(params, "minSalary", minSalary);
+        put(params, "maxSalary", maxSalary);
+        put(params, "sort", sort);
+        put(params, "order", order);
+        put(params, "offset", offset);
+        put(params, "limit", limit);
+        put(params, "fields", fields == null ? null : String.join(",", fields));
+        return params;
+    }
+
+    private static void put(Map<String, String> params, String name, Object value) {
+        if (value != null) {
+            params.put(name, value.toString());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.reliaquest.api.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client-side admission control for the rate limited Mock Employee API.
+ * <p>
+ * The server lets a fixed number of requests through and then answers 429 until a backoff window has passed since the
+ * last request it allowed. Neither number is published, so both are learned: the budget is the largest number of
+ * successes observed between two throttling episodes, and the window is the shortest observed time between the last
+ * success before a 429 and the first success after it. Until the first 429 every request is admitted.
+ * <p>
+ * Once learned, outbound calls are budgeted with a token bucket holding {@code budget} tokens that is refilled in full
+ * one window after the request that emptied it. Callers reserve a token and are told how long to wait for it, so
+ * concurrent callers queue in order instead of all hitting the server and burning the next window. A reservation that
+ * would have to wait longer than {@code maxWait} is rejected.
+ */
+@Slf4j
+public class AdaptiveRateLimiter {
+
+    private final long maxBackoffNanos;
+    private final long maxWaitNanos;
+    private final LongSupplier nanoTime;
+
+    private int budget = Integer.MAX_VALUE;
+    private int remaining = Integer.MAX_VALUE;
+    private long windowOpensAt;
+    private long lastGrantAt;
+
+    private long backoffNanos;
+    private boolean backoffMeasured;
+    private int successesInWindow;
+    private long lastSuccessAt;
+    private long throttledSince = -1;
+
+    public AdaptiveRateLimiter(Duration initialBackoff, Duration maxBackoff, Duration maxWait) {
+        this(initialBackoff, maxBackoff, maxWait, System::nanoTime);
+    }
+
+    AdaptiveRateLimiter(Duration initialBackoff, Duration maxBackoff, Duration maxWait, LongSupplier nanoTime) {
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.maxWaitNanos = maxWait.toNanos();
+        this.nanoTime = nanoTime;
+        this.backoffNanos = initialBackoff.toNanos();
+        long now = nanoTime.getAsLong();
+        this.windowOpensAt = now;
+        this.lastGrantAt = now;
+        this.lastSuccessAt = now;
+    }
+
+    /**
+     * Reserves a permit for one outbound request.
+     *
+     * @return the permit, telling the caller how long to wait before sending the request.
+     * @throws RateLimitExceededException if the permit is further away than the configured maximum wait.
+     */
+    public synchronized Permit reserve() {
+        long now = nanoTime.getAsLong();
+        long opensAt = windowOpensAt;
+        int available = remaining;
+        if (available == 0) {
+            opensAt = lastGrantAt + backoffNanos;
+            available = budget;
+        }
+        long grantAt = Math.max(now, opensAt);
+        if (grantAt - now > maxWaitNanos) {
+            throw new RateLimitExceededException(Duration.ofNanos(grantAt - now));
+        }
+        windowOpensAt = opensAt;
+        remaining = available == Integer.MAX_VALUE ? available : available - 1;
+        lastGrantAt = grantAt;
+        return new Permit(Duration.ofNanos(grantAt - now), grantAt);
+    }
+
+    /** Records a response to a request sent with {@code permit} that was not throttled. */
+    public synchronized void onSuccess(Permit permit) {
+        long now = nanoTime.getAsLong();
+        if (throttledSince >= 0 && permit.grantedAt() < throttledSince) {
+            // sent before the 429 was seen, so it still belongs to the window that was just closed
+            successesInWindow++;
+            budget = Math.max(budget, successesInWindow);
+            return;
+        }
+        if (throttledSince >= 0) {
+            long observed = now - lastSuccessAt;
+            backoffNanos = backoffMeasured ? Math.min(backoffNanos, observed) : observed;
+            backoffMeasured = true;
+            throttledSince = -1;
+            successesInWindow = 0;
+            log.info("Upstream rate limit lifted, learned backoff window {}", Duration.ofNanos(backoffNanos));
+        }
+        successesInWindow++;
+        lastSuccessAt = now;
+    }
+
+    /** Records a 429 response to a request sent with {@code permit} and closes the current window. */
+    public void onThrottled(Permit permit) {
+        onThrottled(permit, null);
+    }
+
+    /**
+     * Like {@link #onThrottled(Permit)}, but the next window opens no earlier than {@code retryAfter} from now, if the
+     * upstream gave that hint. The hint does not change the learned backoff.
+     */
+    public synchronized void onThrottled(Permit permit, Duration retryAfter) {
+        long now = nanoTime.getAsLong();
+        if (throttledSince < 0) {
+            throttledSince = now;
+            if (successesInWindow > 0 && (budget == Integer.MAX_VALUE || successesInWindow > budget)) {
+                budget = successesInWindow;
+                log.info("Upstream rate limited after {} requests, learned budget {}", successesInWindow, budget);
+            }
+        } else if (permit.grantedAt() >= windowOpensAt) {
+            // a probe sent once the estimated window had passed was still throttled
+            backoffNanos = Math.min(backoffNanos * 2, maxBackoffNanos);
+            backoffMeasured = false;
+        }
+        if (budget == Integer.MAX_VALUE) {
+            budget = 1;
+        }
+        remaining = 0;
+        windowOpensAt = lastSuccessAt + backoffNanos;
+        lastGrantAt = lastSuccessAt;
+        if (retryAfter != null && now + retryAfter.toNanos() > windowOpensAt) {
+            windowOpensAt = now + retryAfter.toNanos();
+            lastGrantAt = windowOpensAt - backoffNanos;
+        }
+    }
+
+    public synchronized int budget() {
+        return budget;
+    }
+
+    public synchronized Duration backoff() {
+        return Duration.ofNanos(backoffNanos);
+    }
+
+    /**
+     * A reserved slot for one outbound request.
+     *
+     * @param delay how long to wait before sending the request.
+     * @param grantedAt {@link System#nanoTime()} at which the request may be sent.
+     */
+    public record Permit(Duration delay, long grantedAt) {}
+}
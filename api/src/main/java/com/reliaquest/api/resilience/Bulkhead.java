@@ -0,0 +1,90 @@
+package com.reliaquest.api.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Limits how many calls to an upstream operation may be in flight at once. A caller waits at most {@code maxWait} for
+ * a free slot, in arrival order, and is then rejected with a {@link BulkheadFullException}, so a slow upstream ties up
+ * at most {@code maxConcurrent} request threads per operation instead of all of them.
+ * <p>
+ * Non-blocking calls share the same slots but never wait for one, as waiting would park an event loop thread: they
+ * are rejected at once while all slots are taken.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore slots;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.slots = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Runs {@code call} once a slot is free.
+     *
+     * @throws BulkheadFullException if no slot became free within the maximum wait.
+     */
+    public <T> T call(Supplier<T> call) {
+        acquire();
+        try {
+            return call.get();
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Subscribes to {@code call} if a slot is free and frees it once the call terminates or is cancelled.
+     *
+     * @return the call, or a {@link BulkheadFullException} if no slot is free.
+     */
+    public <T> Mono<T> call(Mono<T> call) {
+        return Mono.defer(() -> {
+            if (!slots.tryAcquire()) {
+                return Mono.error(full());
+            }
+            return call.doFinally(signal -> slots.release());
+        });
+    }
+
+    /**
+     * Streaming variant of {@link #call(Mono)}, holding the slot until the stream terminates.
+     */
+    public <T> Flux<T> call(Flux<T> call) {
+        return Flux.defer(() -> {
+            if (!slots.tryAcquire()) {
+                return Flux.error(full());
+            }
+            return call.doFinally(signal -> slots.release());
+        });
+    }
+
+    public int available() {
+        return slots.availablePermits();
+    }
+
+    private void acquire() {
+        try {
+            if (slots.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw full();
+    }
+
+    private BulkheadFullException full() {
+        return new BulkheadFullException(name, maxConcurrent);
+    }
+}
@@ -0,0 +1,16 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.exception.DownstreamException;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Raised without contacting the upstream API when the {@link Bulkhead} guarding the operation has no free slot in
+ * time.
+ */
+@EqualsAndHashCode(callSuper = true)
+public class BulkheadFullException extends DownstreamException {
+
+    public BulkheadFullException(final String operation, final int maxConcurrent) {
+        super(503, "Upstream " + operation + " saturated, " + maxConcurrent + " calls already in flight");
+    }
+}
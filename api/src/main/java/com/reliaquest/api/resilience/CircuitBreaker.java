@@ -0,0 +1,230 @@
+package com.reliaquest.api.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Stops calling an upstream operation that keeps failing, so callers fail fast instead of each waiting out timeouts
+ * and retries.
+ * <p>
+ * The outcomes of the last {@code windowSize} calls are kept. Once at least {@code minimumCalls} have been recorded and
+ * the share of failures reaches {@code failureRateThreshold}, the breaker opens and rejects every call with a
+ * {@link CircuitOpenException} for {@code openDuration}. It then lets {@code halfOpenCalls} probes through: if they all
+ * succeed the breaker closes with a clean window, a single failed probe opens it again. Which exceptions count as
+ * failures is up to the caller; other exceptions are passed on without being recorded.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final Predicate<Throwable> isFailure;
+    private final LongSupplier nanoTime;
+
+    private final boolean[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesPermitted;
+    private int probesSucceeded;
+    // bumped on every state change, so outcomes of calls let through in an earlier state are not recorded
+    private long generation;
+
+    public CircuitBreaker(
+            String name,
+            double failureRateThreshold,
+            int windowSize,
+            int minimumCalls,
+            Duration openDuration,
+            int halfOpenCalls,
+            Predicate<Throwable> isFailure) {
+        this(
+                name,
+                failureRateThreshold,
+                windowSize,
+                minimumCalls,
+                openDuration,
+                halfOpenCalls,
+                isFailure,
+                System::nanoTime);
+    }
+
+    CircuitBreaker(
+            String name,
+            double failureRateThreshold,
+            int windowSize,
+            int minimumCalls,
+            Duration openDuration,
+            int halfOpenCalls,
+            Predicate<Throwable> isFailure,
+            LongSupplier nanoTime) {
+        if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize || halfOpenCalls < 1) {
+            throw new IllegalArgumentException("Invalid circuit breaker window for " + name);
+        }
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.outcomes = new boolean[windowSize];
+        this.minimumCalls = minimumCalls;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+        this.isFailure = isFailure;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Runs {@code call} if the breaker permits it and records its outcome.
+     *
+     * @throws CircuitOpenException if the breaker is open, or half open with all probes already permitted.
+     */
+    public <T> T call(Supplier<T> call) {
+        long permitted = acquire();
+        T result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            onError(permitted, e);
+            throw e;
+        }
+        onSuccess(permitted);
+        return result;
+    }
+
+    /**
+     * Non-blocking variant of {@link #call(Supplier)}: asks for a permit on subscription and records the outcome when
+     * {@code call} terminates. A cancelled call is not recorded.
+     */
+    public <T> Mono<T> call(Mono<T> call) {
+        return Mono.defer(() -> {
+            long permitted = acquire();
+            return call.doOnError(e -> onError(permitted, e)).doFinally(signal -> onFinally(permitted, signal));
+        });
+    }
+
+    /**
+     * Streaming variant of {@link #call(Mono)}; the call succeeds once the stream completes.
+     */
+    public <T> Flux<T> call(Flux<T> call) {
+        return Flux.defer(() -> {
+            long permitted = acquire();
+            return call.doOnError(e -> onError(permitted, e)).doFinally(signal -> onFinally(permitted, signal));
+        });
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private synchronized long acquire() {
+        if (state == State.OPEN) {
+            long remaining = openedAt + openNanos - nanoTime.getAsLong();
+            if (remaining > 0) {
+                throw new CircuitOpenException(name, Duration.ofNanos(remaining));
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesPermitted == halfOpenCalls) {
+                throw new CircuitOpenException(name, Duration.ZERO);
+            }
+            probesPermitted++;
+        }
+        return generation;
+    }
+
+    private synchronized void onSuccess(long permitted) {
+        if (permitted != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (++probesSucceeded == halfOpenCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        record(false);
+    }
+
+    private synchronized void onFailure(long permitted) {
+        if (permitted != generation) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        record(true);
+        if (calls >= minimumCalls && failures >= failureRateThreshold * calls) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void onError(long permitted, Throwable e) {
+        if (isFailure.test(e)) {
+            onFailure(permitted);
+        } else {
+            onIgnored(permitted);
+        }
+    }
+
+    private void onFinally(long permitted, SignalType signal) {
+        if (signal == SignalType.ON_COMPLETE) {
+            onSuccess(permitted);
+        } else if (signal == SignalType.CANCEL) {
+            onIgnored(permitted);
+        }
+    }
+
+    private synchronized void onIgnored(long permitted) {
+        if (permitted == generation && state == State.HALF_OPEN) {
+            probesPermitted--;
+        }
+    }
+
+    private void record(boolean failure) {
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void transitionTo(State target) {
+        log.warn("Circuit breaker {} changed from {} to {}", name, state, target);
+        state = target;
+        generation++;
+        probesPermitted = 0;
+        probesSucceeded = 0;
+        if (target == State.OPEN) {
+            openedAt = nanoTime.getAsLong();
+        } else if (target == State.CLOSED) {
+            next = 0;
+            calls = 0;
+            failures = 0;
+        }
+    }
+}
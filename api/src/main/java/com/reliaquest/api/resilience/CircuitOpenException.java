@@ -0,0 +1,20 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.exception.DownstreamException;
+import java.time.Duration;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Raised without contacting the upstream API when the {@link CircuitBreaker} guarding the operation is open.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class CircuitOpenException extends DownstreamException {
+    private final Duration retryAfter;
+
+    public CircuitOpenException(final String operation, final Duration retryAfter) {
+        super(503, "Upstream " + operation + " unavailable, circuit open for another " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+    }
+}
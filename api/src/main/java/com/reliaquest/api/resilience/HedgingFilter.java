@@ -0,0 +1,82 @@
+package com.reliaquest.api.resilience;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Hedges slow GET requests: when a GET has not been answered within the given percentile of recent GET latencies, a
+ * second, identical request is sent and whichever answers first is used, the other one is cancelled, or released if it
+ * has already been answered as well, so its connection goes back to the pool. Hedged requests
+ * are paid for from the shared {@link RetryBudget}, so hedging stops when the upstream is slow across the board instead
+ * of doubling the load on it. Nothing is hedged until enough latencies have been observed.
+ */
+@Slf4j
+public class HedgingFilter implements ExchangeFilterFunction {
+    private static final int SAMPLES = 512;
+    private static final int MIN_SAMPLES = 20;
+
+    private final double percentile;
+    private final RetryBudget retryBudget;
+    private final LatencyTracker latencies = new LatencyTracker(SAMPLES, MIN_SAMPLES);
+
+    public HedgingFilter(double percentile, RetryBudget retryBudget) {
+        this.percentile = percentile;
+        this.retryBudget = retryBudget;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!HttpMethod.GET.equals(request.method())) {
+            return next.exchange(request);
+        }
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return latencies
+                    .percentile(percentile)
+                    .map(delay -> hedge(request, next, delay))
+                    .orElseGet(() -> next.exchange(request))
+                    .doOnNext(response -> latencies.record(Duration.ofNanos(System.nanoTime() - started)));
+        });
+    }
+
+    private Mono<ClientResponse> hedge(ClientRequest request, ExchangeFunction next, Duration delay) {
+        Sinks.Empty<Void> primaryDone = Sinks.empty();
+        AtomicReference<Throwable> primaryFailure = new AtomicReference<>();
+        // only the first response is passed on: one arriving while it is, before the other exchange is cancelled,
+        // would be dropped by firstWithValue without its body ever being released
+        AtomicBoolean answered = new AtomicBoolean();
+        Predicate<ClientResponse> first = response -> answered.compareAndSet(false, true) || release(response);
+        Mono<ClientResponse> primary = next.exchange(request)
+                .filter(first)
+                .doOnError(primaryFailure::set)
+                .doFinally(signal -> primaryDone.tryEmitEmpty());
+        Mono<ClientResponse> hedged = Mono.delay(delay)
+                .takeUntilOther(primaryDone.asMono())
+                .filter(ignored -> retryBudget.tryWithdraw())
+                .flatMap(ignored -> {
+                    log.debug("Hedging request to {} after {}", request.url(), delay);
+                    return next.exchange(request).filter(first);
+                });
+        // when neither succeeds Reactor reports an aggregate error; report the primary's failure instead
+        return Mono.firstWithValue(primary, hedged)
+                .onErrorMap(
+                        NoSuchElementException.class,
+                        error -> primaryFailure.get() != null ? primaryFailure.get() : error);
+    }
+
+    private static boolean release(ClientResponse response) {
+        response.releaseBody().subscribe();
+        return false;
+    }
+}
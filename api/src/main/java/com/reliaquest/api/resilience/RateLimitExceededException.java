@@ -0,0 +1,20 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.exception.DownstreamException;
+import java.time.Duration;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Raised without contacting the upstream API when the client-side rate limiter has no permit available in time.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class RateLimitExceededException extends DownstreamException {
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(final Duration retryAfter) {
+        super(429, "Upstream request budget exhausted, next permit in " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+    }
+}
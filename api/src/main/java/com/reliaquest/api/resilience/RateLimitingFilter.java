@@ -0,0 +1,92 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.resilience.AdaptiveRateLimiter.Permit;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Admits every outbound request through an {@link AdaptiveRateLimiter}, delaying it until its permit is due, and feeds
+ * the outcome back so the limiter can learn the upstream limits. A 429 response is turned into an
+ * {@link UpstreamRateLimitedException} here, carrying the upstream's {@code Retry-After} hint, so that outer filters
+ * can react to it.
+ * <p>
+ * The delay each request waited for its permit is recorded in the {@code employee.client.rate-limit.delay} timer and
+ * every 429 is counted in {@code employee.client.throttled}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitingFilter implements ExchangeFilterFunction {
+
+    private final AdaptiveRateLimiter rateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            Permit permit = rateLimiter.reserve();
+            meterRegistry.timer("employee.client.rate-limit.delay").record(permit.delay());
+            Mono<ClientResponse> exchange =
+                    next.exchange(request).flatMap(response -> onResponse(request, permit, response));
+            if (permit.delay().isZero()) {
+                return exchange;
+            }
+            log.debug(
+                    "Delaying request to {} by {} to stay within the upstream rate limit",
+                    request.url(),
+                    permit.delay());
+            return Mono.delay(permit.delay()).then(exchange);
+        });
+    }
+
+    private Mono<ClientResponse> onResponse(ClientRequest request, Permit permit, ClientResponse response) {
+        if (response.statusCode().value() != HttpStatus.TOO_MANY_REQUESTS.value()) {
+            rateLimiter.onSuccess(permit);
+            return Mono.just(response);
+        }
+        Duration retryAfter = retryAfter(response);
+        rateLimiter.onThrottled(permit, retryAfter);
+        meterRegistry.counter("employee.client.throttled").increment();
+        log.warn("Request to {} was rate limited by upstream, retry after {}", request.url(), retryAfter);
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("")
+                .flatMap(body -> Mono.error(new UpstreamRateLimitedException(body, retryAfter)));
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either in seconds or as an HTTP date.
+     *
+     * @return the hinted delay, or {@code null} if there is no valid hint.
+     */
+    static Duration retryAfter(ClientResponse response) {
+        String value = response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // not delta-seconds, try an HTTP date
+        }
+        try {
+            Duration delay = Duration.between(
+                    Instant.now(), ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException e) {
+            log.debug("Ignoring invalid Retry-After header: {}", value);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.resilience;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries (and hedged requests) across all upstream calls to a fraction of the requests made, so that retrying
+ * cannot multiply the load on an upstream that is already struggling. Every request deposits {@code ratio} of a token,
+ * every retry withdraws a whole one, and at most {@code capacity} tokens are kept, which is also the initial balance.
+ */
+public class RetryBudget {
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int capacity) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.capacity = capacity * SCALE;
+        this.balance = new AtomicLong(this.capacity);
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(deposit, (current, added) -> Math.min(current + added, capacity));
+    }
+
+    /** @return whether a retry may be made, in which case it has been paid for. */
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
@@ -0,0 +1,147 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.exception.DownstreamException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.handler.timeout.TimeoutException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.PrematureCloseException;
+import reactor.util.retry.Retry;
+
+/**
+ * Retries failed upstream requests, taking into account whether a retry could apply a request twice.
+ * <p>
+ * Requests the upstream has certainly not processed are retried whatever their method: those that could not connect
+ * and those rejected with a 429. Failures that may have happened after the upstream processed the request, such as
+ * timeouts, dropped connections and 5xx answers, are only retried for idempotent methods; retrying a create or a
+ * delete by name could create a duplicate or delete a second employee of the same name. Rejections by the client-side
+ * rate limiter are never retried.
+ * <p>
+ * The delay grows exponentially from {@code initialBackoff}, is at least the upstream's {@code Retry-After} hint and
+ * gets up to {@code jitter} of random extra delay so that callers that failed together do not retry together. A retry
+ * that would have to wait longer than {@code maxDelay} is not made, and every retry has to be paid for from the shared
+ * {@link RetryBudget}. Every retry, and every retry not made for lack of time or budget, is counted in the
+ * {@code employee.client.retries} counter.
+ */
+@Slf4j
+public class RetryFilter implements ExchangeFilterFunction {
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS =
+            Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT);
+
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxDelay;
+    private final double jitter;
+    private final RetryBudget retryBudget;
+    private final MeterRegistry meterRegistry;
+
+    public RetryFilter(
+            int maxRetries,
+            Duration initialBackoff,
+            Duration maxDelay,
+            double jitter,
+            RetryBudget retryBudget,
+            MeterRegistry meterRegistry) {
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.maxDelay = maxDelay;
+        this.jitter = jitter;
+        this.retryBudget = retryBudget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return next.exchange(request)
+                .flatMap(response -> isRetryableStatus(request.method(), response)
+                        ? response.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .flatMap(body ->
+                                        Mono.error(new DownstreamException(response.statusCode().value(), body)))
+                        : Mono.just(response))
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Throwable failure = signal.failure();
+                    long attempt = signal.totalRetries() + 1;
+                    if (attempt > maxRetries || !isRetryable(request.method(), failure)) {
+                        return Mono.error(failure);
+                    }
+                    Duration delay = delay(attempt, failure);
+                    if (delay.compareTo(maxDelay) > 0) {
+                        log.warn("Not retrying {}, upstream asks to wait {}", request.url(), delay);
+                        count(failure, "delay_exceeded");
+                        return Mono.error(failure);
+                    }
+                    if (!retryBudget.tryWithdraw()) {
+                        log.warn("Not retrying {}, retry budget exhausted", request.url());
+                        count(failure, "budget_exhausted");
+                        return Mono.error(failure);
+                    }
+                    log.info("Retry attempt {} for request: {} in {}", attempt, request.url(), delay);
+                    count(failure, "retried");
+                    return Mono.delay(delay);
+                })))
+                .doOnSubscribe(subscription -> retryBudget.onRequest());
+    }
+
+    /*
+     * Gateway errors and 503s become errors here, inside the retry, rather than in the WebClient's status handler.
+     */
+    private static boolean isRetryableStatus(HttpMethod method, ClientResponse response) {
+        int status = response.statusCode().value();
+        return IDEMPOTENT_METHODS.contains(method) && (status == 502 || status == 503 || status == 504);
+    }
+
+    static boolean isRetryable(HttpMethod method, Throwable failure) {
+        if (failure instanceof RateLimitExceededException) {
+            return false;
+        }
+        if (failure instanceof UpstreamRateLimitedException || causedBy(failure, ConnectException.class)) {
+            return true;
+        }
+        if (!IDEMPOTENT_METHODS.contains(method)) {
+            return false;
+        }
+        return causedBy(failure, TimeoutException.class)
+                || causedBy(failure, SocketTimeoutException.class)
+                || causedBy(failure, PrematureCloseException.class)
+                || failure instanceof IllegalStateException
+                || (failure instanceof DownstreamException downstreamException
+                        && downstreamException.getStatusCodeValue() >= 500);
+    }
+
+    private void count(Throwable failure, String result) {
+        meterRegistry
+                .counter("employee.client.retries", "cause", failure.getClass().getSimpleName(), "result", result)
+                .increment();
+    }
+
+    private Duration delay(long attempt, Throwable failure) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempt - 1, 20));
+        if (failure instanceof UpstreamRateLimitedException rateLimited
+                && rateLimited.getRetryAfter().isPresent()) {
+            Duration retryAfter = rateLimited.getRetryAfter().get();
+            backoff = retryAfter.compareTo(backoff) > 0 ? retryAfter : backoff;
+        }
+        long extra = (long) (backoff.toNanos() * jitter * ThreadLocalRandom.current().nextDouble());
+        return backoff.plusNanos(extra);
+    }
+
+    private static boolean causedBy(Throwable failure, Class<? extends Throwable> type) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,23 @@
+package com.reliaquest.api.resilience;
+
+import com.reliaquest.api.exception.DownstreamException;
+import java.time.Duration;
+import java.util.Optional;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A {@code 429 Too Many Requests} answer from the upstream API, with its {@code Retry-After} hint if it sent one.
+ */
+@EqualsAndHashCode(callSuper = true)
+public class UpstreamRateLimitedException extends DownstreamException {
+    private final Duration retryAfter;
+
+    public UpstreamRateLimitedException(final String errorBody, final Duration retryAfter) {
+        super(429, errorBody);
+        this.retryAfter = retryAfter;
+    }
+
+    public Optional<Duration> getRetryAfter() {
+        return Optional.ofNullable(retryAfter);
+    }
+}
@@ -1,24 +1,456 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.exception.DownstreamException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeChangesResponse;
 import com.reliaquest.api.model.EmployeeDataResponse;
+import com.reliaquest.api.util.SingleFlight;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import lombok.AllArgsConstructor;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * In-process cache of the employee roster.
+ * <p>
+ * The roster is held as an {@link EmployeeSnapshot} which is considered fresh for {@code ttl}. Once a snapshot is
+ * within {@code refresh-ahead} of expiring, the next read triggers a background reload and keeps serving the current
+ * snapshot. Concurrent loads are collapsed into a single upstream call, and if a reload fails after the snapshot
+ * expired the stale snapshot is served rather than failing the request. The same goes for the last snapshot dropped
+ * by {@link #invalidate()}, so reads keep being answered while the upstream is unavailable.
+ * <p>
+ * Creates and deletes made through this api are written through to the snapshot as deltas, each producing a new
+ * snapshot version. Deltas applied while a reload is in flight are journaled and replayed onto the reloaded roster, so
+ * a reload that raced with a write cannot drop it.
+ * <p>
+ * A full load also records the position of the upstream's change feed the roster came with. A reload then asks for the
+ * changes since that position and applies only those to the current snapshot, so it costs O(changes) rather than
+ * O(roster) to transfer and parse. The roster is loaded in full again if there is no snapshot to apply them to, the
+ * upstream no longer has the changes ({@code 410 Gone}) or it restarted since. {@link EmployeeChangeWatcher} can keep
+ * following the feed between reloads.
+ * <p>
+ * Reads are counted as hits or misses in {@code employee.cache.requests}, stale snapshots served in
+ * {@code employee.cache.stale}, loads are timed in {@code employee.cache.loads}, changes applied from the feed are
+ * counted in {@code employee.cache.changes} and the roster size is published as {@code employee.cache.size}.
+ */
 @Slf4j
 @Service
-@AllArgsConstructor
 public class EmployeeCacheService {
+    private static final String SNAPSHOT_KEY = "employees";
+
     private final ApiClient apiClient;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Clock clock;
+    private final ExecutorService loader;
+    private final MeterRegistry meterRegistry;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter staleServed;
+    private final Counter changesApplied;
+
+    private final SingleFlight<String, EmployeeSnapshot> singleFlight = new SingleFlight<>();
+    // query shapes pushed down to the upstream while the current load is in flight
+    private final Set<Object> pushedDown = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<EmployeeSnapshot> snapshot = new AtomicReference<>();
+    private volatile EmployeeSnapshot lastKnown;
+
+    private final Object writeLock = new Object();
+    private final List<Delta> journal = new ArrayList<>();
+    private long version;
+    private boolean loading;
+    private ChangeCursor cursor;
+
+    @Autowired
+    public EmployeeCacheService(
+            ApiClient apiClient,
+            @Value("${app.cache.employees.ttl:60s}") Duration ttl,
+            @Value("${app.cache.employees.refresh-ahead:15s}") Duration refreshAhead,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            MeterRegistry meterRegistry) {
+        this(
+                apiClient,
+                ttl,
+                refreshAhead,
+                Clock.systemUTC(),
+                Executors.newSingleThreadExecutor(loaderThreads(virtualThreads)),
+                meterRegistry);
+    }
+
+    EmployeeCacheService(
+            ApiClient apiClient,
+            Duration ttl,
+            Duration refreshAhead,
+            Clock clock,
+            ExecutorService loader,
+            MeterRegistry meterRegistry) {
+        if (refreshAhead.compareTo(ttl) > 0) {
+            throw new IllegalArgumentException("refresh-ahead must not be greater than ttl");
+        }
+        this.apiClient = apiClient;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.clock = clock;
+        this.loader = loader;
+        this.meterRegistry = meterRegistry;
+        this.hits = meterRegistry.counter("employee.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("employee.cache.requests", "result", "miss");
+        this.staleServed = meterRegistry.counter("employee.cache.stale");
+        this.changesApplied = meterRegistry.counter("employee.cache.changes");
+        Gauge.builder("employee.cache.size", snapshot, current -> sizeOf(current.get()))
+                .description("Employees in the cached snapshot")
+                .register(meterRegistry);
+    }
 
-    @Cacheable(value = "employees", condition = "#response.data() != null and #response.data().size() > 0")
     public List<Employee> getAllEmployees() {
+        return getSnapshot().employees();
+    }
+
+    public EmployeeSnapshot getSnapshot() {
+        return await(getSnapshotAsync());
+    }
+
+    /**
+     * Non-blocking variant of {@link #getSnapshot()}: completes immediately while the snapshot is fresh, and otherwise
+     * with the result of the (shared) reload.
+     */
+    public CompletableFuture<EmployeeSnapshot> getSnapshotAsync() {
+        EmployeeSnapshot current = snapshot.get();
+        if (current == null) {
+            misses.increment();
+            EmployeeSnapshot stale = lastKnown;
+            return stale == null ? refresh() : refresh().exceptionally(e -> serveStale(stale, e));
+        }
+        if (current.isOlderThan(ttl, clock.instant())) {
+            misses.increment();
+            return refresh().exceptionally(e -> serveStale(current, e));
+        }
+        hits.increment();
+        if (current.isOlderThan(ttl.minus(refreshAhead), clock.instant())) {
+            refresh();
+        }
+        return CompletableFuture.completedFuture(current);
+    }
+
+    /** Returns the cached snapshot if it has not expired, without triggering a load. */
+    public Optional<EmployeeSnapshot> getFreshSnapshot() {
+        EmployeeSnapshot current = snapshot.get();
+        if (current == null || current.isOlderThan(ttl, clock.instant())) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * Whether no roster has been loaded yet, so a read from the cache would have to wait for the whole roster to be
+     * fetched. A cache that has an expired or invalidated snapshot is not cold: it can serve that one stale.
+     */
+    public boolean isCold() {
+        return snapshot.get() == null && lastKnown == null;
+    }
+
+    /**
+     * While the cache is cold, starts loading the roster unless a load is in flight and decides whether a read may have
+     * the upstream answer it instead of waiting for the load. Only the first read of each {@code shape} during a load
+     * is allowed to, so a burst of cold reads costs the upstream one query per shape, not one per read; the rest wait
+     * for the load. Shapes are forgotten when the load completes, so a retry after a failed load may push down again.
+     *
+     * @return whether the caller may push its query down to the upstream.
+     */
+    public boolean tryPushDown(Object shape) {
+        if (!isCold()) {
+            return false;
+        }
+        refresh();
+        return pushedDown.add(shape);
+    }
+
+    /**
+     * Looks an employee up in the cached snapshot. An empty result means the employee is not known locally, either
+     * because it is not in the snapshot or because no snapshot could be loaded.
+     */
+    public Optional<Employee> findById(UUID id) {
+        try {
+            return getSnapshot().findById(id);
+        } catch (RuntimeException e) {
+            log.warn("Failed to load employees for lookup of {}: {}", id, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Starts a reload of the roster unless one is already in flight.
+     *
+     * @return the in-flight load, completed with the newly installed snapshot.
+     */
+    public CompletableFuture<EmployeeSnapshot> refresh() {
+        return singleFlight.execute(SNAPSHOT_KEY, () -> CompletableFuture.supplyAsync(this::load, loader)
+                .whenComplete((loaded, error) -> {
+                    pushedDown.clear();
+                    if (error != null) {
+                        log.error("Failed to load employees: {}", error.getMessage());
+                    }
+                }));
+    }
+
+    /**
+     * Adds a newly created employee to the cached snapshot, if one is loaded.
+     */
+    public void applyCreated(Employee employee) {
+        EmployeeSnapshot updated = apply((current, next) -> current.withEmployee(employee, next));
+        log.debug("Applied created employee {} to snapshot (size:{})", employee.id(), sizeOf(updated));
+    }
+
+    /**
+     * Removes a deleted employee from the cached snapshot, if one is loaded.
+     */
+    public void applyDeleted(UUID id) {
+        EmployeeSnapshot updated = apply((current, next) -> current.withoutEmployee(id, next));
+        log.debug("Applied deleted employee {} to snapshot (size:{})", id, sizeOf(updated));
+    }
+
+    /**
+     * Adds a batch of newly created employees to the cached snapshot as one delta, if one is loaded.
+     */
+    public void applyAllCreated(Collection<Employee> employees) {
+        List<Employee> batch = List.copyOf(employees);
+        EmployeeSnapshot updated = apply((current, next) -> current.withEmployees(batch, next));
+        log.debug("Applied {} created employees to snapshot (size:{})", employees.size(), sizeOf(updated));
+    }
+
+    /**
+     * Removes a batch of deleted employees from the cached snapshot as one delta, if one is loaded.
+     */
+    public void applyAllDeleted(Collection<UUID> ids) {
+        List<UUID> batch = List.copyOf(ids);
+        EmployeeSnapshot updated = apply((current, next) -> current.withoutEmployees(batch, next));
+        log.debug("Applied {} deleted employees to snapshot (size:{})", ids.size(), sizeOf(updated));
+    }
+
+    /**
+     * Waits up to {@code wait} for changes made upstream since the snapshot was loaded and applies them, or loads the
+     * whole roster if there is no snapshot to apply them to or the changes are no longer available. A snapshot
+     * confirmed to be current is stamped as freshly loaded even if nothing changed.
+     *
+     * @return whether the upstream has a change feed to follow; if not, every reload fetches the whole roster.
+     */
+    public boolean awaitChanges(Duration wait) {
+        ChangeCursor from = followed();
+        if (from == null) {
+            await(refresh());
+            return followed() != null;
+        }
+        EmployeeChanges changes = fetchChanges(from, wait);
+        if (changes == null) {
+            await(refresh());
+        } else {
+            catchUp(from, changes);
+        }
+        return true;
+    }
+
+    public void invalidate() {
+        log.debug("Invalidating employee snapshot");
+        synchronized (writeLock) {
+            EmployeeSnapshot current = snapshot.getAndSet(null);
+            if (current != null) {
+                lastKnown = current;
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private EmployeeSnapshot apply(Delta delta) {
+        synchronized (writeLock) {
+            if (loading) {
+                journal.add(delta);
+            }
+            EmployeeSnapshot current = snapshot.get();
+            if (current == null) {
+                return null;
+            }
+            EmployeeSnapshot updated = delta.applyTo(current, ++version);
+            snapshot.set(updated);
+            return updated;
+        }
+    }
+
+    private EmployeeSnapshot load() {
+        ChangeCursor from;
+        synchronized (writeLock) {
+            loading = true;
+            journal.clear();
+            from = followed();
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            EmployeeChanges changes = from == null ? null : fetchChanges(from, null);
+            EmployeeSnapshot loaded = changes == null ? null : catchUp(from, changes);
+            if (loaded == null) {
+                loaded = loadAll();
+            }
+            outcome = "success";
+            return loaded;
+        } finally {
+            sample.stop(meterRegistry.timer("employee.cache.loads", "outcome", outcome));
+            synchronized (writeLock) {
+                loading = false;
+                journal.clear();
+            }
+        }
+    }
+
+    private EmployeeSnapshot loadAll() {
         EmployeeDataResponse response = apiClient.getAllEmployees();
-        log.debug("fetching employee list (size:{})", response.data().size());
-        return response.data();
+        ChangeCursor from = position(response);
+        synchronized (writeLock) {
+            EmployeeSnapshot loaded = EmployeeSnapshot.of(response.data(), clock.instant(), ++version);
+            for (Delta delta : journal) {
+                loaded = delta.applyTo(loaded, ++version);
+            }
+            log.debug("fetching employee list (size:{}, replayed:{})", loaded.size(), journal.size());
+            snapshot.set(loaded);
+            lastKnown = null;
+            cursor = from;
+            return loaded;
+        }
+    }
+
+    /**
+     * Applies changes fetched since {@code from} to the current snapshot, unless it has been invalidated or another
+     * load has moved past {@code from} meanwhile. Deltas journaled during a reload are replayed on top, as after a full
+     * load.
+     *
+     * @return the updated snapshot, or {@code null} if there was none to apply the changes to.
+     */
+    private EmployeeSnapshot catchUp(ChangeCursor from, EmployeeChanges changes) {
+        synchronized (writeLock) {
+            EmployeeSnapshot current = snapshot.get();
+            if (current == null || !from.equals(cursor)) {
+                return current;
+            }
+            EmployeeSnapshot updated = current.withChanges(changes.changes(), clock.instant(), ++version);
+            for (Delta delta : journal) {
+                updated = delta.applyTo(updated, ++version);
+            }
+            log.debug(
+                    "applied {} employee changes up to {} (size:{})",
+                    changes.changes().size(),
+                    changes.sequence(),
+                    updated.size());
+            snapshot.set(updated);
+            cursor = new ChangeCursor(changes.epoch(), changes.sequence());
+            changesApplied.increment(changes.changes().size());
+            return updated;
+        }
+    }
+
+    /**
+     * @return the changes since {@code from}, or {@code null} if the roster has to be loaded in full instead.
+     */
+    private EmployeeChanges fetchChanges(ChangeCursor from, Duration wait) {
+        try {
+            EmployeeChangesResponse response = apiClient.getChanges(from.sequence(), wait);
+            EmployeeChanges changes = response == null ? null : response.data();
+            if (changes != null && from.epoch().equals(changes.epoch())) {
+                return changes;
+            }
+            log.debug("Employee change feed restarted since {}, loading all employees", from);
+        } catch (DownstreamException e) {
+            if (e.getStatusCodeValue() != 410) {
+                throw e;
+            }
+            log.debug("Employee changes since {} are no longer available, loading all employees", from);
+        }
+        synchronized (writeLock) {
+            if (from.equals(cursor)) {
+                cursor = null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Position of the upstream's change feed the roster is current up to, returned with it so that no extra call is
+     * needed; {@code null} if the upstream has no change feed.
+     */
+    private static ChangeCursor position(EmployeeDataResponse response) {
+        EmployeeChanges position = response.position();
+        if (position == null) {
+            log.debug("No employee change feed upstream, reloads will fetch all employees");
+            return null;
+        }
+        return new ChangeCursor(position.epoch(), position.sequence());
+    }
+
+    /** The position the current snapshot is up to date with, if it is following the change feed. */
+    private ChangeCursor followed() {
+        synchronized (writeLock) {
+            return snapshot.get() == null ? null : cursor;
+        }
+    }
+
+    private record ChangeCursor(String epoch, long sequence) {}
+
+    @FunctionalInterface
+    private interface Delta {
+        EmployeeSnapshot applyTo(EmployeeSnapshot snapshot, long version);
+    }
+
+    private static ThreadFactory loaderThreads(boolean virtualThreads) {
+        return virtualThreads
+                ? Thread.ofVirtual().name("employee-cache-loader").factory()
+                : Thread.ofPlatform().name("employee-cache-loader").daemon().factory();
+    }
+
+    private EmployeeSnapshot serveStale(EmployeeSnapshot stale, Throwable error) {
+        staleServed.increment();
+        log.warn(
+                "Failed to reload employees, serving stale snapshot loaded at {}: {}",
+                stale.loadedAt(),
+                error.getMessage());
+        return stale;
+    }
+
+    private static int sizeOf(EmployeeSnapshot snapshot) {
+        return snapshot == null ? 0 : snapshot.size();
+    }
+
+    private static EmployeeSnapshot await(CompletableFuture<EmployeeSnapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
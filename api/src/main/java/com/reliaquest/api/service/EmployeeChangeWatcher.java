@@ -0,0 +1,68 @@
+package com.reliaquest.api.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Long-polls the upstream's change feed when {@code app.cache.employees.watch} is enabled, so that changes made
+ * upstream, also by other clients, reach the {@link EmployeeCacheService} snapshot within milliseconds instead of on
+ * its next reload. Each poll is held upstream for up to {@code app.cache.employees.watch-wait}. After a failed poll, or
+ * if the upstream has no change feed, the watcher waits that long before trying again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.cache.employees.watch", havingValue = "true")
+public class EmployeeChangeWatcher {
+
+    private final EmployeeCacheService employeeCacheService;
+    private final Duration wait;
+    private final Thread watcher;
+    private volatile boolean running = true;
+
+    public EmployeeChangeWatcher(
+            EmployeeCacheService employeeCacheService,
+            @Value("${app.cache.employees.watch-wait:20s}") Duration wait,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.employeeCacheService = employeeCacheService;
+        this.wait = wait;
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon();
+        this.watcher = builder.name("employee-cache-watcher").unstarted(this::watch);
+    }
+
+    @PostConstruct
+    void start() {
+        watcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        // a blocking call may swallow the interrupt, so the flag is what ends the loop
+        running = false;
+        watcher.interrupt();
+    }
+
+    private void watch() {
+        while (running) {
+            try {
+                if (!employeeCacheService.awaitChanges(wait)) {
+                    log.debug("Upstream has no employee change feed, checking again in {}", wait);
+                    Thread.sleep(wait);
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to follow employee changes, retrying in {}: {}", wait, e.getMessage());
+                try {
+                    Thread.sleep(wait);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -1,68 +1,234 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.ReactiveApiClient;
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.index.SalaryIndex;
 import com.reliaquest.api.model.*;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
 
+    /** Most employees the Mock Employee API accepts in one batch request, its default {@code mock.batch.max-size}. */
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final ApiClient apiClient;
+    private final ReactiveApiClient reactiveApiClient;
     private final EmployeeCacheService employeeCacheService;
 
+    /**
+     * Streams all employees, from the cached snapshot while it is fresh and otherwise straight from the upstream's
+     * NDJSON endpoint, so the first employees can be sent before the whole roster has been received.
+     */
+    public Flux<Employee> streamAllEmployees() {
+        log.debug("Streaming all employees");
+        return employeeCacheService
+                .getFreshSnapshot()
+                .map(snapshot -> Flux.fromIterable(snapshot.employees()))
+                .orElseGet(reactiveApiClient::streamAllEmployees);
+    }
+
     public List<Employee> getEmployeesByNameSearch(String searchString) {
         log.debug("Get employees by search string {}", searchString);
-        List<Employee> employees = employeeCacheService.getAllEmployees();
-        return employees.stream()
-                .filter(employee -> employee.name().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(Collectors.toList());
+        return pushDown(EmployeeQuery.nameContains(searchString, null, null))
+                .orElseGet(() -> employeeCacheService.getSnapshot().nameIndex().search(searchString));
+    }
+
+    public List<Employee> getEmployeesByNameSearch(String searchString, int offset, int limit) {
+        log.debug("Get employees by search string {} (offset:{}, limit:{})", searchString, offset, limit);
+        return pushDown(EmployeeQuery.nameContains(searchString, offset, limit))
+                .orElseGet(() -> employeeCacheService.getSnapshot().nameIndex().search(searchString, offset, limit));
     }
 
     public Employee getEmployeeById(String id) {
         log.debug("Get employee by id {}", id);
+        Optional<Employee> cached = parseId(id).flatMap(employeeCacheService::findById);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        log.debug("Employee {} not cached, fetching from upstream", id);
         EmployeeResponse employeeResponse = apiClient.getEmployeeById(id);
         return employeeResponse.data();
     }
 
     public Integer getHighestSalaryOfEmployees() {
         log.debug("Get highest salary of employees");
-        List<Employee> employees = employeeCacheService.getAllEmployees();
-        return employees.stream().map(Employee::salary).max(Integer::compareTo).orElse(0);
+        return pushDown(EmployeeQuery.topEarners(1, "salary"))
+                .map(top -> top.isEmpty() ? 0 : top.get(0).salary())
+                .orElseGet(() -> employeeCacheService.getSnapshot().salaryIndex().highestSalary());
     }
 
     public List<String> getTopTenHighestEarningEmployeeNames() {
         log.debug("Getting top 10 highest earning employees");
-        List<Employee> employees = employeeCacheService.getAllEmployees();
-        return employees.stream()
-                .sorted(Comparator.comparingInt(Employee::salary).reversed())
-                .limit(10)
-                .map(Employee::name)
-                .collect(Collectors.toList());
+        return pushDown(EmployeeQuery.topEarners(SalaryIndex.TOP_K, "name"))
+                .map(top -> top.stream().map(Employee::name).toList())
+                .orElseGet(() -> employeeCacheService.getSnapshot().salaryIndex().topNames());
     }
 
-    @CachePut(value = "employees")
+    /**
+     * Creates the employee upstream and writes it through to the snapshot.
+     *
+     * @return {@code null} if the upstream created none.
+     * @throws DownstreamException with status 502 if the upstream answered with an employee without an id, which
+     *     could not be written through.
+     */
     public Employee createEmployee(EmployeeInput employeeInput) {
         log.debug("Creating employee {}", employeeInput);
-        return apiClient.createEmployee(employeeInput);
+        EmployeeResponse response = apiClient.createEmployee(employeeInput);
+        Employee employee = response == null ? null : response.data();
+        if (employee != null) {
+            employeeCacheService.applyCreated(requireId(employee));
+        }
+        return employee;
+    }
+
+    static Employee requireId(Employee employee) {
+        if (employee.id() == null) {
+            throw new DownstreamException(502, "Created employee has no id");
+        }
+        return employee;
     }
 
-    @CacheEvict(value = "employees")
     public DeleteEmployeeResponse deleteEmployeeById(String id) {
+        return deleteEmployeeById(id, null);
+    }
+
+    /**
+     * Deletes the employee with one upstream call keyed by id, without looking it up first; with an {@code ifMatch}
+     * ETag only if the employee still matches it.
+     *
+     * @return {@code null} if {@code id} is not a valid id.
+     * @throws DownstreamException with status 404 if there is no such employee, or 412 if it does not match
+     *     {@code ifMatch}.
+     */
+    public DeleteEmployeeResponse deleteEmployeeById(String id, String ifMatch) {
         log.debug("Deleting employee by id {}", id);
-        Employee employee = getEmployeeById(id);
-        if (employee != null && employee.name() != null) {
-            log.info("Deleting employee with name {}", employee.name());
-            return apiClient.deleteEmployeeByName(new DeleteEmployeeInput(employee.name()));
+        Optional<UUID> uuid = parseId(id);
+        if (uuid.isEmpty()) {
+            return null;
+        }
+        try {
+            DeleteEmployeeResponse response = apiClient.deleteEmployeeById(id, ifMatch);
+            if (response != null && response.data()) {
+                employeeCacheService.applyDeleted(uuid.get());
+            }
+            return response;
+        } catch (DownstreamException e) {
+            if (e.getStatusCodeValue() == 404) {
+                // already gone upstream, so it must not be served from the snapshot either
+                employeeCacheService.applyDeleted(uuid.get());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Creates the employees with one upstream call per {@link #MAX_BATCH_SIZE} employees rather than one per employee,
+     * and writes the employees created by each call through to the cache as a single delta.
+     *
+     * @return the created employee or the upstream's validation error for each input, in input order.
+     */
+    public List<BatchItemResult<Employee>> createEmployees(List<EmployeeInput> employeeInputs) {
+        log.debug("Creating {} employees", employeeInputs.size());
+        return inBatches(employeeInputs, apiClient::createEmployees, results -> {
+            List<Employee> created = new ArrayList<>(results.size());
+            for (BatchItemResult<Employee> result : results) {
+                if (result.data() != null) {
+                    created.add(result.data());
+                }
+            }
+            if (created.stream().anyMatch(employee -> employee.id() == null)) {
+                log.warn("Created employees have no id, invalidating employee snapshot");
+                employeeCacheService.invalidate();
+            } else {
+                employeeCacheService.applyAllCreated(created);
+            }
+        });
+    }
+
+    /**
+     * Deletes the employees with one upstream call per {@link #MAX_BATCH_SIZE} ids, without looking each employee up
+     * first, and removes the deleted ones from the cache as a single delta per call.
+     *
+     * @return for each id in order, whether an employee was deleted or why the id was rejected.
+     */
+    public List<BatchItemResult<Boolean>> deleteEmployeesById(List<String> ids) {
+        log.debug("Deleting {} employees by id", ids.size());
+        return inBatches(ids, apiClient::deleteEmployeesById, results -> {
+            List<UUID> deleted = new ArrayList<>(results.size());
+            for (BatchItemResult<Boolean> result : results) {
+                if (Boolean.TRUE.equals(result.data())) {
+                    parseId(ids.get(result.index())).ifPresent(deleted::add);
+                }
+            }
+            employeeCacheService.applyAllDeleted(deleted);
+        });
+    }
+
+    /**
+     * Splits {@code items} into upstream batches of at most {@link #MAX_BATCH_SIZE}, renumbers the results of each
+     * batch to positions in {@code items} and hands them to {@code onBatch} before the next batch is sent.
+     */
+    static <I, T> List<BatchItemResult<T>> inBatches(
+            List<I> items, Function<List<I>, BatchResponse<T>> call, Consumer<List<BatchItemResult<T>>> onBatch) {
+        List<BatchItemResult<T>> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += MAX_BATCH_SIZE) {
+            List<I> batch = items.subList(from, Math.min(from + MAX_BATCH_SIZE, items.size()));
+            List<BatchItemResult<T>> batchResults = renumber(call.apply(batch), from);
+            onBatch.accept(batchResults);
+            results.addAll(batchResults);
+        }
+        return results;
+    }
+
+    static <T> List<BatchItemResult<T>> renumber(BatchResponse<T> response, int offset) {
+        if (response == null || response.data() == null) {
+            return List.of();
+        }
+        return response.data().stream()
+                .map(result -> new BatchItemResult<>(result.index() + offset, result.data(), result.error()))
+                .toList();
+    }
+
+    /**
+     * While the cache is cold, starts loading the roster in the background and has the upstream answer {@code query}
+     * instead, so the first read of each shape returns only the employees and fields it needs rather than waiting for
+     * the whole roster. Further reads of that shape wait for the load, see {@link EmployeeCacheService#tryPushDown}.
+     *
+     * @return empty once the cache has a snapshot, if a query of this shape was already pushed down during the load,
+     *     or if the upstream could not answer the query.
+     */
+    private Optional<List<Employee>> pushDown(EmployeeQuery query) {
+        if (!employeeCacheService.tryPushDown(query.shape())) {
+            return Optional.empty();
+        }
+        try {
+            log.debug("Employee cache is cold, pushing {} down to upstream", query);
+            EmployeeDataResponse response = apiClient.findEmployees(query.toParams());
+            return Optional.of(response == null || response.data() == null ? List.of() : response.data());
+        } catch (RuntimeException e) {
+            log.warn("Failed to push {} down to upstream, waiting for employees to load: {}", query, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<UUID> parseId(String id) {
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
         }
-        return null;
     }
 }
@@ -0,0 +1,268 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.index.ChunkedList;
+import com.reliaquest.api.index.NameIndex;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.index.ShardedMap;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable, point-in-time copy of the employee roster held by {@link EmployeeCacheService}, together with the
+ * indexes derived from it. Applying a create or delete returns a new snapshot stamped with a higher version, so a
+ * reader holding a snapshot always sees one consistent roster. Both operations are idempotent.
+ * <p>
+ * The roster is a {@link ChunkedList} and the id lookup a {@link ShardedMap}, like the indexes, so a single create or
+ * delete copies O(sqrt(n)) references and shares everything else with this snapshot instead of copying the roster. A
+ * batch small next to the roster is applied one employee at a time; a larger one rebuilds the snapshot once, which is
+ * cheaper than that many incremental updates.
+ */
+public final class EmployeeSnapshot {
+    /** A batch of at most one employee in this many is applied incrementally rather than by a rebuild. */
+    private static final int INCREMENTAL_BATCH_RATIO = 32;
+
+    /** Roster order, which is ascending {@link Slot#ordinal()}. */
+    private final ChunkedList<Slot> roster;
+
+    private final ShardedMap<UUID, Slot> byId;
+    private final long nextOrdinal;
+    private final SalaryIndex salaryIndex;
+    private final NameIndex nameIndex;
+    private final Instant loadedAt;
+    private final long version;
+
+    private final List<Employee> employees;
+
+    private EmployeeSnapshot(
+            ChunkedList<Slot> roster,
+            ShardedMap<UUID, Slot> byId,
+            long nextOrdinal,
+            SalaryIndex salaryIndex,
+            NameIndex nameIndex,
+            Instant loadedAt,
+            long version) {
+        this.roster = roster;
+        this.byId = byId;
+        this.nextOrdinal = nextOrdinal;
+        this.salaryIndex = salaryIndex;
+        this.nameIndex = nameIndex;
+        this.loadedAt = loadedAt;
+        this.version = version;
+        this.employees = new EmployeeView(roster);
+    }
+
+    public static EmployeeSnapshot of(List<Employee> employees, Instant loadedAt, long version) {
+        List<Employee> copy = employees == null ? List.of() : List.copyOf(employees);
+        List<Slot> slots = new ArrayList<>(copy.size());
+        Map<UUID, Slot> byId = new HashMap<>(copy.size() * 4 / 3 + 1);
+        for (Employee employee : copy) {
+            Slot slot = new Slot(employee, slots.size());
+            slots.add(slot);
+            if (employee.id() != null) {
+                byId.put(employee.id(), slot);
+            }
+        }
+        return new EmployeeSnapshot(
+                ChunkedList.of(slots),
+                ShardedMap.of(byId),
+                slots.size(),
+                SalaryIndex.of(copy),
+                NameIndex.of(copy),
+                loadedAt,
+                version);
+    }
+
+    public List<Employee> employees() {
+        return employees;
+    }
+
+    public SalaryIndex salaryIndex() {
+        return salaryIndex;
+    }
+
+    public NameIndex nameIndex() {
+        return nameIndex;
+    }
+
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public boolean isOlderThan(Duration age, Instant now) {
+        return !loadedAt.plus(age).isAfter(now);
+    }
+
+    public Optional<Employee> findById(UUID id) {
+        return Optional.ofNullable(byId.get(id)).map(Slot::employee);
+    }
+
+    public EmployeeSnapshot withEmployee(Employee employee, long version) {
+        if (byId.containsKey(employee.id())) {
+            return this;
+        }
+        Slot slot = new Slot(employee, nextOrdinal);
+        return new EmployeeSnapshot(
+                roster.append(slot),
+                employee.id() == null ? byId : byId.with(employee.id(), slot),
+                nextOrdinal + 1,
+                salaryIndex.with(employee),
+                nameIndex.with(employee),
+                loadedAt,
+                version);
+    }
+
+    public EmployeeSnapshot withEmployees(Collection<Employee> added, long version) {
+        Map<UUID, Employee> fresh = new LinkedHashMap<>();
+        for (Employee employee : added) {
+            if (!byId.containsKey(employee.id())) {
+                fresh.putIfAbsent(employee.id(), employee);
+            }
+        }
+        if (fresh.size() * INCREMENTAL_BATCH_RATIO <= size() || fresh.size() <= 1) {
+            EmployeeSnapshot updated = this;
+            for (Employee employee : fresh.values()) {
+                updated = updated.withEmployee(employee, version);
+            }
+            return updated;
+        }
+        List<Employee> updated = new ArrayList<>(employees.size() + fresh.size());
+        updated.addAll(employees);
+        updated.addAll(fresh.values());
+        return of(updated, loadedAt, version);
+    }
+
+    public EmployeeSnapshot withoutEmployees(Collection<UUID> ids, long version) {
+        Set<UUID> removed = new LinkedHashSet<>();
+        for (UUID id : ids) {
+            if (byId.containsKey(id)) {
+                removed.add(id);
+            }
+        }
+        if (removed.size() * INCREMENTAL_BATCH_RATIO <= size() || removed.size() <= 1) {
+            EmployeeSnapshot updated = this;
+            for (UUID id : removed) {
+                updated = updated.withoutEmployee(id, version);
+            }
+            return updated;
+        }
+        List<Employee> updated = new ArrayList<>(employees.size() - removed.size());
+        for (Employee employee : employees) {
+            if (employee.id() == null || !removed.contains(employee.id())) {
+                updated.add(employee);
+            }
+        }
+        return of(updated, loadedAt, version);
+    }
+
+    /**
+     * Applies changes from the upstream's change feed in order, each run of creates or deletes as one batch, and
+     * stamps the result as loaded at {@code loadedAt}: it is then as current as a freshly loaded roster.
+     */
+    public EmployeeSnapshot withChanges(List<EmployeeChange> changes, Instant loadedAt, long version) {
+        EmployeeSnapshot updated = this;
+        int from = 0;
+        while (from < changes.size()) {
+            EmployeeChange.Type type = changes.get(from).type();
+            int to = from + 1;
+            while (to < changes.size() && changes.get(to).type() == type) {
+                to++;
+            }
+            List<EmployeeChange> run = changes.subList(from, to);
+            if (type == EmployeeChange.Type.CREATED) {
+                updated = updated.withEmployees(
+                        run.stream().map(EmployeeChange::employee).filter(Objects::nonNull).toList(), version);
+            } else {
+                updated = updated.withoutEmployees(run.stream().map(EmployeeChange::id).toList(), version);
+            }
+            from = to;
+        }
+        return new EmployeeSnapshot(
+                updated.roster,
+                updated.byId,
+                updated.nextOrdinal,
+                updated.salaryIndex,
+                updated.nameIndex,
+                loadedAt,
+                version);
+    }
+
+    public EmployeeSnapshot withoutEmployee(UUID id, long version) {
+        Slot slot = byId.get(id);
+        if (slot == null) {
+            return this;
+        }
+        return new EmployeeSnapshot(
+                roster.delete(roster.indexOfKey(Slot::ordinal, slot.ordinal())),
+                byId.without(id),
+                nextOrdinal,
+                salaryIndex.without(slot.employee()),
+                nameIndex.without(slot.employee()),
+                loadedAt,
+                version);
+    }
+
+    /**
+     * @param ordinal position of the employee in the order employees were added to this snapshot's lineage, which keeps
+     *     roster order across removals.
+     */
+    private record Slot(Employee employee, long ordinal) {}
+
+    /** Read-only view of the roster's employees. */
+    private static final class EmployeeView extends AbstractList<Employee> implements RandomAccess {
+        private final ChunkedList<Slot> roster;
+
+        private EmployeeView(ChunkedList<Slot> roster) {
+            this.roster = roster;
+        }
+
+        @Override
+        public Employee get(int index) {
+            return roster.get(index).employee();
+        }
+
+        @Override
+        public int size() {
+            return roster.size();
+        }
+
+        @Override
+        public Iterator<Employee> iterator() {
+            Iterator<Slot> slots = roster.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return slots.hasNext();
+                }
+
+                @Override
+                public Employee next() {
+                    return slots.next().employee();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.client.ReactiveApiClient;
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.index.SalaryIndex;
+import com.reliaquest.api.model.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link EmployeeService}, used when {@code app.api.mode} is {@code reactive}. Reads are
+ * served from the shared {@link EmployeeCacheService} snapshot without parking the calling event loop thread; cache
+ * misses and writes go upstream through the {@link ReactiveApiClient}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.api.mode", havingValue = "reactive")
+public class ReactiveEmployeeService {
+
+    private final ReactiveApiClient reactiveApiClient;
+    private final EmployeeCacheService employeeCacheService;
+
+    public Mono<List<Employee>> getAllEmployees() {
+        log.debug("Get all employees");
+        return snapshot().map(EmployeeSnapshot::employees);
+    }
+
+    /** See {@link EmployeeService#streamAllEmployees()}. */
+    public Flux<Employee> streamAllEmployees() {
+        log.debug("Streaming all employees");
+        return employeeCacheService
+                .getFreshSnapshot()
+                .map(snapshot -> Flux.fromIterable(snapshot.employees()))
+                .orElseGet(reactiveApiClient::streamAllEmployees);
+    }
+
+    public Mono<List<Employee>> getEmployeesByNameSearch(String searchString) {
+        log.debug("Get employees by search string {}", searchString);
+        return query(
+                EmployeeQuery.nameContains(searchString, null, null),
+                Function.identity(),
+                snapshot -> snapshot.nameIndex().search(searchString));
+    }
+
+    public Mono<List<Employee>> getEmployeesByNameSearch(String searchString, int offset, int limit) {
+        log.debug("Get employees by search string {} (offset:{}, limit:{})", searchString, offset, limit);
+        return query(
+                EmployeeQuery.nameContains(searchString, offset, limit),
+                Function.identity(),
+                snapshot -> snapshot.nameIndex().search(searchString, offset, limit));
+    }
+
+    public Mono<Employee> getEmployeeById(String id) {
+        log.debug("Get employee by id {}", id);
+        return cached(id).switchIfEmpty(Mono.defer(() -> {
+            log.debug("Employee {} not cached, fetching from upstream", id);
+            return reactiveApiClient.getEmployeeById(id).mapNotNull(EmployeeResponse::data);
+        }));
+    }
+
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        log.debug("Get highest salary of employees");
+        return query(
+                EmployeeQuery.topEarners(1, "salary"),
+                top -> top.isEmpty() ? 0 : top.get(0).salary(),
+                snapshot -> snapshot.salaryIndex().highestSalary());
+    }
+
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        log.debug("Getting top 10 highest earning employees");
+        return query(
+                EmployeeQuery.topEarners(SalaryIndex.TOP_K, "name"),
+                top -> top.stream().map(Employee::name).toList(),
+                snapshot -> snapshot.salaryIndex().topNames());
+    }
+
+    public Mono<Employee> createEmployee(EmployeeInput employeeInput) {
+        log.debug("Creating employee {}", employeeInput);
+        return reactiveApiClient
+                .createEmployee(employeeInput)
+                .mapNotNull(EmployeeResponse::data)
+                .map(EmployeeService::requireId)
+                .doOnNext(employeeCacheService::applyCreated);
+    }
+
+    public Mono<DeleteEmployeeResponse> deleteEmployeeById(String id) {
+        return deleteEmployeeById(id, null);
+    }
+
+    /** See {@link EmployeeService#deleteEmployeeById(String, String)}; empty if {@code id} is not a valid id. */
+    public Mono<DeleteEmployeeResponse> deleteEmployeeById(String id, String ifMatch) {
+        log.debug("Deleting employee by id {}", id);
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return Mono.empty();
+        }
+        return reactiveApiClient
+                .deleteEmployeeById(id, ifMatch)
+                .doOnNext(response -> {
+                    if (response.data()) {
+                        employeeCacheService.applyDeleted(uuid);
+                    }
+                })
+                .doOnError(DownstreamException.class, e -> {
+                    if (e.getStatusCodeValue() == 404) {
+                        employeeCacheService.applyDeleted(uuid);
+                    }
+                });
+    }
+
+    /** See {@link EmployeeService#createEmployees(List)}. */
+    public Mono<List<BatchItemResult<Employee>>> createEmployees(List<EmployeeInput> employeeInputs) {
+        log.debug("Creating {} employees", employeeInputs.size());
+        return inBatches(employeeInputs, reactiveApiClient::createEmployees, results -> {
+            List<Employee> created = results.stream()
+                    .map(BatchItemResult::data)
+                    .filter(Objects::nonNull)
+                    .toList();
+            if (created.stream().anyMatch(employee -> employee.id() == null)) {
+                log.warn("Created employees have no id, invalidating employee snapshot");
+                employeeCacheService.invalidate();
+            } else {
+                employeeCacheService.applyAllCreated(created);
+            }
+        });
+    }
+
+    /** See {@link EmployeeService#deleteEmployeesById(List)}. */
+    public Mono<List<BatchItemResult<Boolean>>> deleteEmployeesById(List<String> ids) {
+        log.debug("Deleting {} employees by id", ids.size());
+        return inBatches(ids, reactiveApiClient::deleteEmployeesById, results -> {
+            List<UUID> deleted = new ArrayList<>(results.size());
+            for (BatchItemResult<Boolean> result : results) {
+                if (Boolean.TRUE.equals(result.data())) {
+                    deleted.add(UUID.fromString(ids.get(result.index())));
+                }
+            }
+            employeeCacheService.applyAllDeleted(deleted);
+        });
+    }
+
+    /** Sends one batch at a time, in order, like {@link EmployeeService#inBatches}. */
+    private static <I, T> Mono<List<BatchItemResult<T>>> inBatches(
+            List<I> items,
+            Function<List<I>, Mono<BatchResponse<T>>> call,
+            Consumer<List<BatchItemResult<T>>> onBatch) {
+        int batches = (items.size() + EmployeeService.MAX_BATCH_SIZE - 1) / EmployeeService.MAX_BATCH_SIZE;
+        return Flux.range(0, batches)
+                .map(batch -> batch * EmployeeService.MAX_BATCH_SIZE)
+                .concatMap(from -> call.apply(
+                                items.subList(from, Math.min(from + EmployeeService.MAX_BATCH_SIZE, items.size())))
+                        .map(response -> EmployeeService.renumber(response, from))
+                        .doOnNext(onBatch))
+                .concatMapIterable(Function.identity())
+                .collectList();
+    }
+
+    /**
+     * Answers a read from the snapshot, or while the cache is cold pushes {@code query} down to the upstream and starts
+     * loading the roster in the background, at most once per query shape and load like {@link EmployeeService}.
+     */
+    private <R> Mono<R> query(
+            EmployeeQuery query, Function<List<Employee>, R> fromUpstream, Function<EmployeeSnapshot, R> fromSnapshot) {
+        return Mono.defer(() -> {
+            if (!employeeCacheService.tryPushDown(query.shape())) {
+                return snapshot().map(fromSnapshot);
+            }
+            log.debug("Employee cache is cold, pushing {} down to upstream", query);
+            return reactiveApiClient
+                    .findEmployees(query.toParams())
+                    .mapNotNull(EmployeeDataResponse::data)
+                    .defaultIfEmpty(List.of())
+                    .map(fromUpstream)
+                    .onErrorResume(e -> {
+                        log.warn(
+                                "Failed to push {} down to upstream, waiting for employees to load: {}",
+                                query,
+                                e.getMessage());
+                        return snapshot().map(fromSnapshot);
+                    });
+        });
+    }
+
+    private Mono<EmployeeSnapshot> snapshot() {
+        // the reload future is shared with other callers, so a cancelled subscriber must not cancel it
+        return Mono.fromFuture(employeeCacheService::getSnapshotAsync, true);
+    }
+
+    private Mono<Employee> cached(String id) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return Mono.empty();
+        }
+        return snapshot()
+                .flatMap(snapshot -> Mono.justOrEmpty(snapshot.findById(uuid)))
+                .onErrorResume(e -> {
+                    log.warn("Failed to load employees for lookup of {}: {}", id, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
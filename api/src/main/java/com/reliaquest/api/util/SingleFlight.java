@@ -0,0 +1,83 @@
+package com.reliaquest.api.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into a single execution. The first caller for a key starts the call,
+ * every caller arriving while it is in flight shares its result, and the key is released as soon as the call
+ * completes, also exceptionally, so the next caller starts a fresh one.
+ *
+ * @param <K> key identifying identical calls
+ * @param <V> result type
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            call.get().whenComplete((value, error) -> complete(key, promise, value, error));
+        } catch (Throwable e) {
+            // also on an Error, or the key would stay in flight and its callers wait forever
+            complete(key, promise, null, e);
+        }
+        return promise;
+    }
+
+    /**
+     * Blocking variant of {@link #execute(Object, Supplier)}: the first caller for a key runs {@code call} on its own
+     * thread and every concurrent caller for the same key waits for, and shares, its result or exception.
+     */
+    public V call(K key, Supplier<V> call) {
+        CompletableFuture<V> promise = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            return join(existing);
+        }
+        V value;
+        try {
+            value = call.get();
+        } catch (Throwable e) {
+            complete(key, promise, null, e);
+            throw e;
+        }
+        complete(key, promise, value, null);
+        return value;
+    }
+
+    public boolean isInFlight(K key) {
+        return inFlight.containsKey(key);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void complete(K key, CompletableFuture<V> promise, V value, Throwable error) {
+        inFlight.remove(key, promise);
+        if (error != null) {
+            promise.completeExceptionally(error);
+        } else {
+            promise.complete(value);
+        }
+    }
+}
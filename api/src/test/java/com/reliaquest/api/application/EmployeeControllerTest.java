@@ -6,6 +6,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.BatchItemResult;
 import com.reliaquest.api.model.DeleteEmployeeResponse;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeInput;
@@ -88,6 +90,25 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[0].employee_email").value(employee1.email()));
     }
 
+    @Test
+    public void shouldReturnPagedEmployeesByNameSearch() throws Exception {
+        String searchString = "o";
+        when(employeeService.getEmployeesByNameSearch(searchString, 1, 1)).thenReturn(List.of(employee2));
+
+        mockMvc.perform(get("/employees/search/{searchString}", searchString)
+                        .param("offset", "1")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].employee_name").value(employee2.name()));
+    }
+
+    @Test
+    public void shouldReturnBadRequestForNegativeSearchLimit() throws Exception {
+        mockMvc.perform(get("/employees/search/{searchString}", "o").param("limit", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     public void shouldReturnEmployeeById() throws Exception {
         when(employeeService.getEmployeeById(id_1.toString())).thenReturn(employee1);
@@ -183,4 +204,64 @@ public class EmployeeControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(content().string("failure : not found : c297b3b1-1365-44aa-a690-7cfe57b7ec71"));
     }
+
+    @Test
+    public void shouldPassIfMatchToConditionalDelete() throws Exception {
+        when(employeeService.deleteEmployeeById(id_1.toString(), "\"1a2b3c4d\""))
+                .thenThrow(new DownstreamException(412, "Precondition Failed"));
+
+        mockMvc.perform(delete("/employees/{id}", id_1).header("If-Match", "\"1a2b3c4d\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenDeleteEmployeeMissingUpstream() throws Exception {
+        when(employeeService.deleteEmployeeById(id_2.toString())).thenThrow(new DownstreamException(404, "Not Found"));
+
+        mockMvc.perform(delete("/employees/{id}", id_2))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Employee not found : " + id_2));
+    }
+
+    @Test
+    public void shouldCreateEmployeesInBatch() throws Exception {
+        List<EmployeeInput> inputs = List.of(
+                new EmployeeInput("John Smith", 120000, 38, "Senior Developer"),
+                new EmployeeInput("Dan Doe", 90000, 29, "Developer"));
+        when(employeeService.createEmployees(inputs))
+                .thenReturn(List.of(
+                        new BatchItemResult<>(0, employee1, null),
+                        new BatchItemResult<>(1, null, "title must not be blank")));
+
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(inputs)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].data.employee_name").value(employee1.name()))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].error").value("title must not be blank"));
+    }
+
+    @Test
+    public void shouldReturnBadRequestForEmptyBatch() throws Exception {
+        mockMvc.perform(post("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void shouldDeleteEmployeesInBatch() throws Exception {
+        List<String> ids = List.of(id_1.toString(), id_2.toString());
+        when(employeeService.deleteEmployeesById(ids))
+                .thenReturn(List.of(new BatchItemResult<>(0, true, null), new BatchItemResult<>(1, false, null)));
+
+        mockMvc.perform(delete("/employees/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].data").value(true))
+                .andExpect(jsonPath("$[1].data").value(false));
+    }
 }
@@ -0,0 +1,141 @@
+package com.reliaquest.api.application;
+
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.model.DeleteEmployeeResponse;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeInput;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(controllers = ReactiveEmployeeController.class, properties = "app.api.mode=reactive")
+public class ReactiveEmployeeControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    private final Employee employee1 = new Employee(
+            UUID.fromString("7ee3bf8f-9ec5-40c2-a079-ec88028c6a90"),
+            "John Smith",
+            120000,
+            38,
+            "Senior Developer",
+            "john.smoth@domain.com");
+    private final Employee employee2 = new Employee(
+            UUID.fromString("c297b3b1-1365-44aa-a690-7cfe57b7ec71"),
+            "Dan Doe",
+            90000,
+            29,
+            "Developer",
+            "dan.doe@domain.com");
+
+    @Test
+    public void shouldReturnAllEmployees() {
+        when(employeeService.getAllEmployees()).thenReturn(Mono.just(List.of(employee1, employee2)));
+
+        webTestClient
+                .get()
+                .uri("/employees")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$[0].id")
+                .isEqualTo(employee1.id().toString())
+                .jsonPath("$[1].employee_name")
+                .isEqualTo(employee2.name());
+    }
+
+    @Test
+    public void shouldReturnPagedEmployeesByNameSearch() {
+        when(employeeService.getEmployeesByNameSearch("o", 1, 1)).thenReturn(Mono.just(List.of(employee2)));
+
+        webTestClient
+                .get()
+                .uri("/employees/search/{searchString}?offset=1&limit=1", "o")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$.length()")
+                .isEqualTo(1)
+                .jsonPath("$[0].employee_name")
+                .isEqualTo(employee2.name());
+    }
+
+    @Test
+    public void shouldReturnBadRequestForNegativeSearchLimit() {
+        webTestClient
+                .get()
+                .uri("/employees/search/{searchString}?limit=-1", "o")
+                .exchange()
+                .expectStatus()
+                .isBadRequest();
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenEmployeeNotExists() {
+        when(employeeService.getEmployeeById("1")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/employees/{id}", "1").exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    public void shouldReturnTopTenHighestEarningEmployeeNames() {
+        when(employeeService.getTopTenHighestEarningEmployeeNames())
+                .thenReturn(Mono.just(List.of(employee1.name(), employee2.name())));
+
+        webTestClient
+                .get()
+                .uri("/employees/topTenHighestEarningEmployeeNames")
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody()
+                .jsonPath("$[0]")
+                .isEqualTo(employee1.name());
+    }
+
+    @Test
+    public void shouldCreateEmployee() {
+        EmployeeInput input = new EmployeeInput("John Smith", 120000, 38, "Senior Developer");
+        when(employeeService.createEmployee(input)).thenReturn(Mono.just(employee1));
+
+        webTestClient
+                .post()
+                .uri("/employees")
+                .bodyValue(input)
+                .exchange()
+                .expectStatus()
+                .isCreated()
+                .expectBody()
+                .jsonPath("$.employee_name")
+                .isEqualTo(employee1.name());
+    }
+
+    @Test
+    public void shouldDeleteEmployeeById() {
+        String id = employee1.id().toString();
+        when(employeeService.deleteEmployeeById(id))
+                .thenReturn(Mono.just(new DeleteEmployeeResponse(true, "Successfully processed request.", null)));
+
+        webTestClient
+                .delete()
+                .uri("/employees/{id}", id)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectBody(String.class)
+                .isEqualTo("Successfully processed request. : " + id);
+    }
+}
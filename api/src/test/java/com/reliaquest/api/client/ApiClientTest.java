@@ -3,6 +3,7 @@ package com.reliaquest.api.client;
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
@@ -10,6 +11,8 @@ import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import com.reliaquest.api.config.ClientConfig;
 import com.reliaquest.api.model.*;
+import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
 import org.assertj.core.util.Lists;
 import org.junit.jupiter.api.AfterAll;
@@ -28,6 +31,9 @@ class ApiClientTest {
     @Autowired
     private ApiClient apiClient;
 
+    @Autowired
+    private ReactiveApiClient reactiveApiClient;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final String id_1 = "74dfebc1-9a57-464f-a27c-c66a04ec2c87";
@@ -76,6 +82,68 @@ class ApiClientTest {
         assertEquals(mockResponse.data().get(0).id(), response.data().get(0).id());
     }
 
+    @Test
+    void testStreamAllEmployees() {
+        wireMockServer.stubFor(get(urlEqualTo("/api/v1/employee"))
+                .withHeader("Accept", containing("application/x-ndjson"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/x-ndjson")
+                        .withBody(
+                                "{\"id\":\"74dfebc1-9a57-464f-a27c-c66a04ec2c87\",\"employee_name\":\"John Doe\",\"employee_salary\":50000,\"employee_age\":30,\"employee_title\":\"Developer\",\"employee_email\":\"johndoe@example.com\"}\n"
+                                        + "{\"id\":\"f52c4ad1-85f8-4d6f-b29a-d8c38d2e50cd\",\"employee_name\":\"Jane Doe\",\"employee_salary\":60000,\"employee_age\":25,\"employee_title\":\"Analyst\",\"employee_email\":\"janedoe@example.com\"}\n")));
+
+        List<Employee> employees = reactiveApiClient.streamAllEmployees().collectList().block();
+
+        assertNotNull(employees);
+        assertEquals(2, employees.size());
+        assertEquals(UUID.fromString(id_1), employees.get(0).id());
+        assertEquals("Jane Doe", employees.get(1).name());
+    }
+
+    @Test
+    void testFindEmployeesSendsQueryParameters() {
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/v1/employee"))
+                .withQueryParam("sort", equalTo("salary"))
+                .withQueryParam("order", equalTo("desc"))
+                .withQueryParam("limit", equalTo("1"))
+                .withQueryParam("fields", equalTo("salary"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("X-Total-Count", "2")
+                        .withBody(
+                                "{\"data\":[{\"employee_salary\":60000}], \"status\": \"Successfully processed request.\"}")));
+
+        EmployeeDataResponse response = apiClient.findEmployees(EmployeeQuery.topEarners(1, "salary").toParams());
+
+        wireMockServer.verify(getRequestedFor(urlPathEqualTo("/api/v1/employee"))
+                .withQueryParam("minSalary", equalTo("0")));
+        assertNotNull(response);
+        assertEquals(1, response.data().size());
+        assertEquals(60000, response.data().get(0).salary());
+    }
+
+    @Test
+    void testGetChanges() {
+        wireMockServer.stubFor(get(urlPathEqualTo("/api/v1/employee/changes"))
+                .withQueryParam("since", equalTo("41"))
+                .withQueryParam("wait", equalTo("PT20S"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(
+                                "{\"data\":{\"epoch\":\"e1\",\"sequence\":43,\"changes\":[{\"sequence\":42,\"type\":\"CREATED\",\"id\":\"74dfebc1-9a57-464f-a27c-c66a04ec2c87\",\"employee\":{\"id\":\"74dfebc1-9a57-464f-a27c-c66a04ec2c87\",\"employee_name\":\"John Doe\"}},{\"sequence\":43,\"type\":\"DELETED\",\"id\":\"f52c4ad1-85f8-4d6f-b29a-d8c38d2e50cd\"}]}, \"status\": \"Successfully processed request.\"}")));
+
+        EmployeeChanges changes = apiClient.getChanges(41L, Duration.ofSeconds(20)).data();
+
+        assertEquals("e1", changes.epoch());
+        assertEquals(43, changes.sequence());
+        assertEquals(EmployeeChange.Type.CREATED, changes.changes().get(0).type());
+        assertEquals("John Doe", changes.changes().get(0).employee().name());
+        assertEquals(EmployeeChange.Type.DELETED, changes.changes().get(1).type());
+    }
+
     @Test
     void testGetEmployeeById() {
         EmployeeResponse mockResponse = new EmployeeResponse(
@@ -109,7 +177,7 @@ class ApiClientTest {
     void testCreateEmployee() throws Exception {
         EmployeeInput input = new EmployeeInput("Jane Doe", 60000, 25, "Analyst");
         String mockResponseJson =
-                "{\"id\":\"f52c4ad1-85f8-4d6f-b29a-d8c38d2e50cd\",\"employee_name\":\"Jane Doe\",\"employee_salary\":60000,\"employee_age\":25,\"employee_title\":\"Analyst\",\"employee_email\":\"janedoe@example.com\"}";
+                "{\"data\":{\"id\":\"f52c4ad1-85f8-4d6f-b29a-d8c38d2e50cd\",\"employee_name\":\"Jane Doe\",\"employee_salary\":60000,\"employee_age\":25,\"employee_title\":\"Analyst\",\"employee_email\":\"janedoe@example.com\"},\"status\":\"Successfully processed request.\"}";
         String inputJson = objectMapper.writeValueAsString(input);
 
         String id_2 = "f52c4ad1-85f8-4d6f-b29a-d8c38d2e50cd";
@@ -123,7 +191,7 @@ class ApiClientTest {
                         .withHeader("Content-Type", "application/json")
                         .withBody(mockResponseJson)));
 
-        Employee response = apiClient.createEmployee(input);
+        Employee response = apiClient.createEmployee(input).data();
 
         wireMockServer.verify(postRequestedFor(urlEqualTo("/api/v1/employee")).withRequestBody(containing(inputJson)));
 
@@ -154,4 +222,64 @@ class ApiClientTest {
 
         assertEquals(mockResponse.status(), deleteEmployeeResponse.status());
     }
+
+    @Test
+    void testDeleteEmployeeById() {
+        wireMockServer.stubFor(delete(urlEqualTo("/api/v1/employee/" + id_1))
+                .withHeader("If-Match", equalTo("\"1a2b3c4d\""))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"data\":true,\"status\":\"Successfully processed request.\"}")));
+
+        DeleteEmployeeResponse response = apiClient.deleteEmployeeById(id_1, "\"1a2b3c4d\"");
+
+        wireMockServer.verify(1, deleteRequestedFor(urlEqualTo("/api/v1/employee/" + id_1)));
+        assertTrue(response.data());
+    }
+
+    @Test
+    void testCreateEmployees() throws Exception {
+        List<EmployeeInput> inputs = List.of(
+                new EmployeeInput("Jane Doe", 60000, 25, "Analyst"),
+                new EmployeeInput("Jim Doe", 70000, 41, "Manager"));
+        String inputJson = objectMapper.writeValueAsString(inputs);
+
+        wireMockServer.stubFor(post(urlEqualTo("/api/v1/employee/batch"))
+                .withRequestBody(equalToJson(inputJson))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"data\":[{\"index\":0,\"data\":{\"id\":\"f52c4ad1-85f8-4d6f-b29a-d8c38d2e50cd\","
+                                + "\"employee_name\":\"Jane Doe\",\"employee_salary\":60000,\"employee_age\":25,"
+                                + "\"employee_title\":\"Analyst\",\"employee_email\":\"janedoe@example.com\"}},"
+                                + "{\"index\":1,\"error\":\"title must not be blank\"}],"
+                                + "\"status\":\"Successfully processed request.\"}")));
+
+        BatchResponse<Employee> response = apiClient.createEmployees(inputs);
+
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo("/api/v1/employee/batch")));
+        assertNotNull(response);
+        assertEquals(2, response.data().size());
+        assertEquals(UUID.fromString("f52c4ad1-85f8-4d6f-b29a-d8c38d2e50cd"), response.data().get(0).data().id());
+        assertEquals("Jane Doe", response.data().get(0).data().name());
+        assertEquals(1, response.data().get(1).index());
+        assertEquals("title must not be blank", response.data().get(1).error());
+    }
+
+    @Test
+    void testDeleteEmployeesById() {
+        wireMockServer.stubFor(delete(urlEqualTo("/api/v1/employee/batch"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"data\":[{\"index\":0,\"data\":true},{\"index\":1,\"data\":false}],"
+                                + "\"status\":\"Successfully processed request.\"}")));
+
+        BatchResponse<Boolean> response = apiClient.deleteEmployeesById(List.of(id_1, "unknown"));
+
+        wireMockServer.verify(deleteRequestedFor(urlEqualTo("/api/v1/employee/batch"))
+                .withRequestBody(equalToJson("[\"" + id_1 + "\",\"unknown\"]")));
+        assertEquals(List.of(true, false), response.data().stream().map(BatchItemResult::data).toList());
+    }
 }
@@ -0,0 +1,146 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingApiClientTest {
+
+    @Mock
+    private ApiClient delegate;
+
+    private CoalescingApiClient apiClient;
+
+    private final ExecutorService callers = Executors.newSingleThreadExecutor();
+
+    private final String id = "74dfebc1-9a57-464f-a27c-c66a04ec2c87";
+
+    private final EmployeeResponse employeeResponse = new EmployeeResponse(
+            new Employee(UUID.fromString(id), "John Doe", 50000, 30, "Developer", "johndoe@example.com"),
+            "Successfully processed request.");
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new CoalescingApiClient(delegate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsShareOneCall() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getEmployeeById(id)).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(1, TimeUnit.SECONDS);
+            return employeeResponse;
+        });
+
+        CompletableFuture<EmployeeResponse> leader =
+                CompletableFuture.supplyAsync(() -> apiClient.getEmployeeById(id), callers);
+        assertTrue(entered.await(1, TimeUnit.SECONDS));
+        AtomicReference<EmployeeResponse> followerResponse = new AtomicReference<>();
+        Thread follower = new Thread(() -> followerResponse.set(apiClient.getEmployeeById(id)));
+        follower.start();
+        awaitParked(follower);
+        release.countDown();
+        follower.join(1000);
+
+        assertSame(leader.get(1, TimeUnit.SECONDS), followerResponse.get());
+        verify(delegate, times(1)).getEmployeeById(id);
+    }
+
+    @Test
+    void testSequentialReadsAreNotMerged() {
+        when(delegate.getAllEmployees())
+                .thenReturn(new EmployeeDataResponse(List.of(), "Successfully processed request."));
+
+        apiClient.getAllEmployees();
+        apiClient.getAllEmployees();
+
+        verify(delegate, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testErrorIsPropagatedAndKeyReleased() {
+        when(delegate.getEmployeeById(id))
+                .thenThrow(new DownstreamException(429, "Too Many Requests"))
+                .thenReturn(employeeResponse);
+
+        assertThrows(DownstreamException.class, () -> apiClient.getEmployeeById(id));
+        assertSame(employeeResponse, apiClient.getEmployeeById(id));
+    }
+
+    @Test
+    void testErrorReleasesWaitersAndKey() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getEmployeeById(id))
+                .thenAnswer(invocation -> {
+                    entered.countDown();
+                    release.await(1, TimeUnit.SECONDS);
+                    throw new StackOverflowError();
+                })
+                .thenReturn(employeeResponse);
+
+        CompletableFuture<EmployeeResponse> leader =
+                CompletableFuture.supplyAsync(() -> apiClient.getEmployeeById(id), callers);
+        assertTrue(entered.await(1, TimeUnit.SECONDS));
+        AtomicReference<Throwable> followerError = new AtomicReference<>();
+        Thread follower = new Thread(() -> {
+            try {
+                apiClient.getEmployeeById(id);
+            } catch (Throwable e) {
+                followerError.set(e);
+            }
+        });
+        follower.start();
+        awaitParked(follower);
+        release.countDown();
+        follower.join(1000);
+
+        assertTrue(followerError.get() instanceof StackOverflowError);
+        assertThrows(ExecutionException.class, () -> leader.get(1, TimeUnit.SECONDS));
+        assertSame(employeeResponse, apiClient.getEmployeeById(id));
+    }
+
+    @Test
+    void testWritesAreNeverMerged() {
+        EmployeeInput input = new EmployeeInput("Jane Doe", 60000, 25, "Analyst");
+
+        apiClient.createEmployee(input);
+        apiClient.createEmployee(input);
+
+        verify(delegate, times(2)).createEmployee(input);
+    }
+
+    private static void awaitParked(Thread thread) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.*;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingReactiveApiClientTest {
+
+    @Mock
+    private ReactiveApiClient delegate;
+
+    private CoalescingReactiveApiClient apiClient;
+
+    private final String id = "74dfebc1-9a57-464f-a27c-c66a04ec2c87";
+
+    private final EmployeeResponse employeeResponse = new EmployeeResponse(
+            new Employee(UUID.fromString(id), "John Doe", 50000, 30, "Developer", "johndoe@example.com"),
+            "Successfully processed request.");
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new CoalescingReactiveApiClient(delegate);
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsShareOneExchange() {
+        Sinks.One<EmployeeResponse> response = Sinks.one();
+        when(delegate.getEmployeeById(id)).thenReturn(response.asMono());
+
+        CompletableFuture<EmployeeResponse> leader = apiClient.getEmployeeById(id).toFuture();
+        CompletableFuture<EmployeeResponse> follower = apiClient.getEmployeeById(id).toFuture();
+        response.tryEmitValue(employeeResponse);
+
+        assertSame(employeeResponse, leader.join());
+        assertSame(employeeResponse, follower.join());
+        verify(delegate, times(1)).getEmployeeById(id);
+    }
+
+    @Test
+    void testCancelledLeaderDoesNotCancelSharedExchange() {
+        Sinks.One<EmployeeResponse> response = Sinks.one();
+        when(delegate.getEmployeeById(id)).thenReturn(response.asMono());
+
+        apiClient.getEmployeeById(id).subscribe().dispose();
+        CompletableFuture<EmployeeResponse> follower = apiClient.getEmployeeById(id).toFuture();
+        response.tryEmitValue(employeeResponse);
+
+        assertSame(employeeResponse, follower.join());
+        verify(delegate, times(1)).getEmployeeById(id);
+    }
+
+    @Test
+    void testErrorIsPropagatedAndKeyReleased() {
+        when(delegate.getEmployeeById(id))
+                .thenReturn(Mono.error(new DownstreamException(429, "Too Many Requests")))
+                .thenReturn(Mono.just(employeeResponse));
+
+        assertThrows(DownstreamException.class, () -> apiClient.getEmployeeById(id).block());
+        assertSame(employeeResponse, apiClient.getEmployeeById(id).block());
+    }
+
+    @Test
+    void testWritesAreNeverMerged() {
+        EmployeeInput input = new EmployeeInput("Jane Doe", 60000, 25, "Analyst");
+        when(delegate.createEmployee(input)).thenReturn(Mono.empty());
+
+        apiClient.createEmployee(input).block();
+        apiClient.createEmployee(input).block();
+
+        verify(delegate, times(2)).createEmployee(input);
+    }
+}
@@ -0,0 +1,62 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedApiClientTest {
+
+    @Mock
+    private ApiClient delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InstrumentedApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new InstrumentedApiClient(delegate, meterRegistry);
+    }
+
+    @Test
+    void testTimesSuccessfulCalls() {
+        when(delegate.getAllEmployees()).thenReturn(new EmployeeDataResponse(List.of(), "success"));
+
+        apiClient.getAllEmployees();
+        apiClient.getAllEmployees();
+
+        assertEquals(
+                2,
+                meterRegistry
+                        .get(InstrumentedApiClient.TIMER)
+                        .tags("operation", "getAllEmployees", "outcome", "success", "exception", "none")
+                        .timer()
+                        .count());
+    }
+
+    @Test
+    void testTagsFailedCallsWithException() {
+        when(delegate.getEmployeeById("1")).thenThrow(new DownstreamException(503, "Service Unavailable"));
+
+        assertThrows(DownstreamException.class, () -> apiClient.getEmployeeById("1"));
+
+        assertEquals(
+                1,
+                meterRegistry
+                        .get(InstrumentedApiClient.TIMER)
+                        .tags("operation", "getEmployeeById", "outcome", "error", "exception", "DownstreamException")
+                        .timer()
+                        .count());
+    }
+}
@@ -0,0 +1,83 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class InstrumentedReactiveApiClientTest {
+
+    @Mock
+    private ReactiveApiClient delegate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InstrumentedReactiveApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new InstrumentedReactiveApiClient(delegate, meterRegistry);
+    }
+
+    @Test
+    void testTimesCallsOnlyOnceSubscribed() {
+        when(delegate.getAllEmployees()).thenReturn(Mono.just(new EmployeeDataResponse(List.of(), "success")));
+
+        Mono<EmployeeDataResponse> call = apiClient.getAllEmployees();
+        assertEquals(0, meterRegistry.find(InstrumentedApiClient.TIMER).timers().size());
+        call.block();
+        call.block();
+
+        assertEquals(2, count("getAllEmployees", "success", "none"));
+    }
+
+    @Test
+    void testTagsFailedCallsWithException() {
+        when(delegate.getEmployeeById("1"))
+                .thenReturn(Mono.error(new DownstreamException(503, "Service Unavailable")));
+
+        assertThrows(DownstreamException.class, () -> apiClient.getEmployeeById("1").block());
+
+        assertEquals(1, count("getEmployeeById", "error", "DownstreamException"));
+    }
+
+    @Test
+    void testTimesStreamUntilComplete() {
+        Employee employee = new Employee(UUID.randomUUID(), "Jane Doe", 60000, 25, "Analyst", "jane@company.com");
+        when(delegate.streamAllEmployees()).thenReturn(Flux.just(employee, employee));
+
+        assertEquals(2L, apiClient.streamAllEmployees().count().block());
+
+        assertEquals(1, count("streamAllEmployees", "success", "none"));
+    }
+
+    @Test
+    void testTagsCancelledCalls() {
+        when(delegate.getEmployeeById("1")).thenReturn(Mono.never());
+
+        apiClient.getEmployeeById("1").subscribe().dispose();
+
+        assertEquals(1, count("getEmployeeById", "cancelled", "none"));
+    }
+
+    private long count(String operation, String outcome, String exception) {
+        return meterRegistry
+                .get(InstrumentedApiClient.TIMER)
+                .tags("operation", operation, "outcome", outcome, "exception", exception)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.*;
+import com.reliaquest.api.resilience.Bulkhead;
+import com.reliaquest.api.resilience.CircuitBreaker;
+import com.reliaquest.api.resilience.CircuitOpenException;
+import com.reliaquest.api.resilience.RateLimitExceededException;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientApiClientTest {
+
+    @Mock
+    private ApiClient delegate;
+
+    private ResilientApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new ResilientApiClient(
+                delegate,
+                (operation, isFailure) ->
+                        new CircuitBreaker(operation, 0.5, 2, 2, Duration.ofMinutes(1), 1, isFailure),
+                operation -> new Bulkhead(operation, 4, Duration.ZERO));
+    }
+
+    @Test
+    void testOpenCircuitFailsFastWithoutCallingUpstream() {
+        when(delegate.getAllEmployees()).thenThrow(new DownstreamException(503, "Service Unavailable"));
+
+        assertThrows(DownstreamException.class, apiClient::getAllEmployees);
+        assertThrows(DownstreamException.class, apiClient::getAllEmployees);
+        assertThrows(CircuitOpenException.class, apiClient::getAllEmployees);
+
+        verify(delegate, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testCircuitsArePerOperation() {
+        EmployeeDataResponse response = new EmployeeDataResponse(List.of(), "success");
+        when(delegate.getEmployeeById("1")).thenThrow(new DownstreamException(503, "Service Unavailable"));
+        when(delegate.getAllEmployees()).thenReturn(response);
+
+        assertThrows(DownstreamException.class, () -> apiClient.getEmployeeById("1"));
+        assertThrows(DownstreamException.class, () -> apiClient.getEmployeeById("1"));
+
+        assertThrows(CircuitOpenException.class, () -> apiClient.getEmployeeById("1"));
+        assertSame(response, apiClient.getAllEmployees());
+    }
+
+    @Test
+    void testClassifiesFailures() {
+        assertTrue(ResilientApiClient.isFailure(new DownstreamException(500, "Internal Server Error")));
+        assertTrue(ResilientApiClient.isFailure(new DownstreamException(429, "Too Many Requests")));
+        assertTrue(ResilientApiClient.isFailure(mock(WebClientRequestException.class)));
+        assertFalse(ResilientApiClient.isFailure(new DownstreamException(404, "Not Found")));
+        assertFalse(ResilientApiClient.isFailure(new RateLimitExceededException(Duration.ofSeconds(1))));
+    }
+}
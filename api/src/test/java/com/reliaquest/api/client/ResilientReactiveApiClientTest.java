@@ -0,0 +1,83 @@
+package com.reliaquest.api.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.*;
+import com.reliaquest.api.resilience.Bulkhead;
+import com.reliaquest.api.resilience.BulkheadFullException;
+import com.reliaquest.api.resilience.CircuitBreaker;
+import com.reliaquest.api.resilience.CircuitOpenException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientReactiveApiClientTest {
+
+    @Mock
+    private ReactiveApiClient delegate;
+
+    private ResilientReactiveApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        apiClient = new ResilientReactiveApiClient(
+                delegate,
+                (operation, isFailure) ->
+                        new CircuitBreaker(operation, 0.5, 2, 2, Duration.ofMinutes(1), 1, isFailure),
+                operation -> new Bulkhead(operation, 1, Duration.ZERO));
+    }
+
+    @Test
+    void testOpenCircuitFailsFastWithoutSubscribingUpstream() {
+        AtomicInteger exchanges = new AtomicInteger();
+        when(delegate.getAllEmployees())
+                .thenReturn(Mono.<EmployeeDataResponse>error(new DownstreamException(503, "Service Unavailable"))
+                        .doOnSubscribe(subscription -> exchanges.incrementAndGet()));
+
+        assertThrows(DownstreamException.class, () -> apiClient.getAllEmployees().block());
+        assertThrows(DownstreamException.class, () -> apiClient.getAllEmployees().block());
+        assertThrows(CircuitOpenException.class, () -> apiClient.getAllEmployees().block());
+
+        assertEquals(2, exchanges.get());
+        verify(delegate, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testBulkheadRejectsWhileSlotIsHeld() {
+        Employee employee = new Employee(UUID.randomUUID(), "Jane Doe", 60000, 25, "Analyst", "jane@company.com");
+        EmployeeInput input = new EmployeeInput("Jane Doe", 60000, 25, "Analyst");
+        EmployeeResponse response = new EmployeeResponse(employee, "Successfully processed request.");
+        when(delegate.createEmployee(input)).thenReturn(Mono.never(), Mono.just(response));
+
+        Disposable inFlight = apiClient.createEmployee(input).subscribe();
+
+        assertThrows(BulkheadFullException.class, () -> apiClient.createEmployee(input).block());
+        inFlight.dispose();
+        assertSame(response, apiClient.createEmployee(input).block());
+    }
+
+    @Test
+    void testBulkheadsArePerOperation() {
+        EmployeeDataResponse response = new EmployeeDataResponse(List.of(), "success");
+        when(delegate.getEmployeeById("1")).thenReturn(Mono.never());
+        when(delegate.getAllEmployees()).thenReturn(Mono.just(response));
+
+        Disposable inFlight = apiClient.getEmployeeById("1").subscribe();
+
+        assertSame(response, apiClient.getAllEmployees().block());
+        inFlight.dispose();
+    }
+}
@@ -0,0 +1,133 @@
+package com.reliaquest.api.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.reliaquest.api.config.ClientConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Compares request throughput of the blocking {@link ApiClient}, built by {@link ClientConfig} with its connection
+ * pool, filters, rate limiter, circuit breakers and bulkheads, when callers run on a fixed pool of platform
+ * threads (sized like Tomcat's default of 200 workers) and when every caller gets its own virtual thread, against an
+ * upstream that holds each request for a fixed latency. A call queued behind the client-side rate limiter waits the
+ * same way, parked in {@code block()}, so the slow upstream stands in for both cases.
+ * <p>
+ * Not part of the regular test run; use {@code ./gradlew :api:benchmark}.
+ */
+@Tag("benchmark")
+class VirtualThreadBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+    private static final int PORT = 8089;
+    private static final int REQUESTS = 2_000;
+    private static final int PLATFORM_THREADS = 200;
+
+    private static WireMockServer wireMockServer;
+    private static AnnotationConfigApplicationContext context;
+    private static ApiClient apiClient;
+
+    @BeforeAll
+    static void setup() {
+        wireMockServer = new WireMockServer(WireMockConfiguration.options()
+                .port(PORT)
+                .containerThreads(64)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(16));
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlPathMatching("/api/v1/employee/.*"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"data\":null,\"status\":\"Successfully processed request.\"}")));
+
+        context = new AnnotationConfigApplicationContext();
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        // the pool and the bulkheads must not be the bottleneck, so allow one slot per outstanding request
+        TestPropertyValues.of(
+                        "app.server.url=http://localhost:" + PORT + "/api/v1/employee",
+                        "app.client.pool.max-connections=" + REQUESTS,
+                        "app.client.pool.pending-acquire-max-count=-1",
+                        "app.client.bulkhead.max-concurrent=" + REQUESTS)
+                .applyTo(context);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(ClientConfig.class);
+        context.refresh();
+        apiClient = context.getBean(ApiClient.class);
+    }
+
+    @AfterAll
+    static void teardown() {
+        context.close();
+        wireMockServer.stop();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {50, 250})
+    void compareThroughput(int latencyMillis) throws Exception {
+        wireMockServer.setGlobalFixedDelay(latencyMillis);
+        run(Executors.newFixedThreadPool(PLATFORM_THREADS)); // warm up connections and JIT
+
+        Result platform = run(Executors.newFixedThreadPool(PLATFORM_THREADS));
+        Result virtual = run(Executors.newVirtualThreadPerTaskExecutor());
+
+        log.info(
+                "upstream latency {} ms, {} requests: platform threads ({}) {} req/s, peak platform threads {};"
+                        + " virtual threads {} req/s, peak platform threads {}",
+                latencyMillis,
+                REQUESTS,
+                PLATFORM_THREADS,
+                Math.round(platform.throughput()),
+                platform.peakThreads(),
+                Math.round(virtual.throughput()),
+                virtual.peakThreads());
+        assertTrue(
+                virtual.peakThreads() < platform.peakThreads(),
+                "virtual threads should not need a platform thread per waiting call");
+    }
+
+    private static Result run(ExecutorService executor) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        long start = System.nanoTime();
+        try (executor) {
+            List<Future<?>> calls = new ArrayList<>(REQUESTS);
+            for (int i = 0; i < REQUESTS; i++) {
+                calls.add(executor.submit(() -> apiClient.getEmployeeById(UUID.randomUUID().toString())));
+            }
+            int completed = 0;
+            for (Future<?> call : calls) {
+                call.get();
+                completed++;
+            }
+            assertEquals(REQUESTS, completed);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new Result(REQUESTS * 1000.0 / elapsed.toMillis(), threads.getPeakThreadCount());
+    }
+
+    private record Result(double throughput, int peakThreads) {}
+}
@@ -0,0 +1,82 @@
+package com.reliaquest.api.config;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+        classes = ClientConfig.class,
+        properties = {
+            "app.server.url=http://localhost:" + ClientConfigTest.PORT + "/api/v1/employee",
+            "app.client.pool.warmup-connections=" + ClientConfigTest.WARMUP_CONNECTIONS
+        })
+class ClientConfigTest {
+
+    static final int PORT = 8091;
+    static final int WARMUP_CONNECTIONS = 3;
+
+    private static final String POOL_METRICS = "reactor.netty.connection.provider.";
+
+    private static WireMockServer wireMockServer;
+
+    // the pool publishes to the global registry, which only keeps values through a registry added to it
+    private static final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeAll
+    static void setup() {
+        Metrics.addRegistry(meterRegistry);
+        wireMockServer = new WireMockServer(WireMockConfiguration.options().port(PORT));
+        wireMockServer.start();
+        wireMockServer.stubFor(options(urlEqualTo("/api/v1/employee")).willReturn(aResponse().withStatus(200)));
+    }
+
+    @AfterAll
+    static void teardown() {
+        wireMockServer.stop();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    void testWarmupOpensPooledConnections() {
+        wireMockServer.verify(WARMUP_CONNECTIONS, optionsRequestedFor(urlEqualTo("/api/v1/employee")));
+
+        assertEquals(WARMUP_CONNECTIONS, sum("total.connections"));
+        assertEquals(WARMUP_CONNECTIONS, sum("idle.connections"));
+        assertEquals(0, sum("active.connections"));
+    }
+
+    @Test
+    void testPoolMetricsAreRegistered() {
+        List<String> gauges =
+                List.of("total.connections", "active.connections", "idle.connections", "pending.connections");
+        for (String gauge : gauges) {
+            assertFalse(gauges(gauge).isEmpty(), gauge);
+        }
+        assertFalse(gauges("max.connections").isEmpty());
+        assertTrue(gauges("max.connections").stream().allMatch(max -> max.value() == 50));
+    }
+
+    // only the pool's connections to this test's upstream, other tests' contexts may have pools of the same name
+    private static Collection<Gauge> gauges(String name) {
+        return meterRegistry.find(POOL_METRICS + name).tag("name", "employee-api").gauges().stream()
+                .filter(gauge -> gauge.getId().getTag("remote.address").endsWith(":" + PORT))
+                .toList();
+    }
+
+    private static double sum(String name) {
+        return gauges(name).stream().mapToDouble(Gauge::value).sum();
+    }
+}
@@ -0,0 +1,100 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ChunkedListTest {
+
+    @Test
+    void testOfKeepsOrder() {
+        List<Integer> values = IntStream.range(0, 1000).boxed().toList();
+
+        ChunkedList<Integer> list = ChunkedList.of(values);
+
+        assertEquals(values, list);
+        assertEquals(values.hashCode(), list.hashCode());
+        assertEquals(999, list.get(999));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1000));
+    }
+
+    @Test
+    void testInsertAndDeleteLeaveOriginalUnchanged() {
+        ChunkedList<Integer> list = ChunkedList.of(List.of(1, 2, 3));
+
+        ChunkedList<Integer> inserted = list.insert(1, 9);
+        ChunkedList<Integer> removed = list.delete(0);
+
+        assertEquals(List.of(1, 2, 3), list);
+        assertEquals(List.of(1, 9, 2, 3), inserted);
+        assertEquals(List.of(2, 3), removed);
+        assertTrue(list.delete(0).delete(0).delete(0).isEmpty());
+    }
+
+    @Test
+    void testRandomUpdatesMatchArrayList() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        ChunkedList<Integer> list = ChunkedList.empty();
+        for (int i = 0; i < 20_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                int at = random.nextInt(expected.size() + 1);
+                expected.add(at, i);
+                list = list.insert(at, i);
+            } else {
+                int at = random.nextInt(expected.size());
+                expected.remove(at);
+                list = list.delete(at);
+            }
+        }
+
+        assertEquals(expected, list);
+        for (int i = 0; i < expected.size(); i += 97) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+    }
+
+    @Test
+    void testChunksSplitAndMergeToAboutSquareRoot() {
+        ChunkedList<Integer> list = ChunkedList.empty();
+        for (int i = 0; i < 10_000; i++) {
+            list = list.insert(i / 2, i);
+        }
+        assertTrue(list.chunkCount() <= 2 * 10_000 / 64, "chunks after inserts: " + list.chunkCount());
+
+        while (list.size() > 100) {
+            list = list.delete(list.size() / 3);
+        }
+        assertTrue(list.chunkCount() <= 4, "chunks after deletes: " + list.chunkCount());
+    }
+
+    @Test
+    void testAppendToFullLastChunkStartsNewChunk() {
+        ChunkedList<Integer> list = ChunkedList.empty();
+        for (int i = 0; i < 64 * 4; i++) {
+            list = list.append(i);
+        }
+
+        assertEquals(4, list.chunkCount());
+        assertEquals(IntStream.range(0, 64 * 4).boxed().toList(), list);
+    }
+
+    @Test
+    void testIndexOfKey() {
+        ChunkedList<Long> list = ChunkedList.of(
+                IntStream.range(0, 5000).mapToObj(i -> i * 2L).toList());
+
+        assertEquals(0, list.indexOfKey(Long::longValue, 0));
+        assertEquals(2500, list.indexOfKey(Long::longValue, 5000));
+        assertEquals(4999, list.indexOfKey(Long::longValue, 9998));
+        assertEquals(-1, list.indexOfKey(Long::longValue, 5001));
+        assertEquals(-1, list.indexOfKey(Long::longValue, 10_000));
+        assertEquals(-1, ChunkedList.<Long>empty().indexOfKey(Long::longValue, 0));
+    }
+}
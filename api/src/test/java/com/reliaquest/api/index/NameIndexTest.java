@@ -0,0 +1,81 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    private final Employee john = employee("John Smith");
+    private final Employee johanna = employee("Johanna Doe");
+    private final Employee dan = employee("Dan Johnson");
+
+    private final NameIndex index = NameIndex.of(List.of(john, johanna, dan));
+
+    @Test
+    void testSearchIgnoresCase() {
+        assertEquals(List.of(john, dan), index.search("JOHN"));
+    }
+
+    @Test
+    void testSearchShortStringScansAllNames() {
+        assertEquals(List.of(john, johanna, dan), index.search("Jo"));
+        assertEquals(List.of(johanna), index.search("a D"));
+    }
+
+    @Test
+    void testSearchEmptyStringMatchesEveryone() {
+        assertEquals(List.of(john, johanna, dan), index.search(""));
+    }
+
+    @Test
+    void testSearchVerifiesCandidates() {
+        assertEquals(List.of(), index.search("johnsmithson"));
+        assertEquals(List.of(), index.search("xyz"));
+    }
+
+    @Test
+    void testSearchWithOffsetAndLimit() {
+        assertEquals(List.of(johanna), index.search("jo", 1, 1));
+        assertEquals(List.of(dan), index.search("jo", 2, 10));
+        assertEquals(List.of(), index.search("jo", 3, 10));
+    }
+
+    @Test
+    void testSearchRejectsNegativePaging() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("jo", -1, 10));
+    }
+
+    @Test
+    void testWithAppendsInRosterOrder() {
+        Employee joe = employee("Joe Johnston");
+
+        NameIndex updated = index.with(joe);
+
+        assertEquals(List.of(john, dan, joe), updated.search("john"));
+        assertEquals(List.of(john, dan), index.search("john"));
+    }
+
+    @Test
+    void testWithoutRemovesEmployee() {
+        NameIndex updated = index.without(john);
+
+        assertEquals(List.of(dan), updated.search("john"));
+        assertEquals(List.of(johanna, dan), updated.search("jo"));
+        assertEquals(2, updated.size());
+    }
+
+    @Test
+    void testWithoutUnknownEmployeeReturnsSameIndex() {
+        assertSame(index, index.without(employee("John Smith")));
+    }
+
+    private static Employee employee(String name) {
+        return new Employee(UUID.randomUUID(), name, 50000, 30, "Developer", "employee@company.com");
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SalaryIndexTest {
+
+    @Test
+    void testEmptyIndex() {
+        SalaryIndex index = SalaryIndex.of(List.of());
+
+        assertEquals(0, index.highestSalary());
+        assertEquals(List.of(), index.topNames());
+    }
+
+    @Test
+    void testHighestSalaryAndTopNames() {
+        List<Employee> employees = IntStream.rangeClosed(1, 15)
+                .mapToObj(i -> employee("Employee " + i, i * 1000))
+                .toList();
+
+        SalaryIndex index = SalaryIndex.of(employees);
+
+        assertEquals(15000, index.highestSalary());
+        assertEquals(10, index.topNames().size());
+        assertEquals("Employee 15", index.topNames().get(0));
+        assertEquals("Employee 6", index.topNames().get(9));
+    }
+
+    @Test
+    void testEqualSalariesKeepInsertionOrder() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("First", 5000), employee("Second", 5000)))
+                .with(employee("Third", 5000));
+
+        assertEquals(List.of("First", "Second", "Third"), index.topNames());
+    }
+
+    @Test
+    void testWithAddsEmployeeInSalaryOrder() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("Low", 1000), employee("High", 9000)));
+
+        SalaryIndex updated = index.with(employee("Middle", 5000));
+
+        assertEquals(List.of("High", "Middle", "Low"), updated.topNames());
+        assertEquals(List.of("High", "Low"), index.topNames());
+    }
+
+    @Test
+    void testWithoutRemovesOnlyMatchingEmployee() {
+        Employee first = employee("First", 9000);
+        Employee second = employee("Second", 9000);
+        SalaryIndex index = SalaryIndex.of(List.of(first, second, employee("Low", 1000)));
+
+        SalaryIndex updated = index.without(first);
+
+        assertEquals(List.of("Second", "Low"), updated.topNames());
+        assertEquals(9000, updated.highestSalary());
+    }
+
+    @Test
+    void testWithoutUnknownEmployeeReturnsSameIndex() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("Known", 1000)));
+
+        assertSame(index, index.without(employee("Unknown", 1000)));
+    }
+
+    @Test
+    void testEmployeesWithoutSalaryAreIgnored() {
+        SalaryIndex index = SalaryIndex.of(List.of(employee("Unpaid", null), employee("Paid", 1000)));
+
+        assertEquals(List.of("Paid"), index.topNames());
+        assertEquals(1, index.size());
+    }
+
+    private static Employee employee(String name, Integer salary) {
+        return new Employee(UUID.randomUUID(), name, salary, 30, "Developer", "employee@company.com");
+    }
+}
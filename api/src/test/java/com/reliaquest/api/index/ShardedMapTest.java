@@ -0,0 +1,58 @@
+package com.reliaquest.api.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ShardedMapTest {
+
+    private final ShardedMap<String, Integer> map = ShardedMap.of(Map.of("one", 1, "two", 2));
+
+    @Test
+    void testGet() {
+        assertEquals(1, map.get("one"));
+        assertNull(map.get("three"));
+        assertTrue(map.containsKey("two"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void testWithAndWithoutLeaveOriginalUnchanged() {
+        ShardedMap<String, Integer> added = map.with("three", 3);
+        ShardedMap<String, Integer> replaced = map.with("one", 11);
+        ShardedMap<String, Integer> removed = map.without("one");
+
+        assertEquals(3, added.size());
+        assertEquals(3, added.get("three"));
+        assertEquals(2, replaced.size());
+        assertEquals(11, replaced.get("one"));
+        assertEquals(1, removed.size());
+        assertFalse(removed.containsKey("one"));
+        assertEquals(1, map.get("one"));
+        assertFalse(map.containsKey("three"));
+    }
+
+    @Test
+    void testWithoutUnknownKeyReturnsSameMap() {
+        assertSame(map, map.without("three"));
+    }
+
+    @Test
+    void testGrowingMapIsResharded() {
+        ShardedMap<Integer, Integer> grown = ShardedMap.of(Map.of());
+        for (int i = 0; i < 10_000; i++) {
+            grown = grown.with(i, i);
+        }
+
+        assertEquals(10_000, grown.size());
+        assertTrue(grown.shardCount() >= 50, "shards: " + grown.shardCount());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, grown.get(i));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.resilience.AdaptiveRateLimiter.Permit;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(
+            Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMinutes(2), now::get);
+
+    @Test
+    void testAdmitsEverythingUntilThrottled() {
+        for (int i = 0; i < 100; i++) {
+            assertEquals(Duration.ZERO, limiter.reserve().delay());
+        }
+    }
+
+    @Test
+    void testLearnsBudgetFromFirstThrottle() {
+        succeed(5);
+        advance(Duration.ofSeconds(1));
+        limiter.onThrottled(limiter.reserve());
+
+        assertEquals(5, limiter.budget());
+        assertEquals(Duration.ofSeconds(29), limiter.reserve().delay());
+    }
+
+    @Test
+    void testLearnsBackoffWindowAndQueuesBeyondBudget() {
+        succeed(5);
+        limiter.onThrottled(limiter.reserve());
+        advance(Duration.ofSeconds(40));
+        limiter.onThrottled(limiter.reserve());
+        advance(Duration.ofSeconds(25));
+        succeed(1);
+
+        assertEquals(Duration.ofSeconds(65), limiter.backoff());
+
+        for (int i = 1; i < 5; i++) {
+            assertEquals(Duration.ZERO, limiter.reserve().delay());
+        }
+        assertEquals(Duration.ofSeconds(65), limiter.reserve().delay());
+        assertEquals(Duration.ofSeconds(65), limiter.reserve().delay());
+    }
+
+    @Test
+    void testDoublesBackoffWhenProbeIsStillThrottled() {
+        succeed(5);
+        limiter.onThrottled(limiter.reserve());
+        advance(Duration.ofSeconds(30));
+        limiter.onThrottled(limiter.reserve());
+
+        assertEquals(Duration.ofSeconds(60), limiter.backoff());
+    }
+
+    @Test
+    void testHonorsLongerRetryAfterHint() {
+        succeed(5);
+        limiter.onThrottled(limiter.reserve(), Duration.ofSeconds(60));
+
+        assertEquals(Duration.ofSeconds(30), limiter.backoff());
+        assertEquals(Duration.ofSeconds(60), limiter.reserve().delay());
+    }
+
+    @Test
+    void testSuccessSentBeforeThrottleDoesNotLiftLimit() {
+        succeed(4);
+        Permit straggler = limiter.reserve();
+        advance(Duration.ofSeconds(1));
+        limiter.onThrottled(limiter.reserve());
+        limiter.onSuccess(straggler);
+
+        assertEquals(5, limiter.budget());
+        assertEquals(Duration.ofSeconds(30), limiter.backoff());
+    }
+
+    @Test
+    void testRejectsReservationsBeyondMaxWait() {
+        AdaptiveRateLimiter impatient = new AdaptiveRateLimiter(
+                Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofSeconds(10), now::get);
+        impatient.onSuccess(impatient.reserve());
+        impatient.onThrottled(impatient.reserve());
+
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class, impatient::reserve);
+
+        assertEquals(429, exception.getStatusCodeValue());
+        assertEquals(Duration.ofSeconds(30), exception.getRetryAfter());
+    }
+
+    private void succeed(int requests) {
+        for (int i = 0; i < requests; i++) {
+            limiter.onSuccess(limiter.reserve());
+        }
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
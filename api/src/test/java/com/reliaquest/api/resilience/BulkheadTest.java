@@ -0,0 +1,82 @@
+package com.reliaquest.api.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class BulkheadTest {
+
+    private final ExecutorService callers = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void testRejectsCallsBeyondMaxConcurrent() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("getEmployeeById", 1, Duration.ofMillis(50));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> inFlight = CompletableFuture.supplyAsync(
+                () -> bulkhead.call(() -> {
+                    entered.countDown();
+                    await(release);
+                    return "first";
+                }),
+                callers);
+        entered.await(1, TimeUnit.SECONDS);
+
+        BulkheadFullException exception =
+                assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "second"));
+
+        assertEquals(503, exception.getStatusCodeValue());
+        release.countDown();
+        assertEquals("first", inFlight.get(1, TimeUnit.SECONDS));
+        assertEquals("third", bulkhead.call(() -> "third"));
+    }
+
+    @Test
+    void testReleasesSlotWhenCallFails() {
+        Bulkhead bulkhead = new Bulkhead("createEmployee", 1, Duration.ZERO);
+
+        assertThrows(IllegalStateException.class, () -> bulkhead.call(() -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, bulkhead.available());
+    }
+
+    @Test
+    void testReactiveCallHoldsSlotUntilItTerminates() {
+        Bulkhead bulkhead = new Bulkhead("getEmployeeById", 1, Duration.ofSeconds(1));
+        Sinks.One<String> response = Sinks.one();
+        CompletableFuture<String> inFlight = bulkhead.call(response.asMono()).toFuture();
+
+        assertEquals(0, bulkhead.available());
+        // rejected at once rather than after the maximum wait, which would block the subscribing thread
+        assertThrows(BulkheadFullException.class, () -> bulkhead.call(Mono.just("second")).block());
+
+        response.tryEmitValue("first");
+        assertEquals("first", inFlight.join());
+        assertEquals(1, bulkhead.available());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.reliaquest.api.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.resilience.CircuitBreaker.State;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(
+            "getAllEmployees",
+            0.5,
+            4,
+            4,
+            Duration.ofSeconds(30),
+            2,
+            failure -> failure instanceof DownstreamException downstream && downstream.getStatusCodeValue() >= 500,
+            now::get);
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        fail(3);
+
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void testOpensAtFailureRateAndFailsFast() {
+        succeed(2);
+        fail(2);
+
+        assertEquals(State.OPEN, circuitBreaker.state());
+        advance(Duration.ofSeconds(10));
+        CircuitOpenException exception =
+                assertThrows(CircuitOpenException.class, () -> circuitBreaker.call(() -> "unreachable"));
+        assertEquals(503, exception.getStatusCodeValue());
+        assertEquals(Duration.ofSeconds(20), exception.getRetryAfter());
+    }
+
+    @Test
+    void testOnlyCountsRecentCalls() {
+        fail(1);
+        succeed(4);
+        fail(1);
+
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void testIgnoredErrorsAreNotRecorded() {
+        for (int i = 0; i < 10; i++) {
+            assertThrows(DownstreamException.class, () -> circuitBreaker.call(() -> {
+                throw new DownstreamException(404, "Not Found");
+            }));
+        }
+
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void testClosesAfterSuccessfulProbes() {
+        fail(4);
+        advance(Duration.ofSeconds(30));
+
+        succeed(1);
+        assertEquals(State.HALF_OPEN, circuitBreaker.state());
+        succeed(1);
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void testReopensWhenProbeFails() {
+        fail(4);
+        advance(Duration.ofSeconds(30));
+
+        fail(1);
+
+        assertEquals(State.OPEN, circuitBreaker.state());
+        assertThrows(CircuitOpenException.class, () -> circuitBreaker.call(() -> "unreachable"));
+    }
+
+    @Test
+    void testLimitsConcurrentProbes() {
+        fail(4);
+        advance(Duration.ofSeconds(30));
+
+        circuitBreaker.call(() -> {
+            circuitBreaker.call(() -> "second probe");
+            assertThrows(CircuitOpenException.class, () -> circuitBreaker.call(() -> "third probe"));
+            return "first probe";
+        });
+    }
+
+    @Test
+    void testRecordsReactiveOutcomesWhenCallsTerminate() {
+        Mono<String> failing = circuitBreaker.call(Mono.error(new DownstreamException(503, "Service Unavailable")));
+        for (int i = 0; i < 4; i++) {
+            assertThrows(DownstreamException.class, failing::block);
+        }
+
+        assertEquals(State.OPEN, circuitBreaker.state());
+        AtomicBoolean subscribed = new AtomicBoolean();
+        assertThrows(
+                CircuitOpenException.class,
+                () -> circuitBreaker.call(Mono.just("unreachable").doOnSubscribe(s -> subscribed.set(true))).block());
+        assertFalse(subscribed.get());
+
+        advance(Duration.ofSeconds(30));
+        assertEquals(List.of("a", "b"), circuitBreaker.call(Flux.just("a", "b")).collectList().block());
+        assertEquals("ok", circuitBreaker.call(Mono.just("ok")).block());
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    @Test
+    void testCancelledReactiveProbeIsNotCounted() {
+        fail(4);
+        advance(Duration.ofSeconds(30));
+
+        Disposable first = circuitBreaker.call(Mono.never()).subscribe();
+        Disposable second = circuitBreaker.call(Mono.never()).subscribe();
+        assertThrows(CircuitOpenException.class, () -> circuitBreaker.call(Mono.just("third probe")).block());
+        first.dispose();
+        second.dispose();
+
+        succeed(2);
+        assertEquals(State.CLOSED, circuitBreaker.state());
+    }
+
+    private void succeed(int calls) {
+        for (int i = 0; i < calls; i++) {
+            circuitBreaker.call(() -> "ok");
+        }
+    }
+
+    private void fail(int calls) {
+        for (int i = 0; i < calls; i++) {
+            assertThrows(DownstreamException.class, () -> circuitBreaker.call(() -> {
+                throw new DownstreamException(503, "Service Unavailable");
+            }));
+        }
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
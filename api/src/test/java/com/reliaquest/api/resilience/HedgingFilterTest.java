@@ -0,0 +1,134 @@
+package com.reliaquest.api.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.DownstreamException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class HedgingFilterTest {
+
+    private final ClientResponse slow = ClientResponse.create(HttpStatus.OK).build();
+    private final ClientResponse fast = ClientResponse.create(HttpStatus.OK).build();
+
+    private RetryBudget retryBudget;
+    private HedgingFilter hedgingFilter;
+
+    @BeforeEach
+    void setUp() {
+        retryBudget = new RetryBudget(0, 5);
+        hedgingFilter = new HedgingFilter(0.95, retryBudget);
+        for (int i = 0; i < 20; i++) {
+            hedgingFilter.filter(request(HttpMethod.GET), request -> Mono.just(fast)).block();
+        }
+    }
+
+    @Test
+    void testHedgesSlowGet() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ClientResponse response = hedgingFilter
+                .filter(request(HttpMethod.GET), request -> calls.getAndIncrement() == 0
+                        ? Mono.delay(Duration.ofSeconds(5)).thenReturn(slow)
+                        : Mono.just(fast))
+                .block(Duration.ofSeconds(1));
+
+        assertSame(fast, response);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testReleasesLoserWhenBothExchangesComplete() {
+        AtomicBoolean slowReleased = new AtomicBoolean();
+        AtomicBoolean fastReleased = new AtomicBoolean();
+        ClientResponse slow = response(slowReleased);
+        ClientResponse fast = response(fastReleased);
+        Sinks.One<ClientResponse> hedged = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+
+        // the hedged exchange answers while the primary is producing its own response
+        ClientResponse response = hedgingFilter
+                .filter(request(HttpMethod.GET), request -> calls.getAndIncrement() == 0
+                        ? Mono.delay(Duration.ofMillis(200)).map(ignored -> {
+                            hedged.tryEmitValue(fast);
+                            return slow;
+                        })
+                        : hedged.asMono())
+                .block(Duration.ofSeconds(1));
+
+        assertSame(fast, response);
+        assertTrue(slowReleased.get());
+        assertFalse(fastReleased.get());
+    }
+
+    @Test
+    void testDoesNotHedgePost() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ClientResponse response = hedgingFilter
+                .filter(request(HttpMethod.POST), request -> {
+                    calls.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(100)).thenReturn(slow);
+                })
+                .block();
+
+        assertSame(slow, response);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testDoesNotHedgeWithoutBudget() {
+        while (retryBudget.tryWithdraw()) {
+            // drain
+        }
+        AtomicInteger calls = new AtomicInteger();
+
+        ClientResponse response = hedgingFilter
+                .filter(request(HttpMethod.GET), request -> {
+                    calls.incrementAndGet();
+                    return Mono.delay(Duration.ofMillis(100)).thenReturn(slow);
+                })
+                .block();
+
+        assertSame(slow, response);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testReportsPrimaryFailure() {
+        DownstreamException failure = new DownstreamException(404, "Not Found");
+
+        DownstreamException thrown = assertThrows(DownstreamException.class, () -> hedgingFilter
+                .filter(request(HttpMethod.GET), request -> Mono.error(failure))
+                .block(Duration.ofSeconds(1)));
+
+        assertSame(failure, thrown);
+    }
+
+    private static ClientResponse response(AtomicBoolean released) {
+        return ClientResponse.create(HttpStatus.OK)
+                .body(Flux.<DataBuffer>empty().doOnSubscribe(subscription -> released.set(true)))
+                .build();
+    }
+
+    private static ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, URI.create("http://localhost/api/v1/employee/1"))
+                .build();
+    }
+}
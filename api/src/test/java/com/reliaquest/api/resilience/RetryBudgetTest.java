@@ -0,0 +1,34 @@
+package com.reliaquest.api.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class RetryBudgetTest {
+
+    @Test
+    void testStartsFullAndRefillsPerRequest() {
+        RetryBudget retryBudget = new RetryBudget(0.5, 2);
+
+        assertTrue(retryBudget.tryWithdraw());
+        assertTrue(retryBudget.tryWithdraw());
+        assertFalse(retryBudget.tryWithdraw());
+
+        retryBudget.onRequest();
+        assertFalse(retryBudget.tryWithdraw());
+        retryBudget.onRequest();
+        assertTrue(retryBudget.tryWithdraw());
+    }
+
+    @Test
+    void testNeverExceedsCapacity() {
+        RetryBudget retryBudget = new RetryBudget(1, 1);
+        for (int i = 0; i < 10; i++) {
+            retryBudget.onRequest();
+        }
+
+        assertTrue(retryBudget.tryWithdraw());
+        assertFalse(retryBudget.tryWithdraw());
+    }
+}
@@ -0,0 +1,116 @@
+package com.reliaquest.api.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.exception.DownstreamException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+class RetryFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RetryFilter retryFilter = new RetryFilter(
+            3, Duration.ofMillis(10), Duration.ofSeconds(1), 0.2, new RetryBudget(0.2, 10), meterRegistry);
+
+    private final ClientResponse ok = ClientResponse.create(HttpStatus.OK).build();
+
+    @Test
+    void testRetriesRateLimitedPostAfterRetryAfter() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = respond(
+                calls, Mono.error(new UpstreamRateLimitedException("", Duration.ofMillis(200))), Mono.just(ok));
+
+        long started = System.nanoTime();
+        ClientResponse response = retryFilter.filter(request(HttpMethod.POST), next).block();
+
+        assertSame(ok, response);
+        assertEquals(2, calls.get());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofMillis(200)) >= 0);
+    }
+
+    @Test
+    void testDoesNotRetryPostAfterTimeout() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = respond(calls, Mono.error(ReadTimeoutException.INSTANCE), Mono.just(ok));
+
+        assertThrows(RuntimeException.class, () -> retryFilter
+                .filter(request(HttpMethod.POST), next)
+                .block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testRetriesGetOnServiceUnavailable() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = respond(
+                calls, Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()), Mono.just(ok));
+
+        assertSame(ok, retryFilter.filter(request(HttpMethod.GET), next).block());
+        assertEquals(2, calls.get());
+        assertEquals(
+                1,
+                meterRegistry
+                        .counter("employee.client.retries", "cause", "DownstreamException", "result", "retried")
+                        .count());
+    }
+
+    @Test
+    void testGivesUpWhenRetryAfterExceedsMaxDelay() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = respond(
+                calls, Mono.error(new UpstreamRateLimitedException("", Duration.ofMinutes(1))), Mono.just(ok));
+
+        DownstreamException exception = assertThrows(DownstreamException.class, () -> retryFilter
+                .filter(request(HttpMethod.GET), next)
+                .block());
+
+        assertEquals(429, exception.getStatusCodeValue());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testStopsWhenRetryBudgetIsExhausted() {
+        RetryFilter stingy = new RetryFilter(
+                3, Duration.ofMillis(10), Duration.ofSeconds(1), 0, new RetryBudget(0, 0), meterRegistry);
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = respond(
+                calls, Mono.error(new UpstreamRateLimitedException("", null)), Mono.just(ok));
+
+        assertThrows(UpstreamRateLimitedException.class, () -> stingy.filter(request(HttpMethod.GET), next)
+                .block());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testNeverRetriesClientSideRejection() {
+        assertFalse(RetryFilter.isRetryable(HttpMethod.GET, new RateLimitExceededException(Duration.ofSeconds(1))));
+    }
+
+    private static ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, URI.create("http://localhost/api/v1/employee"))
+                .build();
+    }
+
+    /** Answers the n-th call with the n-th response, repeating the last one. */
+    @SafeVarargs
+    private static ExchangeFunction respond(AtomicInteger calls, Mono<ClientResponse>... responses) {
+        List<Mono<ClientResponse>> answers = List.of(responses);
+        return request -> Mono.defer(() -> answers.get(Math.min(calls.getAndIncrement(), answers.size() - 1)));
+    }
+}
@@ -1,41 +1,75 @@
 package com.reliaquest.api.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.exception.DownstreamException;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeChange;
+import com.reliaquest.api.model.EmployeeChanges;
+import com.reliaquest.api.model.EmployeeChangesResponse;
 import com.reliaquest.api.model.EmployeeDataResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeCacheServiceTest {
 
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final Duration REFRESH_AHEAD = Duration.ofSeconds(15);
+
     @Mock
     private ApiClient apiClient;
 
-    @InjectMocks
     private EmployeeCacheService employeeCacheService;
 
     private EmployeeDataResponse employeeDataResponse;
 
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+
+    private final ExecutorService loader = Executors.newSingleThreadExecutor();
+
     private final UUID id = UUID.randomUUID();
 
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @BeforeEach
     void setUp() {
+        employeeCacheService = new EmployeeCacheService(apiClient, TTL, REFRESH_AHEAD, clock, loader, meterRegistry);
         employeeDataResponse = new EmployeeDataResponse(
                 List.of(new Employee(id, "John Doe", 50000, 30, "Developer", "john.doe@example.com")),
                 "Successfully processed request.");
     }
 
+    @AfterEach
+    void tearDown() {
+        loader.shutdownNow();
+    }
+
     @Test
     void testGetAllEmployeesSuccess() {
         when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
@@ -48,4 +82,351 @@ class EmployeeCacheServiceTest {
 
         verify(apiClient, times(1)).getAllEmployees();
     }
+
+    @Test
+    void testGetAllEmployeesServedFromCacheWithinTtl() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+
+        List<Employee> first = employeeCacheService.getAllEmployees();
+        clock.advance(Duration.ofSeconds(30));
+        List<Employee> second = employeeCacheService.getAllEmployees();
+
+        assertSame(first, second);
+        verify(apiClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void testRecordsCacheMetrics() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+
+        employeeCacheService.getAllEmployees();
+        employeeCacheService.getAllEmployees();
+        employeeCacheService.getAllEmployees();
+
+        assertEquals(2, meterRegistry.counter("employee.cache.requests", "result", "hit").count());
+        assertEquals(1, meterRegistry.counter("employee.cache.requests", "result", "miss").count());
+        assertEquals(1, meterRegistry.timer("employee.cache.loads", "outcome", "success").count());
+        assertEquals(1, meterRegistry.get("employee.cache.size").gauge().value());
+    }
+
+    @Test
+    void testGetAllEmployeesReloadsAfterTtl() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+
+        employeeCacheService.getAllEmployees();
+        clock.advance(TTL);
+        employeeCacheService.getAllEmployees();
+
+        verify(apiClient, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testGetAllEmployeesRefreshesAheadOfExpiry() throws Exception {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+
+        EmployeeSnapshot first = employeeCacheService.getSnapshot();
+        clock.advance(TTL.minus(REFRESH_AHEAD));
+        EmployeeSnapshot served = employeeCacheService.getSnapshot();
+
+        assertSame(first, served);
+        loader.submit(() -> {}).get(1, TimeUnit.SECONDS);
+        verify(apiClient, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testGetAllEmployeesServesStaleSnapshotWhenReloadFails() {
+        when(apiClient.getAllEmployees())
+                .thenReturn(employeeDataResponse)
+                .thenThrow(new DownstreamException(429, "Too Many Requests"));
+
+        List<Employee> first = employeeCacheService.getAllEmployees();
+        clock.advance(TTL.plusSeconds(1));
+        List<Employee> stale = employeeCacheService.getAllEmployees();
+
+        assertSame(first, stale);
+        verify(apiClient, times(2)).getAllEmployees();
+        assertEquals(1, meterRegistry.counter("employee.cache.stale").count());
+        assertEquals(1, meterRegistry.timer("employee.cache.loads", "outcome", "failure").count());
+    }
+
+    @Test
+    void testGetAllEmployeesPropagatesErrorWhenNothingCached() {
+        when(apiClient.getAllEmployees()).thenThrow(new DownstreamException(429, "Too Many Requests"));
+
+        DownstreamException exception =
+                assertThrows(DownstreamException.class, () -> employeeCacheService.getAllEmployees());
+
+        assertEquals(429, exception.getStatusCodeValue());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneUpstreamCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(apiClient.getAllEmployees()).thenAnswer(invocation -> {
+            release.await(1, TimeUnit.SECONDS);
+            return employeeDataResponse;
+        });
+
+        CompletableFuture<List<Employee>> first = CompletableFuture.supplyAsync(employeeCacheService::getAllEmployees);
+        CompletableFuture<List<Employee>> second = CompletableFuture.supplyAsync(employeeCacheService::getAllEmployees);
+        release.countDown();
+
+        assertSame(first.get(1, TimeUnit.SECONDS), second.get(1, TimeUnit.SECONDS));
+        verify(apiClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void testGetFreshSnapshotDoesNotLoad() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+
+        assertTrue(employeeCacheService.getFreshSnapshot().isEmpty());
+        EmployeeSnapshot loaded = employeeCacheService.getSnapshot();
+        assertSame(loaded, employeeCacheService.getFreshSnapshot().orElseThrow());
+        clock.advance(TTL);
+        assertTrue(employeeCacheService.getFreshSnapshot().isEmpty());
+
+        verify(apiClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+
+        employeeCacheService.getAllEmployees();
+        employeeCacheService.invalidate();
+        employeeCacheService.getAllEmployees();
+
+        verify(apiClient, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testIsColdOnlyUntilFirstLoad() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+
+        assertTrue(employeeCacheService.isCold());
+        employeeCacheService.getAllEmployees();
+        assertFalse(employeeCacheService.isCold());
+        employeeCacheService.invalidate();
+        assertFalse(employeeCacheService.isCold());
+    }
+
+    @Test
+    void testPushesDownOncePerShapeWhileFirstLoadIsInFlight() {
+        CountDownLatch release = new CountDownLatch(1);
+        when(apiClient.getAllEmployees())
+                .thenAnswer(invocation -> {
+                    release.await(1, TimeUnit.SECONDS);
+                    throw new DownstreamException(503, "Service Unavailable");
+                })
+                .thenReturn(employeeDataResponse);
+
+        assertTrue(employeeCacheService.tryPushDown("search"));
+        assertFalse(employeeCacheService.tryPushDown("search"));
+        assertTrue(employeeCacheService.tryPushDown("top earners"));
+        CompletableFuture<EmployeeSnapshot> failedLoad = employeeCacheService.refresh();
+        release.countDown();
+        assertThrows(ExecutionException.class, () -> failedLoad.get(1, TimeUnit.SECONDS));
+
+        // shapes pushed down during the failed load may be pushed down again while the next one is in flight
+        assertTrue(employeeCacheService.tryPushDown("search"));
+        employeeCacheService.getSnapshot();
+        assertFalse(employeeCacheService.tryPushDown("top earners"));
+        verify(apiClient, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testServesLastKnownSnapshotAfterInvalidateWhenReloadFails() {
+        when(apiClient.getAllEmployees())
+                .thenReturn(employeeDataResponse)
+                .thenThrow(new DownstreamException(503, "Service Unavailable"));
+
+        List<Employee> first = employeeCacheService.getAllEmployees();
+        employeeCacheService.invalidate();
+
+        assertSame(first, employeeCacheService.getAllEmployees());
+        verify(apiClient, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testApplyCreatedAddsEmployeeToSnapshot() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+        EmployeeSnapshot before = employeeCacheService.getSnapshot();
+        Employee created = new Employee(UUID.randomUUID(), "Jane Doe", 90000, 28, "Analyst", "jane.doe@example.com");
+
+        employeeCacheService.applyCreated(created);
+        EmployeeSnapshot after = employeeCacheService.getSnapshot();
+
+        assertEquals(1, before.size());
+        assertEquals(2, after.size());
+        assertTrue(after.version() > before.version());
+        assertEquals(created, after.findById(created.id()).orElseThrow());
+        assertEquals(90000, after.salaryIndex().highestSalary());
+        assertEquals(List.of(created), after.nameIndex().search("jane"));
+        verify(apiClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void testApplyDeletedRemovesOnlyThatEmployee() {
+        Employee other = new Employee(UUID.randomUUID(), "Jane Doe", 90000, 28, "Analyst", "jane.doe@example.com");
+        when(apiClient.getAllEmployees())
+                .thenReturn(new EmployeeDataResponse(
+                        List.of(employeeDataResponse.data().get(0), other), "Successfully processed request."));
+        employeeCacheService.getSnapshot();
+
+        employeeCacheService.applyDeleted(other.id());
+        EmployeeSnapshot after = employeeCacheService.getSnapshot();
+
+        assertEquals(1, after.size());
+        assertTrue(after.findById(other.id()).isEmpty());
+        assertEquals(50000, after.salaryIndex().highestSalary());
+        verify(apiClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void testApplyBatchesAsOneDelta() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+        Employee existing = employeeDataResponse.data().get(0);
+        EmployeeSnapshot before = employeeCacheService.getSnapshot();
+        Employee jane = new Employee(UUID.randomUUID(), "Jane Doe", 90000, 28, "Analyst", "jane.doe@example.com");
+        Employee jim = new Employee(UUID.randomUUID(), "Jim Doe", 70000, 41, "Manager", "jim.doe@example.com");
+
+        employeeCacheService.applyAllCreated(List.of(jane, jim, jane, existing));
+        EmployeeSnapshot created = employeeCacheService.getSnapshot();
+        employeeCacheService.applyAllDeleted(List.of(existing.id(), jane.id(), UUID.randomUUID()));
+        EmployeeSnapshot deleted = employeeCacheService.getSnapshot();
+
+        assertEquals(3, created.size());
+        assertEquals(before.version() + 1, created.version());
+        assertEquals(90000, created.salaryIndex().highestSalary());
+        assertEquals(List.of(jim), deleted.employees());
+        assertEquals(created.version() + 1, deleted.version());
+        assertEquals(List.of("Jim Doe"), deleted.salaryIndex().topNames());
+        verify(apiClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void testDeltaAppliedDuringReloadIsReplayed() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(1, TimeUnit.SECONDS);
+            return employeeDataResponse;
+        });
+        employeeCacheService.getSnapshot();
+        Employee created = new Employee(UUID.randomUUID(), "Jane Doe", 90000, 28, "Analyst", "jane.doe@example.com");
+
+        CompletableFuture<EmployeeSnapshot> reload = employeeCacheService.refresh();
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        employeeCacheService.applyCreated(created);
+        release.countDown();
+        EmployeeSnapshot reloaded = reload.get(1, TimeUnit.SECONDS);
+
+        assertEquals(2, reloaded.size());
+        assertTrue(reloaded.findById(created.id()).isPresent());
+        assertSame(reloaded, employeeCacheService.getSnapshot());
+    }
+
+    @Test
+    void testReloadAppliesOnlyChangesSinceLastLoad() {
+        Employee created = new Employee(UUID.randomUUID(), "Jane Doe", 60000, 25, "Analyst", "jane.doe@example.com");
+        when(apiClient.getAllEmployees()).thenReturn(withPosition(5));
+        when(apiClient.getChanges(5L, null))
+                .thenReturn(changes(
+                        7,
+                        new EmployeeChange(6, EmployeeChange.Type.CREATED, created.id(), created),
+                        new EmployeeChange(7, EmployeeChange.Type.DELETED, id, null)));
+
+        employeeCacheService.getSnapshot();
+        clock.advance(TTL);
+        EmployeeSnapshot reloaded = employeeCacheService.getSnapshot();
+
+        assertEquals(List.of(created), reloaded.employees());
+        assertTrue(employeeCacheService.getFreshSnapshot().isPresent());
+        assertEquals(2, meterRegistry.counter("employee.cache.changes").count());
+        verify(apiClient, times(1)).getAllEmployees();
+        verify(apiClient, never()).getChanges(null, null);
+    }
+
+    @Test
+    void testReloadLoadsAllEmployeesWhenChangesAreGone() {
+        when(apiClient.getAllEmployees()).thenReturn(withPosition(5));
+        when(apiClient.getChanges(5L, null)).thenThrow(new DownstreamException(410, "Gone"));
+
+        employeeCacheService.getSnapshot();
+        clock.advance(TTL);
+        employeeCacheService.getSnapshot();
+
+        verify(apiClient, times(2)).getAllEmployees();
+    }
+
+    @Test
+    void testAwaitChangesKeepsSnapshotFresh() {
+        Duration wait = Duration.ofSeconds(20);
+        when(apiClient.getAllEmployees()).thenReturn(withPosition(5));
+        when(apiClient.getChanges(5L, wait)).thenReturn(changes(5));
+
+        assertTrue(employeeCacheService.awaitChanges(wait));
+        clock.advance(TTL.minusSeconds(1));
+        assertTrue(employeeCacheService.awaitChanges(wait));
+        clock.advance(Duration.ofSeconds(1));
+
+        assertTrue(employeeCacheService.getFreshSnapshot().isPresent());
+        verify(apiClient, times(1)).getAllEmployees();
+    }
+
+    @Test
+    void testAwaitChangesWithoutChangeFeedUpstream() {
+        when(apiClient.getAllEmployees()).thenReturn(employeeDataResponse);
+
+        assertFalse(employeeCacheService.awaitChanges(Duration.ofSeconds(20)));
+        assertEquals(1, employeeCacheService.getSnapshot().size());
+        verify(apiClient, never()).getChanges(any(), any());
+    }
+
+    @Test
+    void testApplyWithoutSnapshotIsIgnored() {
+        employeeCacheService.applyDeleted(id);
+
+        verifyNoInteractions(apiClient);
+    }
+
+    private EmployeeDataResponse withPosition(long sequence) {
+        return new EmployeeDataResponse(
+                employeeDataResponse.data(),
+                employeeDataResponse.status(),
+                new EmployeeChanges("epoch", sequence, List.of()));
+    }
+
+    private static EmployeeChangesResponse changes(long sequence, EmployeeChange... changes) {
+        return new EmployeeChangesResponse(
+                new EmployeeChanges("epoch", sequence, List.of(changes)), "Successfully processed request.");
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
 }
@@ -0,0 +1,262 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.client.ReactiveApiClient;
+import com.reliaquest.api.exception.DownstreamException;
+import com.reliaquest.api.model.*;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceTest {
+
+    @Mock
+    private ApiClient apiClient;
+
+    @Mock
+    private ReactiveApiClient reactiveApiClient;
+
+    @Mock
+    private EmployeeCacheService employeeCacheService;
+
+    @InjectMocks
+    private EmployeeService employeeService;
+
+    private final Employee employee =
+            new Employee(UUID.randomUUID(), "John Doe", 50000, 30, "Developer", "john.doe@example.com");
+
+    @Test
+    void testStreamAllEmployeesFromFreshSnapshot() {
+        when(employeeCacheService.getFreshSnapshot())
+                .thenReturn(Optional.of(EmployeeSnapshot.of(List.of(employee), Instant.now(), 1)));
+
+        assertEquals(List.of(employee), employeeService.streamAllEmployees().collectList().block());
+        verifyNoInteractions(reactiveApiClient);
+    }
+
+    @Test
+    void testStreamAllEmployeesFromUpstreamWhenNotCached() {
+        when(employeeCacheService.getFreshSnapshot()).thenReturn(Optional.empty());
+        when(reactiveApiClient.streamAllEmployees()).thenReturn(Flux.just(employee));
+
+        assertEquals(List.of(employee), employeeService.streamAllEmployees().collectList().block());
+        verify(employeeCacheService, never()).getSnapshot();
+    }
+
+    @Test
+    void testGetEmployeeByIdServedFromCache() {
+        when(employeeCacheService.findById(employee.id())).thenReturn(Optional.of(employee));
+
+        Employee found = employeeService.getEmployeeById(employee.id().toString());
+
+        assertSame(employee, found);
+        verify(apiClient, never()).getEmployeeById(any());
+    }
+
+    @Test
+    void testGetEmployeeByIdFallsBackToUpstreamOnMiss() {
+        String id = employee.id().toString();
+        when(employeeCacheService.findById(employee.id())).thenReturn(Optional.empty());
+        when(apiClient.getEmployeeById(id)).thenReturn(new EmployeeResponse(employee, "success"));
+
+        Employee found = employeeService.getEmployeeById(id);
+
+        assertEquals(employee, found);
+        verify(apiClient, times(1)).getEmployeeById(id);
+    }
+
+    @Test
+    void testGetEmployeeByIdWithInvalidIdGoesUpstream() {
+        when(apiClient.getEmployeeById("1")).thenReturn(new EmployeeResponse(null, "success"));
+
+        assertNull(employeeService.getEmployeeById("1"));
+        verifyNoInteractions(employeeCacheService);
+    }
+
+    @Test
+    void testSearchIsPushedDownWhileCacheIsCold() {
+        when(employeeCacheService.tryPushDown(any())).thenReturn(true);
+        when(apiClient.findEmployees(Map.of("nameContains", "john", "offset", "0", "limit", "5")))
+                .thenReturn(new EmployeeDataResponse(List.of(employee), "success"));
+
+        assertEquals(List.of(employee), employeeService.getEmployeesByNameSearch("john", 0, 5));
+        verify(employeeCacheService).tryPushDown(Map.of("nameContains", "", "offset", "", "limit", ""));
+        verify(employeeCacheService, never()).getSnapshot();
+    }
+
+    @Test
+    void testSearchWaitsForLoadOnceItsShapeWasPushedDown() {
+        when(employeeCacheService.tryPushDown(any())).thenReturn(false);
+        when(employeeCacheService.getSnapshot()).thenReturn(EmployeeSnapshot.of(List.of(employee), Instant.now(), 1));
+
+        assertEquals(List.of(employee), employeeService.getEmployeesByNameSearch("john", 0, 5));
+        verify(apiClient, never()).findEmployees(any());
+    }
+
+    @Test
+    void testTopEarnersArePushedDownWhileCacheIsCold() {
+        when(employeeCacheService.tryPushDown(any())).thenReturn(true);
+        Map<String, String> query =
+                Map.of("minSalary", "0", "sort", "salary", "order", "desc", "limit", "10", "fields", "name");
+        when(apiClient.findEmployees(query))
+                .thenReturn(new EmployeeDataResponse(
+                        List.of(new Employee(null, "Jane Roe", null, null, null, null)), "success"));
+
+        assertEquals(List.of("Jane Roe"), employeeService.getTopTenHighestEarningEmployeeNames());
+        verify(employeeCacheService, never()).getSnapshot();
+    }
+
+    @Test
+    void testPushDownFallsBackToSnapshotWhenUpstreamCannotAnswer() {
+        when(employeeCacheService.tryPushDown(any())).thenReturn(true);
+        when(apiClient.findEmployees(any())).thenThrow(new DownstreamException(400, "Bad Request"));
+        when(employeeCacheService.getSnapshot()).thenReturn(EmployeeSnapshot.of(List.of(employee), Instant.now(), 1));
+
+        assertEquals(50000, employeeService.getHighestSalaryOfEmployees());
+    }
+
+    @Test
+    void testCreateEmployeeWritesThroughToCache() {
+        EmployeeInput input = new EmployeeInput("John Doe", 50000, 30, "Developer");
+        when(apiClient.createEmployee(input))
+                .thenReturn(new EmployeeResponse(employee, "Successfully processed request."));
+
+        Employee created = employeeService.createEmployee(input);
+
+        assertSame(employee, created);
+        verify(employeeCacheService).applyCreated(employee);
+        verify(employeeCacheService, never()).invalidate();
+    }
+
+    @Test
+    void testCreatedEmployeeWithoutIdIsAnError() {
+        EmployeeInput input = new EmployeeInput("John Doe", 50000, 30, "Developer");
+        Employee withoutId = new Employee(null, "John Doe", 50000, 30, "Developer", "john.doe@example.com");
+        when(apiClient.createEmployee(input))
+                .thenReturn(new EmployeeResponse(withoutId, "Successfully processed request."));
+
+        DownstreamException e =
+                assertThrows(DownstreamException.class, () -> employeeService.createEmployee(input));
+
+        assertEquals(502, e.getStatusCodeValue());
+        verify(employeeCacheService, never()).applyCreated(any());
+        verify(employeeCacheService, never()).invalidate();
+    }
+
+    @Test
+    void testDeleteEmployeeByIdIsOneUpstreamCall() {
+        String id = employee.id().toString();
+        DeleteEmployeeResponse deleted = new DeleteEmployeeResponse(true, "success", null);
+        when(apiClient.deleteEmployeeById(id, null)).thenReturn(deleted);
+
+        DeleteEmployeeResponse response = employeeService.deleteEmployeeById(id);
+
+        assertSame(deleted, response);
+        verify(apiClient, never()).getEmployeeById(any());
+        verify(apiClient, never()).deleteEmployeeByName(any());
+        verify(employeeCacheService, never()).findById(any());
+        verify(employeeCacheService).applyDeleted(employee.id());
+    }
+
+    @Test
+    void testDeleteEmployeeByIdPassesIfMatchUpstream() {
+        String id = employee.id().toString();
+        when(apiClient.deleteEmployeeById(id, "\"1a2b3c4d\""))
+                .thenThrow(new DownstreamException(412, "Precondition Failed"));
+
+        DownstreamException e = assertThrows(
+                DownstreamException.class, () -> employeeService.deleteEmployeeById(id, "\"1a2b3c4d\""));
+
+        assertEquals(412, e.getStatusCodeValue());
+        verify(employeeCacheService, never()).applyDeleted(any());
+    }
+
+    @Test
+    void testDeleteEmployeeByIdEvictsEmployeeMissingUpstream() {
+        String id = employee.id().toString();
+        when(apiClient.deleteEmployeeById(id, null)).thenThrow(new DownstreamException(404, "Not Found"));
+
+        assertThrows(DownstreamException.class, () -> employeeService.deleteEmployeeById(id));
+
+        verify(employeeCacheService).applyDeleted(employee.id());
+    }
+
+    @Test
+    void testDeleteEmployeeByInvalidIdSkipsUpstream() {
+        assertNull(employeeService.deleteEmployeeById("1"));
+
+        verifyNoInteractions(apiClient, employeeCacheService);
+    }
+
+    @Test
+    void testCreateEmployeesWritesCreatedThroughToCache() {
+        List<EmployeeInput> inputs =
+                List.of(new EmployeeInput("John Doe", 50000, 30, "Developer"), new EmployeeInput("x", 1, 20, "y"));
+        List<BatchItemResult<Employee>> results =
+                List.of(new BatchItemResult<>(0, employee, null), new BatchItemResult<>(1, null, "name too short"));
+        when(apiClient.createEmployees(inputs)).thenReturn(new BatchResponse<>(results, "success", null));
+
+        assertEquals(results, employeeService.createEmployees(inputs));
+        verify(employeeCacheService).applyAllCreated(List.of(employee));
+        verify(apiClient, never()).createEmployee(any());
+    }
+
+    @Test
+    void testCreateEmployeesSplitsIntoUpstreamBatches() {
+        List<EmployeeInput> inputs = new ArrayList<>();
+        for (int i = 0; i < EmployeeService.MAX_BATCH_SIZE + 1; i++) {
+            inputs.add(new EmployeeInput("Employee " + i, 50000, 30, "Developer"));
+        }
+        when(apiClient.createEmployees(any())).thenAnswer(invocation -> {
+            List<EmployeeInput> batch = invocation.getArgument(0);
+            List<BatchItemResult<Employee>> results = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(new BatchItemResult<>(i, null, "rejected"));
+            }
+            return new BatchResponse<>(results, "success", null);
+        });
+
+        List<BatchItemResult<Employee>> results = employeeService.createEmployees(inputs);
+
+        verify(apiClient, times(2)).createEmployees(any());
+        assertEquals(inputs.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).index());
+        }
+    }
+
+    @Test
+    void testDeleteEmployeesByIdSkipsLookupAndAppliesDeletes() {
+        UUID missing = UUID.randomUUID();
+        List<String> ids = List.of(employee.id().toString(), missing.toString());
+        when(apiClient.deleteEmployeesById(ids))
+                .thenReturn(new BatchResponse<>(
+                        List.of(new BatchItemResult<>(0, true, null), new BatchItemResult<>(1, false, null)),
+                        "success",
+                        null));
+
+        List<BatchItemResult<Boolean>> results = employeeService.deleteEmployeesById(ids);
+
+        assertEquals(2, results.size());
+        verify(apiClient, never()).getEmployeeById(any());
+        verify(employeeCacheService, never()).findById(any());
+        verify(employeeCacheService).applyAllDeleted(List.of(employee.id()));
+    }
+}
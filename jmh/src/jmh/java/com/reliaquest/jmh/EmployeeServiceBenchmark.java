@@ -0,0 +1,94 @@
+package com.reliaquest.jmh;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.client.ApiClient;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDataResponse;
+import com.reliaquest.api.service.EmployeeCacheService;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.EmployeeSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks the {@link EmployeeService} reads that are served from the cached roster, building the snapshot with
+ * its indexes when the roster is (re)loaded, and applying a single create and delete to it. The upstream is replaced
+ * by a mock client returning a synthetic roster. Rosters of 10M are left to {@code -ProsterSizes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int rosterSize;
+
+    private List<Employee> roster;
+    private EmployeeCacheService employeeCacheService;
+    private EmployeeService employeeService;
+    private EmployeeSnapshot snapshot;
+    private Employee hire;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        roster = Rosters.employees(rosterSize, Rosters.SEED);
+        ApiClient apiClient = mock(ApiClient.class);
+        when(apiClient.getAllEmployees())
+                .thenReturn(new EmployeeDataResponse(roster, "Successfully processed request."));
+        employeeCacheService = new EmployeeCacheService(
+                apiClient,
+                Duration.ofDays(365),
+                Duration.ZERO,
+                false,
+                new SimpleMeterRegistry());
+        employeeService = new EmployeeService(null, null, employeeCacheService);
+        snapshot = employeeCacheService.getSnapshot();
+        hire = Rosters.employees(1, Rosters.SEED + 1).get(0);
+    }
+
+    @Benchmark
+    public List<Employee> searchByName(Search search) {
+        return employeeService.getEmployeesByNameSearch(search.searchString);
+    }
+
+    @Benchmark
+    public List<Employee> searchByNameFirstPage(Search search) {
+        return employeeService.getEmployeesByNameSearch(search.searchString, 0, 20);
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    @Benchmark
+    public List<String> topTenHighestEarningNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public EmployeeSnapshot buildSnapshot() {
+        return EmployeeSnapshot.of(roster, Instant.EPOCH, 1);
+    }
+
+    @Benchmark
+    public EmployeeSnapshot createAndDeleteOne() {
+        return snapshot.withEmployee(hire, 2).withoutEmployee(hire.id(), 3);
+    }
+
+    /** Search strings: two name parts found in the roster, a single letter that falls back to a scan, and no match. */
+    @State(Scope.Benchmark)
+    public static class Search {
+
+        @Param({"ann", "son", "a", "zzz"})
+        String searchString;
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.jmh;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDataResponse;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks both ends of the wire format: the api deserializing {@link Employee} and {@link EmployeeDataResponse},
+ * and the server serializing {@link MockEmployee} with its prefixing naming strategy. The mapper is configured like
+ * Spring Boot's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+
+    @Param({"1000", "100000"})
+    int rosterSize;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private MockEmployee mockEmployee;
+    private Response<List<MockEmployee>> mockRoster;
+    private byte[] employeeJson;
+    private byte[] rosterJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<MockEmployee> mockEmployees = Rosters.mockEmployees(rosterSize, Rosters.SEED);
+        mockEmployee = mockEmployees.get(0);
+        mockRoster = Response.handledWith(mockEmployees);
+        employeeJson = objectMapper.writeValueAsBytes(mockEmployee);
+        rosterJson = objectMapper.writeValueAsBytes(mockRoster);
+    }
+
+    @Benchmark
+    public Employee deserializeEmployee() throws IOException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public EmployeeDataResponse deserializeRoster() throws IOException {
+        return objectMapper.readValue(rosterJson, EmployeeDataResponse.class);
+    }
+
+    @Benchmark
+    public byte[] serializeMockEmployee() throws IOException {
+        return objectMapper.writeValueAsBytes(mockEmployee);
+    }
+
+    @Benchmark
+    public byte[] serializeMockRoster() throws IOException {
+        return objectMapper.writeValueAsBytes(mockRoster);
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.jmh;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Synthetic employee rosters for the benchmarks. Names are built from a small set of first and last names so that
+ * name searches hit a realistic share of the roster, and everything is drawn from a {@link Random} with the given
+ * seed, so the same seed always produces the same roster.
+ */
+final class Rosters {
+    static final long SEED = 42;
+
+    private static final String[] FIRST_NAMES = {
+        "Anna", "Ben", "Carla", "David", "Elena", "Frank", "Grace", "Hugo", "Irene", "Jonas", "Karen", "Liam", "Maria",
+        "Noah", "Olivia", "Paul", "Quinn", "Rosa", "Sam", "Tara"
+    };
+    private static final String[] LAST_NAMES = {
+        "Anderson", "Brown", "Clarke", "Davies", "Evans", "Fischer", "Garcia", "Hughes", "Ivanova", "Johnson",
+        "Kowalski", "Lopez", "Martin", "Nguyen", "Okafor", "Petersen", "Quinlan", "Rossi", "Smith", "Thompson"
+    };
+    private static final String[] TITLES = {
+        "Engineer", "Senior Engineer", "Manager", "Director", "Analyst", "Designer", "Consultant", "Architect"
+    };
+
+    private Rosters() {}
+
+    static List<Employee> employees(int size, long seed) {
+        Random random = new Random(seed);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String name = name(random);
+            employees.add(new Employee(
+                    uuid(random),
+                    name,
+                    30_000 + random.nextInt(470_000),
+                    18 + random.nextInt(50),
+                    TITLES[random.nextInt(TITLES.length)],
+                    email(name, i)));
+        }
+        return employees;
+    }
+
+    static List<MockEmployee> mockEmployees(int size, long seed) {
+        return employees(size, seed).stream()
+                .map(employee -> new MockEmployee(
+                        employee.id(),
+                        employee.name(),
+                        employee.salary(),
+                        employee.age(),
+                        employee.title(),
+                        employee.email()))
+                .toList();
+    }
+
+    private static String name(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+
+    private static String email(String name, int index) {
+        return name.toLowerCase().replace(' ', '.') + index + "@company.com";
+    }
+
+    private static UUID uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+}
@@ -0,0 +1,232 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load generator: requests are started at Poisson distributed arrival times at the configured rate,
+ * whether or not earlier requests have completed, the way independent users arrive. Latency is measured from the
+ * intended start of a request rather than from when it was actually sent, so a stalled system is not hidden by the
+ * generator falling behind (coordinated omission).
+ * <p>
+ * Reads by id pick from the ids the roster started with; deletes only remove employees created by this run, and turn
+ * into creates while there are none, so the roster stays about the same size.
+ */
+@Slf4j
+class LoadGenerator {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final URI baseUri;
+    private final LoadTestOptions options;
+    private final Workload workload;
+    private final List<UUID> rosterIds;
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(executor)
+            .build();
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong created = new AtomicLong();
+
+    /**
+     * @param baseUri root of the api, such as {@code http://localhost:8111/}.
+     * @param rosterIds ids of the employees on the server when the run starts.
+     */
+    LoadGenerator(URI baseUri, LoadTestOptions options, List<UUID> rosterIds) {
+        this.baseUri = baseUri;
+        this.options = options;
+        this.workload = new Workload(options.mix(), options.searchTerms(), options.searchSkew(), options.seed());
+        this.rosterIds = List.copyOf(rosterIds);
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    /**
+     * Runs the warmup and then the measured phase.
+     *
+     * @return the result of the measured phase.
+     */
+    Result run() throws InterruptedException {
+        log.info("Warming up for {} at {} requests/s", options.warmup(), options.rate());
+        drive(options.warmup().toNanos());
+        awaitInFlight();
+        Result.reset(recorders, errors, dropped);
+        log.info("Measuring for {} at {} requests/s", options.duration(), options.rate());
+        long started = System.nanoTime();
+        drive(options.duration().toNanos());
+        awaitInFlight();
+        long elapsed = System.nanoTime() - started;
+        executor.shutdown();
+        return Result.collect(recorders, errors, dropped.get(), elapsed);
+    }
+
+    private void drive(long durationNanos) {
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long intended = start;
+        while (intended < end) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= options.maxInFlight()) {
+                dropped.incrementAndGet();
+            } else {
+                send(intended);
+            }
+            intended += workload.nextInterArrivalNanos(options.rate());
+        }
+    }
+
+    private void send(long intendedStart) {
+        Operation operation = workload.nextOperation();
+        String deleteId = null;
+        if (operation == Operation.DELETE) {
+            deleteId = createdIds.poll();
+            if (deleteId == null) {
+                operation = Operation.CREATE;
+            }
+        }
+        HttpRequest request = request(operation, deleteId);
+        Operation sent = operation;
+        inFlight.incrementAndGet();
+        httpClient
+                .sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                    recorders.get(sent).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                    if (error != null || response.statusCode() >= 400) {
+                        errors.get(sent).incrementAndGet();
+                    } else if (sent == Operation.CREATE && !rememberCreated(response.body())) {
+                        // nothing this run could delete later
+                        errors.get(sent).incrementAndGet();
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private HttpRequest request(Operation operation, String deleteId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().header("Accept", "application/json");
+        return switch (operation) {
+            case GET_ALL -> builder.uri(baseUri.resolve("employees")).GET().build();
+            case SEARCH -> builder.uri(baseUri.resolve("employees/search/" + workload.nextSearchTerm()))
+                    .GET()
+                    .build();
+            case BY_ID -> builder.uri(baseUri.resolve("employees/" + randomRosterId()))
+                    .GET()
+                    .build();
+            case HIGHEST_SALARY -> builder.uri(baseUri.resolve("employees/highestSalary"))
+                    .GET()
+                    .build();
+            case TOP_TEN -> builder.uri(baseUri.resolve("employees/topTenHighestEarningEmployeeNames"))
+                    .GET()
+                    .build();
+            case CREATE -> builder.uri(baseUri.resolve("employees"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody()))
+                    .build();
+            case DELETE -> builder.uri(baseUri.resolve("employees/" + deleteId))
+                    .DELETE()
+                    .build();
+        };
+    }
+
+    private UUID randomRosterId() {
+        return rosterIds.get(workload.nextInt(rosterIds.size()));
+    }
+
+    private String createBody() {
+        long number = created.incrementAndGet();
+        return "{\"name\":\"Load Test " + number + "\",\"salary\":" + (50_000 + workload.nextInt(100_000))
+                + ",\"age\":" + (18 + workload.nextInt(50)) + ",\"title\":\"Load Tester\"}";
+    }
+
+    /**
+     * @return whether the response held the id of the created employee.
+     */
+    private boolean rememberCreated(String body) {
+        try {
+            JsonNode id = objectMapper.readTree(body).get("id");
+            if (id != null && !id.isNull()) {
+                createdIds.add(id.asText());
+                return true;
+            }
+            log.debug("Created employee has no id: {}", body);
+        } catch (IOException e) {
+            log.debug("Could not read created employee: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (inFlight.get() > 0) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Latency histograms in microseconds and error counts per operation, of the measured phase.
+     */
+    record Result(Map<Operation, Histogram> histograms, Map<Operation, Long> errors, long dropped, long elapsedNanos) {
+
+        static void reset(Map<Operation, Recorder> recorders, Map<Operation, AtomicLong> errors, AtomicLong dropped) {
+            recorders.values().forEach(Recorder::reset);
+            errors.values().forEach(count -> count.set(0));
+            dropped.set(0);
+        }
+
+        static Result collect(
+                Map<Operation, Recorder> recorders, Map<Operation, AtomicLong> errors, long dropped, long elapsed) {
+            Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+            Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+            recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+            errors.forEach((operation, count) -> errorCounts.put(operation, count.get()));
+            return new Result(histograms, errorCounts, dropped, elapsed);
+        }
+
+        Histogram total() {
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+            histograms.values().forEach(total::add);
+            return total;
+        }
+
+        /**
+         * Requests sent of the write operations, to compare the achieved mix with the configured one: deletes turn
+         * into creates while there is nothing to delete.
+         */
+        long writes() {
+            return histograms.entrySet().stream()
+                    .filter(entry -> entry.getKey().isWrite())
+                    .mapToLong(entry -> entry.getValue().getTotalCount())
+                    .sum();
+        }
+    }
+}
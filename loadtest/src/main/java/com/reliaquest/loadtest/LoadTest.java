@@ -0,0 +1,159 @@
+package com.reliaquest.loadtest;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.EmployeeStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the Mock Employee API and the employee api in this JVM, drives the api with an open-model workload and
+ * reports throughput, latency percentiles and the upstream calls the api made. Latency histograms of every operation
+ * are also written to the report directory in HdrHistogram's percentile distribution format ({@code .hgrm}), so runs
+ * can be compared and plotted.
+ * <p>
+ * Each application reads only the settings passed here and the defaults in its code, not its own
+ * {@code application.yml}: both are on the classpath under the same name.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        try (ConfigurableApplicationContext server = startServer(options);
+                ConfigurableApplicationContext api = startApi(options, port(server))) {
+            List<UUID> rosterIds = server.getBean(EmployeeStore.class).findAll().stream()
+                    .map(MockEmployee::getId)
+                    .toList();
+            URI baseUri = URI.create("http://localhost:" + port(api) + "/");
+            LoadGenerator.Result result = new LoadGenerator(baseUri, options, rosterIds).run();
+            report(options, result, upstreamCalls(api.getBean(MeterRegistry.class)), System.out);
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer(LoadTestOptions options) {
+        log.info("Starting Mock Employee API with {} employees", options.rosterSize());
+        return new SpringApplicationBuilder(ServerApplication.class)
+                .properties(Map.of(
+                        "spring.config.name", "loadtest-server",
+                        "server.port", options.serverPort(),
+                        "mock.employees.max", options.rosterSize(),
+                        "mock.employees.storage", options.storage(),
+                        "mock.employees.seed", options.seed(),
+                        "mock.rate-limit.enabled", options.rateLimitEnabled(),
+                        "mock.rate-limit.mode", options.rateLimitMode(),
+                        "mock.rate-limit.limit", options.rateLimitLimit(),
+                        "mock.rate-limit.window", options.rateLimitWindow()))
+                .run();
+    }
+
+    private static ConfigurableApplicationContext startApi(LoadTestOptions options, int serverPort) {
+        log.info("Starting employee api against port {}", serverPort);
+        return new SpringApplicationBuilder(ApiApplication.class)
+                .properties(Map.of(
+                        "spring.config.name", "loadtest-api",
+                        "server.port", options.apiPort(),
+                        "app.server.url", "http://localhost:" + serverPort + "/api/v1/employee"))
+                .run();
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    /** Calls the api made to the upstream, by operation and outcome. */
+    private static Map<String, Long> upstreamCalls(MeterRegistry meterRegistry) {
+        Map<String, Long> calls = new TreeMap<>();
+        for (Timer timer : meterRegistry.find("employee.client.calls").timers()) {
+            String key = timer.getId().getTag("operation") + " " + timer.getId().getTag("outcome");
+            calls.merge(key, timer.count(), Long::sum);
+        }
+        meterRegistry
+                .find("employee.client.throttled")
+                .counters()
+                .forEach(counter -> calls.put("throttled (429)", (long) counter.count()));
+        return calls;
+    }
+
+    private static void report(
+            LoadTestOptions options, LoadGenerator.Result result, Map<String, Long> upstreamCalls, PrintStream out)
+            throws IOException {
+        double seconds = result.elapsedNanos() / 1e9;
+        out.printf(
+                "%nOpen-model load test: %.0f requests/s for %s, roster of %d%n",
+                options.rate(),
+                options.duration(),
+                options.rosterSize());
+        out.printf(
+                "%-14s %9s %9s %8s %10s %10s %10s %10s%n",
+                "operation",
+                "requests",
+                "req/s",
+                "errors",
+                "p50 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms");
+        result.histograms().forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                printRow(out, operation.key(), histogram, result.errors().get(operation), seconds);
+            }
+        });
+        Histogram total = result.total();
+        long totalErrors = result.errors().values().stream().mapToLong(Long::longValue).sum();
+        printRow(out, "total", total, totalErrors, seconds);
+        if (total.getTotalCount() > 0) {
+            double writes = 100.0 * result.writes() / total.getTotalCount();
+            out.printf("achieved mix: %.1f%% reads, %.1f%% writes%n", 100 - writes, writes);
+        }
+        out.printf("dropped arrivals (over %d in flight): %d%n", options.maxInFlight(), result.dropped());
+        out.printf("%nUpstream calls made by the api, warmup included:%n");
+        upstreamCalls.forEach((call, count) -> out.printf("  %-32s %8d%n", call, count));
+
+        Files.createDirectories(options.reportDir());
+        for (Map.Entry<Operation, Histogram> entry : result.histograms().entrySet()) {
+            if (entry.getValue().getTotalCount() > 0) {
+                writeHistogram(options.reportDir().resolve(entry.getKey().key() + ".hgrm"), entry.getValue());
+            }
+        }
+        writeHistogram(options.reportDir().resolve("total.hgrm"), total);
+        out.printf("%nHistograms (milliseconds) written to %s%n", options.reportDir().toAbsolutePath());
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        out.printf(
+                "%-14s %9d %9.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                name,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                errors,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static void writeHistogram(Path path, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(path))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
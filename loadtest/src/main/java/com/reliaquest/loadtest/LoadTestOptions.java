@@ -0,0 +1,106 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Settings of a load test run, parsed from {@code --name=value} arguments; see {@link #usage()}.
+ *
+ * @param rate requests started per second, regardless of how many are still in flight.
+ * @param mix relative weight of each operation.
+ * @param searchTerms search strings, the first one the most popular.
+ * @param searchSkew Zipf exponent of the search term popularity, 0 for a uniform choice.
+ * @param maxInFlight requests in flight beyond which arrivals are dropped and counted instead of sent.
+ */
+public record LoadTestOptions(
+        double rate,
+        Duration duration,
+        Duration warmup,
+        Map<Operation, Integer> mix,
+        List<String> searchTerms,
+        double searchSkew,
+        int maxInFlight,
+        long seed,
+        int rosterSize,
+        String storage,
+        boolean rateLimitEnabled,
+        String rateLimitMode,
+        int rateLimitLimit,
+        Duration rateLimitWindow,
+        int serverPort,
+        int apiPort,
+        Path reportDir) {
+
+    private static final Map<String, String> DEFAULTS = defaults();
+
+    public static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg + "\n" + usage());
+            }
+            String name = arg.substring(2, separator);
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name + "\n" + usage());
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(
+                Double.parseDouble(values.get("rate")),
+                DurationStyle.detectAndParse(values.get("duration")),
+                DurationStyle.detectAndParse(values.get("warmup")),
+                Operation.parseMix(values.get("mix")),
+                Arrays.asList(values.get("search-terms").split(",")),
+                Double.parseDouble(values.get("search-skew")),
+                Integer.parseInt(values.get("max-in-flight")),
+                Long.parseLong(values.get("seed")),
+                Integer.parseInt(values.get("roster-size")),
+                values.get("storage"),
+                Boolean.parseBoolean(values.get("rate-limit-enabled")),
+                values.get("rate-limit-mode"),
+                Integer.parseInt(values.get("rate-limit-limit")),
+                DurationStyle.detectAndParse(values.get("rate-limit-window")),
+                Integer.parseInt(values.get("server-port")),
+                Integer.parseInt(values.get("api-port")),
+                Path.of(values.get("report-dir")));
+    }
+
+    public static String usage() {
+        StringBuilder usage = new StringBuilder("Options (defaults):\n");
+        DEFAULTS.forEach((name, value) -> usage.append("  --")
+                .append(name)
+                .append('=')
+                .append(value)
+                .append('\n'));
+        return usage.toString();
+    }
+
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("rate", "200");
+        defaults.put("duration", "60s");
+        defaults.put("warmup", "10s");
+        defaults.put("mix", "getAll:5,search:40,byId:25,highestSalary:10,topTen:10,create:5,delete:5");
+        defaults.put("search-terms", "an,son,mar,lee,ith,x,zzz");
+        defaults.put("search-skew", "1.0");
+        defaults.put("max-in-flight", "10000");
+        defaults.put("seed", "42");
+        defaults.put("roster-size", "10000");
+        defaults.put("storage", "concurrent");
+        defaults.put("rate-limit-enabled", "false");
+        defaults.put("rate-limit-mode", "cooldown");
+        defaults.put("rate-limit-limit", "10");
+        defaults.put("rate-limit-window", "30s");
+        defaults.put("server-port", "0");
+        defaults.put("api-port", "0");
+        defaults.put("report-dir", "build/loadtest");
+        return defaults;
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The {@code IEmployeeController} endpoints driven by the load test.
+ */
+public enum Operation {
+    GET_ALL("getAll", false),
+    SEARCH("search", false),
+    BY_ID("byId", false),
+    HIGHEST_SALARY("highestSalary", false),
+    TOP_TEN("topTen", false),
+    CREATE("create", true),
+    DELETE("delete", true);
+
+    private final String key;
+    private final boolean write;
+
+    Operation(String key, boolean write) {
+        this.key = key;
+        this.write = write;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public boolean isWrite() {
+        return write;
+    }
+
+    /**
+     * Parses a mix such as {@code search:40,byId:25,create:5}; operations that are not listed get no traffic.
+     */
+    public static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.put(byKey(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix has no traffic: " + mix);
+        }
+        return weights;
+    }
+
+    private static Operation byKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + key);
+    }
+}
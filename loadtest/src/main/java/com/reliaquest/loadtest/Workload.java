@@ -0,0 +1,71 @@
+package com.reliaquest.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Draws the next operation from the configured mix and the next search term from a Zipf distribution over the
+ * configured terms, both from a seeded generator so that a run can be repeated.
+ */
+class Workload {
+
+    private final Operation[] operations;
+    private final double[] operationWeights;
+    private final List<String> searchTerms;
+    private final double[] searchWeights;
+    private final SplittableRandom random;
+
+    Workload(Map<Operation, Integer> mix, List<String> searchTerms, double searchSkew, long seed) {
+        List<Operation> weighted = new ArrayList<>(mix.keySet());
+        this.operations = weighted.toArray(Operation[]::new);
+        this.operationWeights = cumulative(weighted.stream()
+                .mapToDouble(operation -> mix.get(operation))
+                .toArray());
+        this.searchTerms = List.copyOf(searchTerms);
+        double[] zipf = new double[searchTerms.size()];
+        for (int rank = 0; rank < zipf.length; rank++) {
+            zipf[rank] = 1 / Math.pow(rank + 1, searchSkew);
+        }
+        this.searchWeights = cumulative(zipf);
+        this.random = new SplittableRandom(seed);
+    }
+
+    Operation nextOperation() {
+        return operations[pick(operationWeights)];
+    }
+
+    String nextSearchTerm() {
+        return searchTerms.get(pick(searchWeights));
+    }
+
+    int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    /** Time to the next arrival of a Poisson process with the given rate. */
+    long nextInterArrivalNanos(double ratePerSecond) {
+        return (long) (-Math.log(1 - random.nextDouble()) / ratePerSecond * 1_000_000_000L);
+    }
+
+    private int pick(double[] cumulativeWeights) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (target < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Generates mock employees in parallel on the common fork-join pool.
+ * <p>
+ * The roster is split into fixed-size chunks and each chunk is generated by its own {@link Faker}, seeded with the
+ * generator seed and the chunk number, so a given seed always produces the same roster regardless of how chunks are
+ * scheduled. Chunks are handed to the sink in order, a window of chunks at a time, which bounds the number of
+ * generated but not yet stored employees.
+ */
+@Slf4j
+class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 10_000;
+
+    private final Locale locale;
+    private final long seed;
+    private final int parallelism;
+
+    MockEmployeeGenerator(Locale locale, long seed) {
+        this(locale, seed, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    MockEmployeeGenerator(Locale locale, long seed, int parallelism) {
+        this.locale = locale;
+        this.seed = seed;
+        this.parallelism = parallelism;
+    }
+
+    void generate(int count, Consumer<MockEmployee> sink) {
+        final var started = System.nanoTime();
+        final var chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final var window = parallelism * 4;
+        for (var from = 0; from < chunks; from += window) {
+            IntStream.range(from, Math.min(from + window, chunks))
+                    .parallel()
+                    .mapToObj(chunk -> generateChunk(chunk, Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE)))
+                    .toList()
+                    .forEach(employees -> employees.forEach(sink));
+        }
+        log.info(
+                "Generated {} employees with seed {} in {} ms",
+                count,
+                seed,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private List<MockEmployee> generateChunk(int chunk, int size) {
+        final var random = new Random(seed * 31 + chunk);
+        final var faker = new Faker(locale, random);
+        final var employees = new ArrayList<MockEmployee>(size);
+        for (var i = 0; i < size; i++) {
+            final var employee = MockEmployee.builder()
+                    .id(randomUuid(random))
+                    .name(faker.name().fullName())
+                    .salary(faker.number().numberBetween(30000, 500000))
+                    .age(faker.number().numberBetween(16, 70))
+                    .title(faker.job().title())
+                    .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                            faker.twitter().userName().toLowerCase()))
+                    .build();
+            log.trace("Created employee: {}", employee);
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /*
+     * Version 4 UUID drawn from the chunk's seeded random instead of SecureRandom, so ids are reproducible too.
+     */
+    private static UUID randomUuid(Random random) {
+        final var high = (random.nextLong() & 0xffffffffffff0fffL) | 0x0000000000004000L;
+        final var low = (random.nextLong() & 0x3fffffffffffffffL) | 0x8000000000000000L;
+        return new UUID(high, low);
+    }
+}
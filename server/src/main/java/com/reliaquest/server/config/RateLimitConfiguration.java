@@ -0,0 +1,56 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.web.RateLimitInterceptor;
+import com.reliaquest.server.web.RateLimitKey;
+import com.reliaquest.server.web.RateLimitMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+import java.util.random.RandomGenerator;
+
+/*
+ * Limit and window default to random values, so that clients cannot hard-code them.
+ */
+@Slf4j
+@Configuration
+public class RateLimitConfiguration implements WebMvcConfigurer {
+
+    private final boolean enabled;
+    private final RateLimitMode mode;
+    private final RateLimitKey key;
+    private final int limit;
+    private final Duration window;
+
+    public RateLimitConfiguration(
+            @Value("${mock.rate-limit.enabled:true}") boolean enabled,
+            @Value("${mock.rate-limit.mode:cooldown}") RateLimitMode mode,
+            @Value("${mock.rate-limit.key:global}") RateLimitKey key,
+            @Value("${mock.rate-limit.limit:#{null}}") Integer limit,
+            @Value("${mock.rate-limit.window:#{null}}") Duration window) {
+        this.enabled = enabled;
+        this.mode = mode;
+        this.key = key;
+        this.limit = limit != null ? limit : RandomGenerator.getDefault().nextInt(5, 10);
+        this.window = window != null ? window : Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+        if (this.limit < 1) {
+            throw new IllegalArgumentException("mock.rate-limit.limit must be positive, was " + this.limit);
+        }
+        if (this.window.isNegative() || this.window.isZero()) {
+            throw new IllegalArgumentException("mock.rate-limit.window must be positive, was " + this.window);
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            log.info("Rate limiting disabled");
+            return;
+        }
+        log.info("Rate limiting {} by {}: limit {}, window {}", mode, key, limit, window);
+        registry.addInterceptor(new RateLimitInterceptor(mode.create(limit, window), key));
+    }
+}
@@ -1,28 +1,22 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import lombok.extern.slf4j.Slf4j;
+import com.reliaquest.server.store.ColumnarEmployeeStore;
+import com.reliaquest.server.store.ConcurrentEmployeeStore;
+import com.reliaquest.server.store.EmployeeStore;
+import com.reliaquest.server.store.PersistentEmployeeStore;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.util.unit.DataSize;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.random.RandomGenerator;
 
-@Slf4j
 @Configuration
-public class ServerConfiguration implements WebMvcConfigurer {
+public class ServerConfiguration {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
@@ -32,29 +26,32 @@ public class ServerConfiguration implements WebMvcConfigurer {
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * This store is modifiable by design for CRUD operations.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
-    }
-
-    @Override
-    public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+    public EmployeeStore employeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.storage:concurrent}") String storage,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.persistence.dir:}") String persistenceDir,
+            @Value("${mock.employees.persistence.max-log-size:64MB}") DataSize maxLogSize)
+            throws IOException {
+        final EmployeeStore employeeStore =
+                switch (storage) {
+                    case "concurrent" -> new ConcurrentEmployeeStore();
+                    case "columnar" -> new ColumnarEmployeeStore(maxEmployees);
+                    default -> throw new IllegalArgumentException("Unknown mock.employees.storage: " + storage);
+                };
+        final var generator = new MockEmployeeGenerator(
+                Locale.getDefault(), seed != null ? seed : RandomGenerator.getDefault().nextLong());
+        if (persistenceDir.isBlank()) {
+            generator.generate(maxEmployees, employeeStore::add);
+            return employeeStore;
+        }
+        return PersistentEmployeeStore.open(
+                Path.of(persistenceDir),
+                employeeStore,
+                store -> generator.generate(maxEmployees, store::add),
+                maxLogSize.toBytes());
     }
 }
@@ -1,36 +1,123 @@
 package com.reliaquest.server.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.reliaquest.server.model.BatchItemResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.EmployeeChangeFeed;
 import com.reliaquest.server.service.MockEmployeeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    static final String TOTAL_COUNT = "X-Total-Count";
+
     private final MockEmployeeService mockEmployeeService;
+    private final EmployeeChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+
+    @Value("${mock.batch.max-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${mock.changes.max-wait:20s}")
+    private Duration maxWait;
 
+    /**
+     * Returns the whole roster, or with any {@link EmployeeQuery} parameter the matching page of it, e.g.
+     * {@code ?nameContains=son&sort=salary&order=desc&limit=10&fields=name,salary}. The number of matches before
+     * {@code offset} and {@code limit} are applied is returned in the {@value #TOTAL_COUNT} header, and with
+     * {@code fields} only those fields of each employee are returned. The whole roster comes with the
+     * {@code position} of the change feed it is current up to, to follow {@code /changes} from.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<Collection<?>>> getEmployees(@Valid EmployeeQuery query) {
+        if (query.isUnrestricted()) {
+            // read before the roster, so the roster holds every change up to it
+            final var position = changeFeed.position();
+            return ResponseEntity.ok(Response.handledWith(mockEmployeeService.getMockEmployees(), position));
+        }
+        final var page = mockEmployeeService.query(query);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT, Long.toString(page.total()))
+                .body(Response.handledWith(
+                        page.employees().stream().map(projection(query)).toList()));
     }
 
+    /**
+     * Streams the employees as newline-delimited JSON, one employee per line and without the {@link Response}
+     * envelope, so neither side has to hold the whole serialized roster in memory. Takes the same query parameters as
+     * {@link #getEmployees(EmployeeQuery)}.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployees(@Valid EmployeeQuery query) {
+        final Collection<MockEmployee> employees = query.isUnrestricted()
+                ? mockEmployeeService.getMockEmployees()
+                : mockEmployeeService.query(query).employees();
+        final var projection = projection(query);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                for (MockEmployee employee : employees) {
+                    generator.writeObject(projection.apply(employee));
+                    generator.writeRaw('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Returns the creates and deletes applied after sequence {@code since}, oldest first, or without {@code since} just
+     * the current sequence, to be passed as {@code since} next time. With {@code wait} the request is held until there
+     * are changes, for at most {@code wait} and {@code mock.changes.max-wait}. The answer is {@code 410 Gone} if the
+     * changes after {@code since} are no longer retained; the client then has to fetch the whole roster again.
+     */
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<Response<EmployeeChanges>>> getChanges(
+            @RequestParam(name = "since", required = false) Long since,
+            @RequestParam(name = "wait", required = false) Duration wait) {
+        final CompletableFuture<Optional<EmployeeChanges>> changes = since == null || wait == null
+                ? CompletableFuture.completedFuture(changeFeed.changesSince(since))
+                : changeFeed.awaitChangesSince(since, wait.compareTo(maxWait) > 0 ? maxWait : wait);
+        return changes.thenApply(result -> result.map(Response::handledWith)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE)
+                        .body(Response.error("Changes since %d are no longer available".formatted(since)))));
+    }
+
+    /**
+     * Returns the employee with its {@link #eTag(MockEmployee) ETag}, for a later conditional delete.
+     */
     @GetMapping("/{id}")
     public ResponseEntity<Response<MockEmployee>> getEmployee(@PathVariable("id") UUID uuid) {
         return mockEmployeeService
                 .findById(uuid)
-                .map(employee -> ResponseEntity.ok(Response.handledWith(employee)))
+                .map(employee -> ResponseEntity.ok().eTag(eTag(employee)).body(Response.handledWith(employee)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handled()));
     }
 
@@ -43,4 +130,95 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /**
+     * Deletes the employee with the given id, a single lookup in the store's id index. With an {@code If-Match}
+     * header the employee is only deleted if its {@link #eTag(MockEmployee) ETag} is one of those listed, or if the
+     * header is {@code *}; otherwise the answer is {@code 412 Precondition Failed}. The answer is
+     * {@code 404 Not Found} if there is no employee with that id.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Response<Boolean>> deleteEmployeeById(
+            @PathVariable("id") UUID uuid,
+            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        final var employee = mockEmployeeService.findById(uuid);
+        if (employee.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handledWith(false));
+        }
+        if (ifMatch != null && !matches(ifMatch, eTag(employee.get()))) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                    .eTag(eTag(employee.get()))
+                    .body(Response.error("Employee %s does not match %s".formatted(uuid, ifMatch)));
+        }
+        // employees are never modified, so the one that was matched is the one removed, unless it is already gone
+        return mockEmployeeService.deleteById(uuid)
+                ? ResponseEntity.ok(Response.handledWith(true))
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).body(Response.handledWith(false));
+    }
+
+    /**
+     * Creates up to {@code mock.batch.max-size} employees in one request. Each input is validated on its own, so the
+     * response carries the created employee or the validation error of every input, in request order.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<BatchItemResult<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > maxBatchSize) {
+            return tooLarge(inputs.size());
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.createAll(inputs)));
+    }
+
+    /**
+     * Deletes up to {@code mock.batch.max-size} employees by id in one request; {@code data} of each result is
+     * {@code false} if there was no employee with that id.
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<Response<List<BatchItemResult<Boolean>>>> deleteEmployees(@RequestBody List<String> ids) {
+        if (ids.size() > maxBatchSize) {
+            return tooLarge(ids.size());
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.deleteAllById(ids)));
+    }
+
+    /**
+     * Strong entity tag of an employee. Employees are immutable once created, so a hash of their fields identifies
+     * the version a client has seen.
+     */
+    static String eTag(MockEmployee employee) {
+        return "\"%08x\"".formatted(employee.hashCode());
+    }
+
+    /**
+     * @return a function writing only the requested fields of an employee, under their JSON names; the employee itself
+     * when all fields are requested.
+     */
+    private Function<MockEmployee, Object> projection(EmployeeQuery query) {
+        if (query.getFields() == null) {
+            return employee -> employee;
+        }
+        final var jsonNames = query.getFields().stream()
+                .map(field -> field.equals("id") ? field : "employee_" + field)
+                .toList();
+        return employee -> {
+            final ObjectNode node = objectMapper.valueToTree(employee);
+            node.retain(jsonNames);
+            return node;
+        };
+    }
+
+    private static boolean matches(String ifMatch, String eTag) {
+        for (String candidate : ifMatch.split(",")) {
+            final var trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<Response<T>> tooLarge(int size) {
+        return ResponseEntity.badRequest()
+                .body(Response.error("Batch of %d exceeds the maximum of %d".formatted(size, maxBatchSize)));
+    }
 }
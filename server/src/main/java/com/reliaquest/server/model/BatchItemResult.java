@@ -0,0 +1,18 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one item of a batch request; {@code index} is the position of the item in the request body.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult<T>(int index, T data, String error) {
+
+    public static <T> BatchItemResult<T> of(int index, T data) {
+        return new BatchItemResult<>(index, data, null);
+    }
+
+    public static <T> BatchItemResult<T> failed(int index, String error) {
+        return new BatchItemResult<>(index, null, error);
+    }
+}
@@ -0,0 +1,26 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * One create or delete applied to the roster. {@code employee} is only set for a create: employees are never modified,
+ * so the id is all a client needs to apply a delete.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record EmployeeChange(long sequence, Type type, UUID id, MockEmployee employee) {
+
+    public static EmployeeChange created(long sequence, MockEmployee employee) {
+        return new EmployeeChange(sequence, Type.CREATED, employee.getId(), employee);
+    }
+
+    public static EmployeeChange deleted(long sequence, MockEmployee employee) {
+        return new EmployeeChange(sequence, Type.DELETED, employee.getId(), null);
+    }
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * The changes made to the roster after a given sequence, in the order they were applied.
+ *
+ * @param epoch identifies the change feed; sequences of different epochs are unrelated.
+ * @param sequence sequence of the latest change, to be passed as {@code since} to ask for the changes after these.
+ */
+public record EmployeeChanges(String epoch, long sequence, List<EmployeeChange> changes) {}
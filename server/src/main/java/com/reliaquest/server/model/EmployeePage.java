@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * One page of the employees matching an {@link EmployeeQuery}.
+ *
+ * @param total number of matching employees, before offset and limit are applied.
+ */
+public record EmployeePage(List<MockEmployee> employees, long total) {}
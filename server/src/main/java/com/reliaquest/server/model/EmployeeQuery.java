@@ -0,0 +1,47 @@
+package com.reliaquest.server.model;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Query parameters of {@code GET /api/v1/employee}. All are optional; without any of them the whole roster is
+ * returned as before.
+ */
+@Data
+public class EmployeeQuery {
+
+    /** Case-insensitive substring of the name. */
+    private String nameContains;
+
+    @PositiveOrZero private Integer minSalary;
+
+    @PositiveOrZero private Integer maxSalary;
+
+    /** Sort key; employees are returned in roster order when unset, and ties keep roster order. */
+    @Pattern(regexp = "name|salary|age")
+    private String sort;
+
+    @Pattern(regexp = "asc|desc")
+    private String order;
+
+    @PositiveOrZero private Integer offset;
+
+    @Positive private Integer limit;
+
+    /** Fields to return, e.g. {@code name,salary}; all fields when unset. */
+    private List<@Pattern(regexp = "id|name|salary|age|title|email") String> fields;
+
+    public boolean isUnrestricted() {
+        return nameContains == null
+                && minSalary == null
+                && maxSalary == null
+                && sort == null
+                && offset == null
+                && limit == null
+                && fields == null;
+    }
+}
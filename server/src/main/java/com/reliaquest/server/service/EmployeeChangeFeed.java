@@ -0,0 +1,167 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Log of the last {@code mock.changes.retention} creates and deletes applied to the roster, numbered by a sequence
+ * that only grows. A client holding a copy of the roster catches up by asking for the changes since the last sequence
+ * it has seen, instead of fetching the whole roster again. The epoch is new on every start, since the sequence then
+ * starts over.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeFeed {
+
+    private final String epoch = UUID.randomUUID().toString();
+    private final int retention;
+    private final ArrayDeque<EmployeeChange> changes = new ArrayDeque<>();
+    private final List<Waiter> waiters = new ArrayList<>();
+    // employees added to the store whose creates are not recorded yet
+    private final Map<UUID, MockEmployee> pendingCreates = new ConcurrentHashMap<>();
+    private long sequence;
+
+    public EmployeeChangeFeed(@Value("${mock.changes.retention:10000}") int retention) {
+        if (retention < 1) {
+            throw new IllegalArgumentException("mock.changes.retention must be positive");
+        }
+        this.retention = retention;
+    }
+
+    /**
+     * Runs {@code write}, which adds {@code created} to the store, and records the creates. The write runs outside the
+     * feed's lock, so writers only wait for each other while their changes are appended. Until then the employees are
+     * pending: a delete that removes one of them first records its create, so a delete is never recorded before the
+     * create of the same employee.
+     */
+    public void recordCreated(@NonNull List<MockEmployee> created, @NonNull Runnable write) {
+        created.forEach(employee -> pendingCreates.put(employee.getId(), employee));
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            created.forEach(employee -> pendingCreates.remove(employee.getId()));
+            throw e;
+        }
+        append(created, List.of());
+    }
+
+    /**
+     * Runs {@code write} against the store and records the employees it reports as deleted, see
+     * {@link #recordCreated(List, Runnable)}.
+     */
+    public <T> T recordDeleted(@NonNull Supplier<T> write, @NonNull Function<T, Stream<MockEmployee>> deleted) {
+        final var result = write.get();
+        final var removed = deleted.apply(result).toList();
+        if (!removed.isEmpty()) {
+            append(List.of(), removed);
+        }
+        return result;
+    }
+
+    /**
+     * Current sequence and epoch without changes, as {@link #changesSince(Long)} answers without {@code since}. Read
+     * before the roster, the roster then holds every change up to it.
+     */
+    public synchronized EmployeeChanges position() {
+        return new EmployeeChanges(epoch, sequence, List.of());
+    }
+
+    /**
+     * @return the changes after {@code since}, or the current sequence without changes if {@code since} is
+     * {@code null}; empty if changes after {@code since} are no longer retained, or {@code since} is ahead of this
+     * feed, so the caller has to fetch the whole roster.
+     */
+    public synchronized Optional<EmployeeChanges> changesSince(Long since) {
+        if (since == null) {
+            return Optional.of(position());
+        }
+        final var oldest = changes.isEmpty() ? sequence + 1 : changes.getFirst().sequence();
+        if (since < oldest - 1 || since > sequence) {
+            return Optional.empty();
+        }
+        final var after = new ArrayList<EmployeeChange>((int) (sequence - since));
+        for (final var newestFirst = changes.descendingIterator(); newestFirst.hasNext(); ) {
+            final var change = newestFirst.next();
+            if (change.sequence() <= since) {
+                break;
+            }
+            after.add(change);
+        }
+        Collections.reverse(after);
+        return Optional.of(new EmployeeChanges(epoch, sequence, after));
+    }
+
+    /**
+     * Long-poll variant of {@link #changesSince(Long)}: completes as soon as there are changes after {@code since},
+     * or after {@code wait} with none.
+     */
+    public CompletableFuture<Optional<EmployeeChanges>> awaitChangesSince(long since, @NonNull Duration wait) {
+        final var future = new CompletableFuture<Optional<EmployeeChanges>>();
+        synchronized (this) {
+            final var current = changesSince(since);
+            if (current.isEmpty() || !current.get().changes().isEmpty() || wait.isZero()) {
+                return CompletableFuture.completedFuture(current);
+            }
+            waiters.removeIf(waiter -> waiter.future().isDone());
+            waiters.add(new Waiter(since, future));
+        }
+        return future.completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(result -> result != null ? result : changesSince(since));
+    }
+
+    private void append(List<MockEmployee> created, List<MockEmployee> deleted) {
+        final List<Waiter> woken;
+        synchronized (this) {
+            final var before = sequence;
+            for (final var employee : created) {
+                // already recorded if a delete of the employee got here first
+                if (pendingCreates.remove(employee.getId()) != null) {
+                    add(EmployeeChange.created(++sequence, employee));
+                }
+            }
+            for (final var employee : deleted) {
+                final var pending = pendingCreates.remove(employee.getId());
+                if (pending != null) {
+                    add(EmployeeChange.created(++sequence, pending));
+                }
+                add(EmployeeChange.deleted(++sequence, employee));
+            }
+            if (sequence == before || waiters.isEmpty()) {
+                return;
+            }
+            woken = List.copyOf(waiters);
+            waiters.clear();
+        }
+        // completed outside the lock, so the writer does not run the callers' continuations while holding it
+        woken.forEach(waiter -> waiter.future().complete(changesSince(waiter.since())));
+    }
+
+    private void add(EmployeeChange change) {
+        changes.addLast(change);
+        if (changes.size() > retention) {
+            changes.removeFirst();
+        }
+    }
+
+    private record Waiter(long since, CompletableFuture<Optional<EmployeeChanges>> future) {}
+}
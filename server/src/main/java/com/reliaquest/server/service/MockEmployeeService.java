@@ -1,20 +1,31 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.model.BatchItemResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeePage;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
-import lombok.Getter;
+import com.reliaquest.server.store.EmployeeStore;
+import jakarta.validation.Validator;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -23,37 +34,200 @@ public class MockEmployeeService {
 
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    private final EmployeeStore employeeStore;
+
+    private final Validator validator;
+
+    private final EmployeeChangeFeed changeFeed;
+
+    public Collection<MockEmployee> getMockEmployees() {
+        return employeeStore.findAll();
+    }
+
+    /**
+     * Filters, sorts and pages the roster in one scan. A sorted page is selected with a heap of {@code offset + limit}
+     * employees, so a top-N query costs O(n log N) and never sorts or copies the whole roster.
+     */
+    public EmployeePage query(@NonNull EmployeeQuery query) {
+        final var filter = filter(query);
+        final var offset = query.getOffset() == null ? 0 : query.getOffset();
+        final var limit = query.getLimit() == null ? Integer.MAX_VALUE : query.getLimit();
+        final var order = order(query);
+        if (order == null) {
+            final var page = new ArrayList<MockEmployee>();
+            var total = 0L;
+            for (MockEmployee employee : employeeStore.findAll()) {
+                if (filter.test(employee) && total++ >= offset && page.size() < limit) {
+                    page.add(employee);
+                }
+            }
+            return new EmployeePage(page, total);
+        }
+        // position in the roster breaks ties, so equal keys keep roster order
+        final Comparator<Ranked> ranking =
+                Comparator.comparing(Ranked::employee, order).thenComparingLong(Ranked::position);
+        final var keep = Math.min((long) offset + limit, Integer.MAX_VALUE);
+        final var heap = new PriorityQueue<Ranked>(ranking.reversed());
+        var total = 0L;
+        for (MockEmployee employee : employeeStore.findAll()) {
+            if (!filter.test(employee)) {
+                continue;
+            }
+            heap.add(new Ranked(employee, total++));
+            if (heap.size() > keep) {
+                heap.poll();
+            }
+        }
+        final var page = heap.stream()
+                .sorted(ranking)
+                .skip(offset)
+                .map(Ranked::employee)
+                .toList();
+        return new EmployeePage(page, total);
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return employeeStore.findById(uuid);
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
-                ServerConfiguration.EMAIL_TEMPLATE.formatted(
-                        faker.twitter().userName().toLowerCase()),
-                input);
-        mockEmployees.add(mockEmployee);
+        final var mockEmployee = newEmployee(input);
+        changeFeed.recordCreated(List.of(mockEmployee), () -> employeeStore.add(mockEmployee));
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    /**
+     * Validates each input on its own and adds the valid ones to the store in one batch, so one invalid input does not
+     * fail the others.
+     *
+     * @return the created employee or the validation error of each input, in input order.
+     */
+    public List<BatchItemResult<MockEmployee>> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var results = new ArrayList<BatchItemResult<MockEmployee>>(inputs.size());
+        final var created = new ArrayList<MockEmployee>(inputs.size());
+        for (var i = 0; i < inputs.size(); i++) {
+            final var input = inputs.get(i);
+            final var error = input == null ? "must not be null" : validate(input);
+            if (error != null) {
+                results.add(BatchItemResult.failed(i, error));
+                continue;
+            }
+            final var mockEmployee = newEmployee(input);
+            created.add(mockEmployee);
+            results.add(BatchItemResult.of(i, mockEmployee));
+        }
+        changeFeed.recordCreated(created, () -> employeeStore.addAll(created));
+        log.debug("Added {} of {} employees in batch", created.size(), inputs.size());
+        return results;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+        final var mockEmployee =
+                changeFeed.recordDeleted(() -> employeeStore.removeByName(input.getName()), Optional::stream);
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
+
+    public boolean deleteById(@NonNull UUID id) {
+        final var mockEmployee =
+                changeFeed.recordDeleted(() -> employeeStore.removeById(id), Optional::stream);
+        mockEmployee.ifPresent(employee -> log.debug("Removed employee: {}", employee));
+        return mockEmployee.isPresent();
+    }
+
+    /**
+     * Removes the employees with the given ids from the store in one batch.
+     *
+     * @return whether an employee was removed, or why the id was rejected, for each id in order.
+     */
+    public List<BatchItemResult<Boolean>> deleteAllById(@NonNull List<String> ids) {
+        final var results = new ArrayList<BatchItemResult<Boolean>>(ids.size());
+        final var parsed = new ArrayList<UUID>(ids.size());
+        final var positions = new ArrayList<Integer>(ids.size());
+        for (var i = 0; i < ids.size(); i++) {
+            try {
+                parsed.add(UUID.fromString(ids.get(i)));
+                positions.add(i);
+                results.add(null);
+            } catch (IllegalArgumentException | NullPointerException e) {
+                results.add(BatchItemResult.failed(i, "Invalid id: " + ids.get(i)));
+            }
         }
+        final var removed = changeFeed.recordDeleted(
+                () -> employeeStore.removeAllById(parsed), outcomes -> outcomes.stream().flatMap(Optional::stream));
+        for (var i = 0; i < removed.size(); i++) {
+            removed.get(i).ifPresent(employee -> log.debug("Removed employee: {}", employee));
+            results.set(positions.get(i), BatchItemResult.of(positions.get(i), removed.get(i).isPresent()));
+        }
+        log.debug(
+                "Removed {} of {} employees in batch",
+                removed.stream().filter(Optional::isPresent).count(),
+                ids.size());
+        return results;
+    }
 
-        return false;
+    private static Predicate<MockEmployee> filter(EmployeeQuery query) {
+        Predicate<MockEmployee> filter = employee -> true;
+        if (query.getNameContains() != null) {
+            final var folded = fold(query.getNameContains());
+            filter = filter.and(employee -> employee.getName() != null
+                    && fold(employee.getName()).contains(folded));
+        }
+        if (query.getMinSalary() != null) {
+            filter = filter.and(employee -> employee.getSalary() != null
+                    && employee.getSalary() >= query.getMinSalary());
+        }
+        if (query.getMaxSalary() != null) {
+            filter = filter.and(employee -> employee.getSalary() != null
+                    && employee.getSalary() <= query.getMaxSalary());
+        }
+        return filter;
+    }
+
+    /**
+     * @return the order of the query's sort key and direction, with employees lacking the key last; {@code null} for
+     * roster order.
+     */
+    private static Comparator<MockEmployee> order(EmployeeQuery query) {
+        if (query.getSort() == null) {
+            return null;
+        }
+        final var descending = "desc".equals(query.getOrder());
+        return switch (query.getSort()) {
+            case "name" -> by(MockEmployee::getName, String.CASE_INSENSITIVE_ORDER, descending);
+            case "salary" -> by(MockEmployee::getSalary, Comparator.<Integer>naturalOrder(), descending);
+            case "age" -> by(MockEmployee::getAge, Comparator.<Integer>naturalOrder(), descending);
+            default -> throw new IllegalArgumentException("Unknown sort key: " + query.getSort());
+        };
+    }
+
+    private static <T> Comparator<MockEmployee> by(
+            Function<MockEmployee, T> key, Comparator<T> order, boolean descending) {
+        return Comparator.comparing(key, Comparator.nullsLast(descending ? order.reversed() : order));
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
     }
+
+    private MockEmployee newEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
+                ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                        faker.twitter().userName().toLowerCase()),
+                input);
+    }
+
+    private String validate(CreateMockEmployeeInput input) {
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private record Ranked(MockEmployee employee, long position) {}
 }
@@ -0,0 +1,390 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import lombok.NonNull;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compact {@link EmployeeStore} for large rosters. Instead of one {@link MockEmployee} object per record, employees
+ * are kept column by column in primitive arrays: ids as two {@code long} columns, salary and age as {@code int}
+ * columns and titles dictionary-encoded as {@code int} codes, as only a few thousand distinct job titles exist. Only
+ * names and emails are kept as strings. {@link MockEmployee} objects are materialized on read, e.g. while a response
+ * is serialized.
+ * <p>
+ * The id and name indexes are hash tables chained through {@code int} arrays, so they add no per-record objects either.
+ * Removed rows are marked as deleted and skipped until they make up a quarter of the capacity; then the live rows are
+ * moved down over them, in order, and the chains rebuilt. Access is guarded by a read-write lock, which batch writes
+ * hold for the whole batch, and {@link #findAll()} is weakly consistent: it covers the rows present when iteration
+ * started, and an iteration that spans a compaction follows its rows to their new positions.
+ */
+public class ColumnarEmployeeStore implements EmployeeStore {
+
+    private static final int NULL_INT = Integer.MIN_VALUE;
+    private static final int NONE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] idHigh;
+    private long[] idLow;
+    private String[] names;
+    private int[] salaries;
+    private int[] ages;
+    private int[] titleCodes;
+    private String[] emails;
+    private boolean[] deleted;
+    private int rows;
+    private int live;
+
+    private final List<String> titles = new ArrayList<>();
+    private final Map<String, Integer> titleCodesByTitle = new HashMap<>();
+
+    private int[] idBuckets;
+    private int[] idNext;
+    private int[] nameBuckets;
+    private int[] nameNext;
+
+    /** The latest compaction; iterators started before a later one follow {@link Compaction#next} to catch up. */
+    private Compaction compaction = new Compaction(null);
+
+    public ColumnarEmployeeStore(int initialCapacity) {
+        final var capacity = Math.max(16, initialCapacity);
+        idHigh = new long[capacity];
+        idLow = new long[capacity];
+        names = new String[capacity];
+        salaries = new int[capacity];
+        ages = new int[capacity];
+        titleCodes = new int[capacity];
+        emails = new String[capacity];
+        deleted = new boolean[capacity];
+        idNext = new int[capacity];
+        nameNext = new int[capacity];
+        idBuckets = newBuckets(capacity);
+        nameBuckets = newBuckets(capacity);
+    }
+
+    @Override
+    public Collection<MockEmployee> findAll() {
+        return new AbstractCollection<>() {
+            @Override
+            public Iterator<MockEmployee> iterator() {
+                return new RowIterator();
+            }
+
+            @Override
+            public int size() {
+                return ColumnarEmployeeStore.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        lock.readLock().lock();
+        try {
+            final var row = rowOf(id);
+            return row == NONE ? Optional.empty() : Optional.of(materialize(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void add(@NonNull MockEmployee employee) {
+        final var id = Objects.requireNonNull(employee.getId(), "id");
+        lock.writeLock().lock();
+        try {
+            if (rows == idHigh.length) {
+                grow();
+            }
+            final var row = rows++;
+            idHigh[row] = id.getMostSignificantBits();
+            idLow[row] = id.getLeastSignificantBits();
+            names[row] = employee.getName();
+            salaries[row] = employee.getSalary() == null ? NULL_INT : employee.getSalary();
+            ages[row] = employee.getAge() == null ? NULL_INT : employee.getAge();
+            titleCodes[row] = encodeTitle(employee.getTitle());
+            emails[row] = employee.getEmail();
+            live++;
+            link(row);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addAll(@NonNull List<MockEmployee> employees) {
+        lock.writeLock().lock();
+        try {
+            employees.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        lock.writeLock().lock();
+        try {
+            // chains are prepended to, so the earliest match is the last one in the chain
+            var earliest = NONE;
+            final var folded = fold(name);
+            for (var row = nameBuckets[bucket(folded.hashCode(), nameBuckets)]; row != NONE; row = nameNext[row]) {
+                if (!deleted[row] && fold(names[row]).equals(folded)) {
+                    earliest = row;
+                }
+            }
+            return earliest == NONE ? Optional.empty() : Optional.of(delete(earliest));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        lock.writeLock().lock();
+        try {
+            final var row = rowOf(id);
+            return row == NONE ? Optional.empty() : Optional.of(delete(row));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Optional<MockEmployee>> removeAllById(@NonNull List<UUID> ids) {
+        lock.writeLock().lock();
+        try {
+            return ids.stream().map(this::removeById).toList();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int rowOf(UUID id) {
+        final var high = id.getMostSignificantBits();
+        final var low = id.getLeastSignificantBits();
+        for (var row = idBuckets[bucket(hash(high, low), idBuckets)]; row != NONE; row = idNext[row]) {
+            if (idHigh[row] == high && idLow[row] == low && !deleted[row]) {
+                return row;
+            }
+        }
+        return NONE;
+    }
+
+    private MockEmployee delete(int row) {
+        final var employee = materialize(row);
+        deleted[row] = true;
+        live--;
+        if (rows - live >= idHigh.length / 4) {
+            compact();
+        }
+        return employee;
+    }
+
+    private MockEmployee materialize(int row) {
+        return MockEmployee.builder()
+                .id(new UUID(idHigh[row], idLow[row]))
+                .name(names[row])
+                .salary(salaries[row] == NULL_INT ? null : salaries[row])
+                .age(ages[row] == NULL_INT ? null : ages[row])
+                .title(titleCodes[row] == NONE ? null : titles.get(titleCodes[row]))
+                .email(emails[row])
+                .build();
+    }
+
+    private int encodeTitle(String title) {
+        if (title == null) {
+            return NONE;
+        }
+        return titleCodesByTitle.computeIfAbsent(title, ignored -> {
+            titles.add(title);
+            return titles.size() - 1;
+        });
+    }
+
+    private void link(int row) {
+        final var idBucket = bucket(hash(idHigh[row], idLow[row]), idBuckets);
+        idNext[row] = idBuckets[idBucket];
+        idBuckets[idBucket] = row;
+        if (names[row] != null) {
+            final var nameBucket = bucket(fold(names[row]).hashCode(), nameBuckets);
+            nameNext[row] = nameBuckets[nameBucket];
+            nameBuckets[nameBucket] = row;
+        } else {
+            nameNext[row] = NONE;
+        }
+    }
+
+    private void grow() {
+        final var capacity = idHigh.length * 2;
+        idHigh = Arrays.copyOf(idHigh, capacity);
+        idLow = Arrays.copyOf(idLow, capacity);
+        names = Arrays.copyOf(names, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        titleCodes = Arrays.copyOf(titleCodes, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        deleted = Arrays.copyOf(deleted, capacity);
+        idNext = new int[capacity];
+        nameNext = new int[capacity];
+        idBuckets = newBuckets(capacity);
+        nameBuckets = newBuckets(capacity);
+        for (var row = 0; row < rows; row++) {
+            link(row);
+        }
+    }
+
+    /**
+     * Moves the live rows down over the deleted ones, keeping their order, and rebuilds the chains.
+     */
+    private void compact() {
+        final var newRows = new int[rows + 1];
+        var kept = 0;
+        for (var row = 0; row < rows; row++) {
+            newRows[row] = kept;
+            if (deleted[row]) {
+                continue;
+            }
+            if (kept != row) {
+                idHigh[kept] = idHigh[row];
+                idLow[kept] = idLow[row];
+                names[kept] = names[row];
+                salaries[kept] = salaries[row];
+                ages[kept] = ages[row];
+                titleCodes[kept] = titleCodes[row];
+                emails[kept] = emails[row];
+            }
+            kept++;
+        }
+        newRows[rows] = kept;
+        Arrays.fill(names, kept, rows, null);
+        Arrays.fill(emails, kept, rows, null);
+        Arrays.fill(deleted, 0, rows, false);
+        rows = kept;
+        Arrays.fill(idBuckets, NONE);
+        Arrays.fill(nameBuckets, NONE);
+        for (var row = 0; row < rows; row++) {
+            link(row);
+        }
+        compaction.next = new Compaction(newRows);
+        compaction = compaction.next;
+    }
+
+    private static int[] newBuckets(int capacity) {
+        final var buckets = new int[Integer.highestOneBit(capacity - 1) << 1];
+        Arrays.fill(buckets, NONE);
+        return buckets;
+    }
+
+    private static int bucket(int hash, int[] buckets) {
+        return (hash ^ (hash >>> 16)) & (buckets.length - 1);
+    }
+
+    private static int hash(long high, long low) {
+        return Long.hashCode(high ^ low);
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param newRows for every row before a compaction, and the row count, the number of live rows before it; that is
+     *     the row's position afterwards if it was live, and the position of the next live row otherwise.
+     */
+    private static final class Compaction {
+
+        private final int[] newRows;
+        private Compaction next;
+
+        private Compaction(int[] newRows) {
+            this.newRows = newRows;
+        }
+    }
+
+    private class RowIterator implements Iterator<MockEmployee> {
+
+        private Compaction seen;
+        private int end;
+        private int row;
+        private MockEmployee next;
+
+        private RowIterator() {
+            lock.readLock().lock();
+            try {
+                seen = compaction;
+                end = rows;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            lock.readLock().lock();
+            try {
+                for (; seen.next != null; seen = seen.next) {
+                    row = seen.next.newRows[row];
+                    end = seen.next.newRows[end];
+                }
+                for (; row < end; row++) {
+                    if (!deleted[row]) {
+                        next = materialize(row++);
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public MockEmployee next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final var current = next;
+            next = null;
+            return current;
+        }
+    }
+
+    /** Number of rows in use, deleted ones included; for tests. */
+    int rowCount() {
+        lock.readLock().lock();
+        try {
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link EmployeeStore} backed by concurrent maps. Every employee gets a sequence number on insertion; the roster is a
+ * skip list keyed by sequence, with a hash index from id to sequence and a case-insensitive index from name to the
+ * sequences of the employees with that name. Lookups by id are O(1), adds and removals O(log n), and readers never
+ * block writers.
+ * <p>
+ * Name index entries are only read and modified inside {@link ConcurrentHashMap#compute}, which locks just the bin of
+ * that name, so two deletes of the same name remove two different employees while unrelated names do not contend.
+ * Whoever removes an employee from the roster owns its removal, so a delete by name that loses the race to a delete
+ * by id moves on to the next employee with that name.
+ */
+public class ConcurrentEmployeeStore implements EmployeeStore {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentNavigableMap<Long, MockEmployee> roster = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<UUID, Long> byId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableSet<Long>> byName = new ConcurrentHashMap<>();
+
+    @Override
+    public Collection<MockEmployee> findAll() {
+        return Collections.unmodifiableCollection(roster.values());
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return Optional.ofNullable(byId.get(id)).map(roster::get);
+    }
+
+    @Override
+    public void add(@NonNull MockEmployee employee) {
+        final var seq = sequence.incrementAndGet();
+        roster.put(seq, employee);
+        if (employee.getId() != null) {
+            byId.put(employee.getId(), seq);
+        }
+        if (employee.getName() != null) {
+            byName.compute(fold(employee.getName()), (name, sequences) -> {
+                final var updated = sequences == null ? new TreeSet<Long>() : sequences;
+                updated.add(seq);
+                return updated;
+            });
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var removed = new long[1];
+        while (true) {
+            removed[0] = -1;
+            byName.computeIfPresent(fold(name), (key, sequences) -> {
+                removed[0] = sequences.pollFirst();
+                return sequences.isEmpty() ? null : sequences;
+            });
+            if (removed[0] < 0) {
+                return Optional.empty();
+            }
+            final var employee = roster.remove(removed[0]);
+            if (employee != null) {
+                if (employee.getId() != null) {
+                    byId.remove(employee.getId(), removed[0]);
+                }
+                return Optional.of(employee);
+            }
+            // a concurrent removal by id took this employee before it left the name index; try the next one
+        }
+    }
+
+    @Override
+    public Optional<MockEmployee> removeById(@NonNull UUID id) {
+        final var seq = byId.remove(id);
+        if (seq == null) {
+            return Optional.empty();
+        }
+        // a concurrent removal by name may have taken the entry in the meantime
+        final var employee = roster.remove(seq);
+        if (employee != null && employee.getName() != null) {
+            byName.computeIfPresent(fold(employee.getName()), (key, sequences) -> {
+                sequences.remove(seq);
+                return sequences.isEmpty() ? null : sequences;
+            });
+        }
+        return Optional.ofNullable(employee);
+    }
+
+    @Override
+    public int size() {
+        return roster.size();
+    }
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import lombok.NonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Thread-safe storage for mock employees. Employees are kept in insertion order.
+ */
+public interface EmployeeStore {
+
+    /**
+     * @return a weakly consistent view of all employees in insertion order; it never throws
+     * {@link java.util.ConcurrentModificationException} while employees are added or removed.
+     */
+    Collection<MockEmployee> findAll();
+
+    Optional<MockEmployee> findById(@NonNull UUID id);
+
+    void add(@NonNull MockEmployee employee);
+
+    /**
+     * Adds the employees in order. Implementations may apply them in one step, e.g. under a single lock.
+     */
+    default void addAll(@NonNull List<MockEmployee> employees) {
+        employees.forEach(this::add);
+    }
+
+    /**
+     * Removes the earliest added employee whose name equals {@code name}, ignoring case.
+     */
+    Optional<MockEmployee> removeByName(@NonNull String name);
+
+    Optional<MockEmployee> removeById(@NonNull UUID id);
+
+    /**
+     * Removes the employees with the given ids in order. Implementations may apply the removals in one step.
+     *
+     * @return the removed employee, or empty if there was none, for each id in order.
+     */
+    default List<Optional<MockEmployee>> removeAllById(@NonNull List<UUID> ids) {
+        return ids.stream().map(this::removeById).toList();
+    }
+
+    int size();
+}
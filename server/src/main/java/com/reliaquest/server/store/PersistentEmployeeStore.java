@@ -0,0 +1,429 @@
+package com.reliaquest.server.store;
+
+import com.reliaquest.server.model.MockEmployee;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * {@link EmployeeStore} decorator that persists the roster as a binary snapshot plus an append-only write-ahead log of
+ * creates and deletes, so the same data survives restarts.
+ * <p>
+ * On {@link #open} the snapshot is memory-mapped and decoded into the delegate, then the log is replayed on top of it;
+ * a record torn by a crash at the end of the log is dropped. If anything was replayed, a fresh snapshot is written and
+ * the log is started over. Snapshot and log carry a generation number and a log is only replayed onto the snapshot of
+ * its own generation, so a crash between writing a snapshot and resetting the log cannot apply writes twice. If there
+ * is no snapshot yet, the delegate is populated by the given initializer and snapshotted.
+ * <p>
+ * Every write is appended to the log and forced to disk before it is applied to the delegate, and a batch is appended
+ * with a single write, so an acknowledged write survives a crash or power loss and a write that failed to be logged
+ * is never visible. A failed append is cut off the log again; if even that fails, the store refuses further writes
+ * rather than append them after a torn record. Once the log has grown past {@code maxLogBytes} a snapshot of the next
+ * generation is written and the log is started over, so it does not grow for the life of the process. A snapshot is
+ * forced to disk before it replaces the previous one.
+ */
+@Slf4j
+public class PersistentEmployeeStore implements EmployeeStore, AutoCloseable {
+
+    static final String SNAPSHOT_FILE = "employees.snapshot";
+    static final String LOG_FILE = "employees.wal";
+    static final long DEFAULT_MAX_LOG_BYTES = 64L << 20;
+
+    private static final int MAGIC = 0x454d5053; // "EMPS"
+    private static final int FORMAT_VERSION = 1;
+    private static final byte CREATE = 1;
+    private static final byte DELETE = 2;
+    private static final byte DELETE_BY_ID = 3;
+    private static final int ID_BYTES = 2 * Long.BYTES;
+    private static final int NULL_LENGTH = -1;
+    private static final int LOG_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final EmployeeStore delegate;
+    private final FileChannel journal;
+    private final Path snapshot;
+    private final long maxLogBytes;
+    private long generation;
+    // set when a failed append could not be cut off the log, which later appends would then follow
+    private IOException broken;
+
+    private PersistentEmployeeStore(
+            EmployeeStore delegate, FileChannel journal, Path snapshot, long generation, long maxLogBytes) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.snapshot = snapshot;
+        this.generation = generation;
+        this.maxLogBytes = maxLogBytes;
+    }
+
+    public static PersistentEmployeeStore open(
+            @NonNull Path directory, @NonNull EmployeeStore delegate, @NonNull Consumer<EmployeeStore> initializer)
+            throws IOException {
+        return open(directory, delegate, initializer, DEFAULT_MAX_LOG_BYTES);
+    }
+
+    /**
+     * @param maxLogBytes size of the log beyond which it is folded into a new snapshot.
+     */
+    public static PersistentEmployeeStore open(
+            @NonNull Path directory,
+            @NonNull EmployeeStore delegate,
+            @NonNull Consumer<EmployeeStore> initializer,
+            long maxLogBytes)
+            throws IOException {
+        if (maxLogBytes <= LOG_HEADER_BYTES) {
+            throw new IllegalArgumentException("maxLogBytes must be larger than the log header");
+        }
+        Files.createDirectories(directory);
+        final var snapshot = directory.resolve(SNAPSHOT_FILE);
+        final var logFile = directory.resolve(LOG_FILE);
+        final var started = System.nanoTime();
+        long generation;
+        if (Files.exists(snapshot)) {
+            final var loaded = readSnapshot(snapshot, delegate);
+            generation = loaded.generation();
+            final var replayed = replayLog(logFile, generation, delegate);
+            log.info(
+                    "Loaded {} employees and replayed {} logged writes from {} in {} ms",
+                    loaded.count(),
+                    replayed,
+                    directory,
+                    (System.nanoTime() - started) / 1_000_000);
+            if (replayed > 0) {
+                writeSnapshot(snapshot, ++generation, delegate);
+            }
+        } else {
+            initializer.accept(delegate);
+            generation = 1;
+            writeSnapshot(snapshot, generation, delegate);
+            log.info("Wrote snapshot of {} employees to {}", delegate.size(), directory);
+        }
+        final var channel = FileChannel.open(
+                logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        final var store = new PersistentEmployeeStore(delegate, channel, snapshot, generation, maxLogBytes);
+        store.append(header(generation));
+        return store;
+    }
+
+    @Override
+    public Collection<MockEmployee> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<MockEmployee> findById(@NonNull UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public synchronized void add(@NonNull MockEmployee employee) {
+        final var record = ByteBuffer.allocate(1 + recordSize(employee)).put(CREATE);
+        putEmployee(record, employee);
+        append(record.flip());
+        delegate.add(employee);
+        compactIfFull();
+    }
+
+    @Override
+    public synchronized void addAll(@NonNull List<MockEmployee> employees) {
+        final var size = employees.stream()
+                .mapToInt(employee -> 1 + recordSize(employee))
+                .sum();
+        final var records = ByteBuffer.allocate(size);
+        for (MockEmployee employee : employees) {
+            putEmployee(records.put(CREATE), employee);
+        }
+        append(records.flip());
+        delegate.addAll(employees);
+        compactIfFull();
+    }
+
+    /**
+     * The store cannot tell which employee, if any, has the name without removing it, so the record is appended first
+     * and cut off the log again if nothing was removed. Replaying it would not have removed anything either.
+     */
+    @Override
+    public synchronized Optional<MockEmployee> removeByName(@NonNull String name) {
+        final var record = ByteBuffer.allocate(1 + stringSize(name)).put(DELETE);
+        putString(record, name);
+        final var start = append(record.flip());
+        final var removed = delegate.removeByName(name);
+        if (removed.isEmpty()) {
+            truncate(start);
+        } else {
+            compactIfFull();
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized Optional<MockEmployee> removeById(@NonNull UUID id) {
+        if (delegate.findById(id).isEmpty()) {
+            return Optional.empty();
+        }
+        final var record = ByteBuffer.allocate(1 + ID_BYTES).put(DELETE_BY_ID);
+        putId(record, id);
+        append(record.flip());
+        final var removed = delegate.removeById(id);
+        compactIfFull();
+        return removed;
+    }
+
+    @Override
+    public synchronized List<Optional<MockEmployee>> removeAllById(@NonNull List<UUID> ids) {
+        final var records = ByteBuffer.allocate(ids.size() * (1 + ID_BYTES));
+        for (final var id : ids) {
+            // all writes go through this store's lock, so the employees found are the ones the delegate removes
+            if (delegate.findById(id).isPresent()) {
+                putId(records.put(DELETE_BY_ID), id);
+            }
+        }
+        if (records.position() == 0) {
+            return ids.stream().map(id -> Optional.<MockEmployee>empty()).toList();
+        }
+        append(records.flip());
+        final var removed = delegate.removeAllById(ids);
+        compactIfFull();
+        return removed;
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Writes {@code record} to the log and forces it to disk; on failure cuts it off again.
+     *
+     * @return the offset the record starts at.
+     */
+    private long append(ByteBuffer record) {
+        if (broken != null) {
+            throw new UncheckedIOException("Employee log is unusable after a failed append", broken);
+        }
+        long start = -1;
+        try {
+            start = journal.position();
+            while (record.hasRemaining()) {
+                journal.write(record);
+            }
+            // the log's size changes with every append, so its metadata has to be forced as well
+            journal.force(true);
+            return start;
+        } catch (IOException e) {
+            if (start >= 0) {
+                truncate(start);
+            } else {
+                broken = e;
+            }
+            throw new UncheckedIOException("Failed to append to employee log", e);
+        }
+    }
+
+    private void truncate(long position) {
+        try {
+            journal.truncate(position);
+            journal.position(position);
+        } catch (IOException e) {
+            log.error("Failed to cut employee log back to offset {}, refusing further writes", position, e);
+            broken = e;
+        }
+    }
+
+    /**
+     * Folds the log into a snapshot of the next generation once it has grown past {@code maxLogBytes}. A crash after
+     * the snapshot is written but before the log is reset leaves a log of the previous generation, which is ignored.
+     */
+    private void compactIfFull() {
+        try {
+            if (journal.size() < maxLogBytes) {
+                return;
+            }
+            writeSnapshot(snapshot, generation + 1, delegate);
+        } catch (IOException e) {
+            // the log still holds every write, so keep appending to it and try again on the next write
+            log.warn("Failed to compact employee log into a snapshot: {}", e.getMessage());
+            return;
+        }
+        generation++;
+        truncate(0);
+        try {
+            append(header(generation));
+        } catch (UncheckedIOException e) {
+            // the new snapshot holds every write, but a log without its header would not be replayed onto it
+            log.error("Failed to start a new employee log, refusing further writes", e);
+            broken = e.getCause();
+            return;
+        }
+        log.info("Compacted employee log into snapshot of generation {} ({} employees)", generation, delegate.size());
+    }
+
+    private static ByteBuffer header(long generation) {
+        return ByteBuffer.allocate(LOG_HEADER_BYTES).putInt(MAGIC).putLong(generation).flip();
+    }
+
+    private static Snapshot readSnapshot(Path snapshot, EmployeeStore delegate) throws IOException {
+        try (var channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot too large to map: " + snapshot);
+            }
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not an employee snapshot: " + snapshot);
+            }
+            final var generation = buffer.getLong();
+            final var count = buffer.getInt();
+            for (var i = 0; i < count; i++) {
+                delegate.add(getEmployee(buffer));
+            }
+            return new Snapshot(generation, count);
+        }
+    }
+
+    private static int replayLog(Path logFile, long generation, EmployeeStore delegate) throws IOException {
+        if (!Files.exists(logFile)) {
+            return 0;
+        }
+        try (var channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            final var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < LOG_HEADER_BYTES
+                    || buffer.getInt() != MAGIC
+                    || buffer.getLong() != generation) {
+                log.warn("Ignoring {}, it does not belong to the snapshot of generation {}", logFile, generation);
+                return 0;
+            }
+            var replayed = 0;
+            var end = buffer.position();
+            try {
+                while (buffer.hasRemaining()) {
+                    switch (buffer.get()) {
+                        case CREATE -> delegate.add(getEmployee(buffer));
+                        case DELETE -> delegate.removeByName(getString(buffer));
+                        case DELETE_BY_ID -> delegate.removeById(getId(buffer));
+                        default -> throw new BufferUnderflowException();
+                    }
+                    replayed++;
+                    end = buffer.position();
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                log.warn("Dropping incomplete record at offset {} of {}", end, logFile);
+            }
+            return replayed;
+        }
+    }
+
+    private static void writeSnapshot(Path snapshot, long generation, EmployeeStore store) throws IOException {
+        final var temporary = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            final var employees = store.findAll();
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(generation);
+            out.writeInt(employees.size());
+            var written = 0;
+            for (MockEmployee employee : employees) {
+                final var record = ByteBuffer.allocate(recordSize(employee));
+                putEmployee(record, employee);
+                out.write(record.array());
+                written++;
+            }
+            if (written != employees.size()) {
+                throw new IOException("Employees changed while writing snapshot");
+            }
+        }
+        try (var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int recordSize(MockEmployee employee) {
+        return ID_BYTES
+                + 2 * Integer.BYTES
+                + stringSize(employee.getName())
+                + stringSize(employee.getTitle())
+                + stringSize(employee.getEmail());
+    }
+
+    private static void putEmployee(ByteBuffer buffer, MockEmployee employee) {
+        putId(buffer, employee.getId());
+        buffer.putInt(employee.getSalary() == null ? Integer.MIN_VALUE : employee.getSalary());
+        buffer.putInt(employee.getAge() == null ? Integer.MIN_VALUE : employee.getAge());
+        putString(buffer, employee.getName());
+        putString(buffer, employee.getTitle());
+        putString(buffer, employee.getEmail());
+    }
+
+    private static MockEmployee getEmployee(ByteBuffer buffer) {
+        final var id = getId(buffer);
+        final var salary = buffer.getInt();
+        final var age = buffer.getInt();
+        return MockEmployee.builder()
+                .id(id)
+                .salary(salary == Integer.MIN_VALUE ? null : salary)
+                .age(age == Integer.MIN_VALUE ? null : age)
+                .name(getString(buffer))
+                .title(getString(buffer))
+                .email(getString(buffer))
+                .build();
+    }
+
+    private static void putId(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getId(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static int stringSize(String value) {
+        return Integer.BYTES + (value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        final var length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        final var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Snapshot(long generation, int count) {}
+}
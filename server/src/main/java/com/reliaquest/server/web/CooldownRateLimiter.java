@@ -0,0 +1,42 @@
+package com.reliaquest.server.web;
+
+/**
+ * Allows {@code limit} requests, then rejects every request until {@code backoff} has passed since the last allowed
+ * one, after which the count starts over. This is the profile the Mock Employee API has always had. A key that has not
+ * been allowed a request for {@code backoff} starts over as well.
+ */
+public class CooldownRateLimiter extends KeyedRateLimiter<CooldownRateLimiter.State> {
+
+    private final int limit;
+    private final long backoffNanos;
+
+    public CooldownRateLimiter(int limit, long backoffNanos) {
+        super(backoffNanos);
+        this.limit = limit;
+        this.backoffNanos = backoffNanos;
+    }
+
+    @Override
+    State initial(long now) {
+        return new State(0, now);
+    }
+
+    @Override
+    Transition<State> next(State current, long now) {
+        if (current.count() < limit) {
+            return new Transition<>(new State(current.count() + 1, now), Decision.allow());
+        }
+        final var wait = current.lastAllowedAt() + backoffNanos - now;
+        if (wait > 0) {
+            return new Transition<>(current, Decision.reject(wait));
+        }
+        return new Transition<>(new State(1, now), Decision.allow());
+    }
+
+    @Override
+    boolean isIdle(State state, long now) {
+        return now - state.lastAllowedAt() >= backoffNanos;
+    }
+
+    record State(int count, long lastAllowedAt) {}
+}
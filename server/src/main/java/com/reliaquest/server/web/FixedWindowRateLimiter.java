@@ -0,0 +1,41 @@
+package com.reliaquest.server.web;
+
+/**
+ * Allows {@code limit} requests per window, windows starting at fixed intervals.
+ */
+public class FixedWindowRateLimiter extends KeyedRateLimiter<FixedWindowRateLimiter.State> {
+
+    private final int limit;
+    private final long windowNanos;
+
+    public FixedWindowRateLimiter(int limit, long windowNanos) {
+        super(windowNanos);
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+    }
+
+    @Override
+    State initial(long now) {
+        return new State(now, 0);
+    }
+
+    @Override
+    Transition<State> next(State current, long now) {
+        var state = current;
+        final var elapsed = now - state.windowStart();
+        if (elapsed >= windowNanos) {
+            state = new State(now - elapsed % windowNanos, 0);
+        }
+        if (state.count() < limit) {
+            return new Transition<>(new State(state.windowStart(), state.count() + 1), Decision.allow());
+        }
+        return new Transition<>(state, Decision.reject(state.windowStart() + windowNanos - now));
+    }
+
+    @Override
+    boolean isIdle(State state, long now) {
+        return now - state.windowStart() >= windowNanos;
+    }
+
+    record State(long windowStart, int count) {}
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base for rate limiters keeping an immutable state per key. A request computes the successor of the current state and
+ * installs it with a compare-and-set, retrying if another request got there first, so the check and the update are
+ * atomic without any lock.
+ * <p>
+ * Keys such as client addresses come and go, so once per {@code sweepIntervalNanos} the states that have become idle,
+ * i.e. would allow a request just like a fresh one, are dropped. A dropped state is cleared with a compare-and-set as
+ * well, so a request racing with the sweep starts over on a fresh state instead of updating the dropped one.
+ *
+ * @param <S> immutable per-key state.
+ */
+abstract class KeyedRateLimiter<S> implements RateLimiter {
+
+    private static final long NOT_SCHEDULED = Long.MIN_VALUE;
+
+    private final ConcurrentMap<String, AtomicReference<S>> states = new ConcurrentHashMap<>();
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweep = new AtomicLong(NOT_SCHEDULED);
+
+    KeyedRateLimiter(long sweepIntervalNanos) {
+        this.sweepIntervalNanos = sweepIntervalNanos;
+    }
+
+    @Override
+    public Decision tryAcquire(String key, long now) {
+        sweepIfDue(now);
+        while (true) {
+            var state = states.get(key);
+            if (state == null) {
+                state = states.computeIfAbsent(key, ignored -> new AtomicReference<>(initial(now)));
+            }
+            final var decision = tryAcquire(state, now);
+            if (decision != null) {
+                return decision;
+            }
+            states.remove(key, state);
+        }
+    }
+
+    /**
+     * @return the decision, or null if the state was dropped as idle in the meantime.
+     */
+    private Decision tryAcquire(AtomicReference<S> state, long now) {
+        while (true) {
+            final var current = state.get();
+            if (current == null) {
+                return null;
+            }
+            final var next = next(current, now);
+            if (next.state() == current || state.compareAndSet(current, next.state())) {
+                return next.decision();
+            }
+        }
+    }
+
+    private void sweepIfDue(long now) {
+        final var due = nextSweep.get();
+        if (due == NOT_SCHEDULED) {
+            nextSweep.compareAndSet(NOT_SCHEDULED, now + sweepIntervalNanos);
+        } else if (now - due >= 0 && nextSweep.compareAndSet(due, now + sweepIntervalNanos)) {
+            states.forEach((key, state) -> {
+                final var current = state.get();
+                if (current != null && isIdle(current, now) && state.compareAndSet(current, null)) {
+                    states.remove(key, state);
+                }
+            });
+        }
+    }
+
+    /** Number of keys with a state, for tests. */
+    int keyCount() {
+        return states.size();
+    }
+
+    abstract S initial(long now);
+
+    abstract Transition<S> next(S current, long now);
+
+    /**
+     * @return whether {@code state} would treat a request at {@code now} like a fresh state does, so that it can be
+     *     dropped.
+     */
+    abstract boolean isIdle(S state, long now);
+
+    record Transition<S>(S state, Decision decision) {}
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects requests over the configured {@link RateLimiter} with {@code 429 Too Many Requests} and a {@code Retry-After}
+ * header in whole seconds.
+ */
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitKey rateLimitKey;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var decision = rateLimiter.tryAcquire(rateLimitKey.resolve(request), System.nanoTime());
+        if (decision.allowed()) {
+            return true;
+        }
+        final var retryAfterSeconds = (decision.retryAfterNanos() + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * What requests share a rate limit.
+ */
+public enum RateLimitKey {
+    GLOBAL,
+    CLIENT,
+    ROUTE,
+    CLIENT_ROUTE;
+
+    public String resolve(HttpServletRequest request) {
+        return switch (this) {
+            case GLOBAL -> "*";
+            case CLIENT -> request.getRemoteAddr();
+            case ROUTE -> route(request);
+            case CLIENT_ROUTE -> request.getRemoteAddr() + " " + route(request);
+        };
+    }
+
+    /*
+     * The matched pattern rather than the URI, so that e.g. all lookups by id share one limit.
+     */
+    private static String route(HttpServletRequest request) {
+        final var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,27 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+
+/**
+ * Available rate limiting algorithms. {@code limit} and {@code window} are interpreted by each of them.
+ */
+public enum RateLimitMode {
+    /** {@code limit} requests, then rejected until {@code window} has passed since the last allowed request. */
+    COOLDOWN,
+    /** Bursts of up to {@code limit} requests, refilled at {@code limit} per {@code window}. */
+    TOKEN_BUCKET,
+    /** About {@code limit} requests in any {@code window}. */
+    SLIDING_WINDOW,
+    /** {@code limit} requests per consecutive {@code window}. */
+    FIXED_WINDOW;
+
+    public RateLimiter create(int limit, Duration window) {
+        final var windowNanos = window.toNanos();
+        return switch (this) {
+            case COOLDOWN -> new CooldownRateLimiter(limit, windowNanos);
+            case TOKEN_BUCKET -> new TokenBucketRateLimiter(limit, windowNanos);
+            case SLIDING_WINDOW -> new SlidingWindowRateLimiter(limit, windowNanos);
+            case FIXED_WINDOW -> new FixedWindowRateLimiter(limit, windowNanos);
+        };
+    }
+}
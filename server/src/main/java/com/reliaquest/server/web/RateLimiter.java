@@ -0,0 +1,29 @@
+package com.reliaquest.server.web;
+
+/**
+ * Decides whether a request identified by a key may be served now.
+ */
+public interface RateLimiter {
+
+    /**
+     * @param key identifies who or what is limited, e.g. a client address or a route.
+     * @param now {@link System#nanoTime()} at which the request arrived.
+     */
+    Decision tryAcquire(String key, long now);
+
+    /**
+     * @param retryAfterNanos when rejected, how long until the same key would be allowed again.
+     */
+    record Decision(boolean allowed, long retryAfterNanos) {
+
+        private static final Decision ALLOWED = new Decision(true, 0);
+
+        public static Decision allow() {
+            return ALLOWED;
+        }
+
+        public static Decision reject(long retryAfterNanos) {
+            return new Decision(false, Math.max(retryAfterNanos, 1));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.server.web;
+
+/**
+ * Allows about {@code limit} requests in any window of the configured length. Counts are kept for the current and the
+ * previous fixed window, and the previous count is weighted by how much of it still overlaps the sliding window, which
+ * avoids the double burst a fixed window allows around its boundary.
+ */
+public class SlidingWindowRateLimiter extends KeyedRateLimiter<SlidingWindowRateLimiter.State> {
+
+    private final int limit;
+    private final long windowNanos;
+
+    public SlidingWindowRateLimiter(int limit, long windowNanos) {
+        super(windowNanos);
+        this.limit = limit;
+        this.windowNanos = windowNanos;
+    }
+
+    @Override
+    State initial(long now) {
+        return new State(now, 0, 0);
+    }
+
+    @Override
+    Transition<State> next(State current, long now) {
+        final var state = roll(current, now);
+        final var remaining = state.windowStart() + windowNanos - now;
+        final var weightedPrevious = (double) state.previous() * remaining / windowNanos;
+        if (weightedPrevious + state.current() < limit) {
+            return new Transition<>(
+                    new State(state.windowStart(), state.previous(), state.current() + 1), Decision.allow());
+        }
+        if (state.current() < limit) {
+            // the weighted previous count has to decay until there is room for one more request
+            return new Transition<>(state, Decision.reject(decayWait(state.previous(), state.current(), remaining)));
+        }
+        // no room before the window rolls, and then the current count becomes the previous one and has to decay
+        return new Transition<>(state, Decision.reject(remaining + decayWait(state.current(), 0, windowNanos)));
+    }
+
+    @Override
+    boolean isIdle(State state, long now) {
+        final var rolled = roll(state, now);
+        return rolled.previous() == 0 && rolled.current() == 0;
+    }
+
+    /**
+     * @return how long until {@code previous} weighted by the part of the window still left, {@code remaining} now,
+     *     plus {@code current} drops below the limit.
+     */
+    private long decayWait(int previous, int current, long remaining) {
+        final var decayed = windowNanos * (double) (limit - current) / previous;
+        return (long) (remaining - decayed) + 1;
+    }
+
+    private State roll(State state, long now) {
+        final var windows = (now - state.windowStart()) / windowNanos;
+        if (windows == 0) {
+            return state;
+        }
+        final var windowStart = state.windowStart() + windows * windowNanos;
+        return new State(windowStart, windows == 1 ? state.current() : 0, 0);
+    }
+
+    record State(long windowStart, int previous, int current) {}
+}
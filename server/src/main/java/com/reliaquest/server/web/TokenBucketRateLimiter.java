@@ -0,0 +1,43 @@
+package com.reliaquest.server.web;
+
+/**
+ * Token bucket holding up to {@code limit} tokens and refilling one every {@code window / limit}, implemented as the
+ * generic cell rate algorithm: the only state is the theoretical arrival time of the next conforming request.
+ */
+public class TokenBucketRateLimiter extends KeyedRateLimiter<Long> {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    public TokenBucketRateLimiter(int limit, long windowNanos) {
+        super(windowNanos);
+        if (limit < 1 || windowNanos < limit) {
+            // a zero refill interval would allow every request
+            throw new IllegalArgumentException(
+                    "Token bucket needs a positive limit and a window of at least limit nanoseconds, was limit "
+                            + limit + ", window " + windowNanos + " ns");
+        }
+        this.intervalNanos = windowNanos / limit;
+        this.burstNanos = intervalNanos * (limit - 1);
+    }
+
+    @Override
+    Long initial(long now) {
+        return now;
+    }
+
+    @Override
+    Transition<Long> next(Long theoreticalArrival, long now) {
+        final var wait = theoreticalArrival - burstNanos - now;
+        if (wait > 0) {
+            return new Transition<>(theoreticalArrival, Decision.reject(wait));
+        }
+        return new Transition<>(Math.max(theoreticalArrival, now) + intervalNanos, Decision.allow());
+    }
+
+    @Override
+    boolean isIdle(Long theoreticalArrival, long now) {
+        // the bucket is full again
+        return theoreticalArrival - now <= 0;
+    }
+}
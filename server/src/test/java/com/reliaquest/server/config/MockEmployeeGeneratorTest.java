@@ -0,0 +1,54 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+class MockEmployeeGeneratorTest {
+
+    // spans several chunks and ends with a partial one
+    private static final int COUNT = MockEmployeeGenerator.CHUNK_SIZE * 5 + 123;
+
+    @Test
+    void testSameSeedGeneratesSameRosterRegardlessOfParallelism() throws Exception {
+        final var parallel = generate(new MockEmployeeGenerator(Locale.US, 42L, 8), COUNT);
+
+        // one chunk window at a time, on a single worker
+        final var pool = new ForkJoinPool(1);
+        try {
+            final var sequential = pool.submit(() -> generate(new MockEmployeeGenerator(Locale.US, 42L, 1), COUNT))
+                    .get();
+
+            assertEquals(COUNT, parallel.size());
+            assertEquals(parallel, sequential);
+            assertEquals(
+                    parallel.stream().map(MockEmployee::getId).toList(),
+                    sequential.stream().map(MockEmployee::getId).toList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testDifferentSeedGeneratesDifferentRoster() {
+        final var roster = generate(new MockEmployeeGenerator(Locale.US, 42L), 100);
+        final var other = generate(new MockEmployeeGenerator(Locale.US, 43L), 100);
+
+        assertEquals(100, other.size());
+        assertNotEquals(roster, other);
+        assertNotEquals(roster.get(0).getId(), other.get(0).getId());
+    }
+
+    private static List<MockEmployee> generate(MockEmployeeGenerator generator, int count) {
+        final var employees = new ArrayList<MockEmployee>(count);
+        generator.generate(count, employees::add);
+        return employees;
+    }
+}
@@ -0,0 +1,35 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.server.web.RateLimitKey;
+import com.reliaquest.server.web.RateLimitMode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class RateLimitConfigurationTest {
+
+    @Test
+    void testRejectsLimitBelowOne() {
+        final var e = assertThrows(IllegalArgumentException.class, () -> configuration(0, Duration.ofSeconds(30)));
+
+        assertEquals("mock.rate-limit.limit must be positive, was 0", e.getMessage());
+    }
+
+    @Test
+    void testRejectsNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () -> configuration(5, Duration.ZERO));
+        assertThrows(IllegalArgumentException.class, () -> configuration(5, Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void testDefaultsAreValid() {
+        configuration(null, null);
+    }
+
+    private static RateLimitConfiguration configuration(Integer limit, Duration window) {
+        return new RateLimitConfiguration(true, RateLimitMode.TOKEN_BUCKET, RateLimitKey.GLOBAL, limit, window);
+    }
+}
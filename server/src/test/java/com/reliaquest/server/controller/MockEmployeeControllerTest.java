@@ -0,0 +1,169 @@
+package com.reliaquest.server.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.EmployeeChangeFeed;
+import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.store.ConcurrentEmployeeStore;
+import jakarta.validation.Validation;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+class MockEmployeeControllerTest {
+
+    private final ConcurrentEmployeeStore store = new ConcurrentEmployeeStore();
+
+    private final EmployeeChangeFeed changeFeed = new EmployeeChangeFeed(100);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        final var service = new MockEmployeeService(
+                new Faker(), store, Validation.buildDefaultValidatorFactory().getValidator(), changeFeed);
+        final var controller = new MockEmployeeController(service, changeFeed, new ObjectMapper());
+        ReflectionTestUtils.setField(controller, "maxBatchSize", 1000);
+        ReflectionTestUtils.setField(controller, "maxWait", Duration.ofSeconds(5));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .setConversionService(new ApplicationConversionService())
+                .build();
+        for (var i = 0; i < 30; i++) {
+            store.add(employee("Employee " + i, 1000 * (i % 10)));
+        }
+    }
+
+    @Test
+    void testPageReportsTotalCountAndProjectsFields() throws Exception {
+        mockMvc.perform(employees("sort=salary&order=desc&offset=2&limit=2&fields=name,salary"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MockEmployeeController.TOTAL_COUNT, "30"))
+                .andExpect(jsonPath("$.data.length()").value(2))
+                .andExpect(jsonPath("$.data[0].employee_name").value("Employee 29"))
+                .andExpect(jsonPath("$.data[0].employee_salary").value(9000))
+                .andExpect(jsonPath("$.data[0].id").doesNotExist())
+                .andExpect(jsonPath("$.data[1].employee_name").value("Employee 8"));
+    }
+
+    @Test
+    void testFilterCountsMatchesBeforePaging() throws Exception {
+        mockMvc.perform(employees("limit=3").param("nameContains", "employee 1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(MockEmployeeController.TOTAL_COUNT, "11"))
+                .andExpect(jsonPath("$.data.length()").value(3))
+                .andExpect(jsonPath("$.data[0].employee_name").value("Employee 1"))
+                .andExpect(jsonPath("$.data[1].employee_name").value("Employee 10"));
+    }
+
+    @Test
+    void testUnrestrictedRequestReturnsWholeRosterWithoutTotalCount() throws Exception {
+        mockMvc.perform(employees(""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(MockEmployeeController.TOTAL_COUNT))
+                .andExpect(jsonPath("$.data.length()").value(30));
+    }
+
+    @Test
+    void testRejectsInvalidQueryParameters() throws Exception {
+        for (final var invalid : new String[] {
+            "sort=title", "order=up", "offset=-1", "limit=0", "minSalary=-5", "fields=name,password", "limit=ten"
+        }) {
+            mockMvc.perform(employees(invalid))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.status").value("Failed to process request."));
+        }
+    }
+
+    @Test
+    void testWholeRosterComesWithChangeFeedPosition() throws Exception {
+        changeFeed.recordCreated(List.of(employee("Recorded", 1000)), () -> {});
+
+        mockMvc.perform(employees(""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position.epoch").isString())
+                .andExpect(jsonPath("$.position.sequence").value(1));
+        mockMvc.perform(employees("limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").doesNotExist());
+    }
+
+    @Test
+    void testLongPollAnswersOnChange() throws Exception {
+        final var poll = mockMvc.perform(get("/api/v1/employee/changes?since=0&wait=PT5S"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        final var employee = employee("Created", 1000);
+        changeFeed.recordCreated(List.of(employee), () -> store.add(employee));
+
+        mockMvc.perform(asyncDispatch(poll))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.sequence").value(1))
+                .andExpect(jsonPath("$.data.changes[0].type").value("CREATED"))
+                .andExpect(jsonPath("$.data.changes[0].id").value(employee.getId().toString()));
+    }
+
+    @Test
+    void testChangesWithoutSinceReturnCurrentPosition() throws Exception {
+        changeFeed.recordCreated(List.of(employee("Recorded", 1000)), () -> {});
+
+        changes("")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.sequence").value(1))
+                .andExpect(jsonPath("$.data.changes").isEmpty());
+    }
+
+    @Test
+    void testExpiredCursorIsGone() throws Exception {
+        // one more than the feed retains
+        for (var i = 0; i <= 100; i++) {
+            changeFeed.recordCreated(List.of(employee("Recorded " + i, 1000)), () -> {});
+        }
+
+        changes("since=0").andExpect(status().isGone()).andExpect(jsonPath("$.error").isString());
+        changes("since=1&wait=PT5S")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes.length()").value(100));
+    }
+
+    private ResultActions changes(String query) throws Exception {
+        final var result = mockMvc.perform(get("/api/v1/employee/changes?" + query))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private static MockHttpServletRequestBuilder employees(String query) {
+        return get("/api/v1/employee?" + query).accept(MediaType.APPLICATION_JSON);
+    }
+
+    private static MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Developer")
+                .email("employee@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,156 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.EmployeeChange;
+import com.reliaquest.server.model.EmployeeChanges;
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class EmployeeChangeFeedTest {
+
+    private final EmployeeChangeFeed changeFeed = new EmployeeChangeFeed(3);
+
+    @Test
+    void testChangesSinceReturnsLaterChangesOldestFirst() {
+        final var first = employee("First");
+        final var second = employee("Second");
+        changeFeed.recordCreated(List.of(first, second), () -> {});
+        changeFeed.recordDeleted(() -> Optional.of(first), Optional::stream);
+
+        final var changes = changeFeed.changesSince(1L).orElseThrow();
+
+        assertEquals(3, changes.sequence());
+        assertEquals(
+                List.of(EmployeeChange.created(2, second), EmployeeChange.deleted(3, first)), changes.changes());
+        assertEquals(changes.epoch(), changeFeed.position().epoch());
+        assertEquals(3, changeFeed.position().sequence());
+        assertTrue(changeFeed.position().changes().isEmpty());
+    }
+
+    @Test
+    void testKeepsOnlyRetainedChanges() {
+        for (var i = 0; i < 5; i++) {
+            changeFeed.recordCreated(List.of(employee("Employee " + i)), () -> {});
+        }
+
+        final var retained = changeFeed.changesSince(2L).orElseThrow().changes();
+
+        assertEquals(List.of(3L, 4L, 5L), retained.stream().map(EmployeeChange::sequence).toList());
+        assertFalse(changeFeed.changesSince(1L).isPresent());
+        assertFalse(changeFeed.changesSince(0L).isPresent());
+    }
+
+    @Test
+    void testCursorAheadOfFeedHasNoChanges() {
+        changeFeed.recordCreated(List.of(employee("Employee")), () -> {});
+
+        assertTrue(changeFeed.changesSince(1L).orElseThrow().changes().isEmpty());
+        assertFalse(changeFeed.changesSince(2L).isPresent());
+    }
+
+    @Test
+    void testDeleteOfPendingCreateRecordsCreateFirst() {
+        final var employee = employee("Employee");
+
+        // the delete is recorded while the creating writer has not recorded its create yet
+        changeFeed.recordCreated(
+                List.of(employee), () -> changeFeed.recordDeleted(() -> Optional.of(employee), Optional::stream));
+
+        assertEquals(
+                List.of(EmployeeChange.created(1, employee), EmployeeChange.deleted(2, employee)),
+                changeFeed.changesSince(0L).orElseThrow().changes());
+    }
+
+    @Test
+    void testFailedWriteRecordsNothing() {
+        assertThrows(IllegalStateException.class, () -> changeFeed.recordCreated(List.of(employee("Employee")), () -> {
+            throw new IllegalStateException("full");
+        }));
+
+        assertEquals(0, changeFeed.position().sequence());
+    }
+
+    @Test
+    void testWritesRunOutsideTheLock() throws Exception {
+        final var writing = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var slow = CompletableFuture.runAsync(() -> changeFeed.recordCreated(List.of(employee("Slow")), () -> {
+            writing.countDown();
+            await(release);
+        }));
+        assertTrue(writing.await(1, TimeUnit.SECONDS));
+
+        CompletableFuture.runAsync(() -> changeFeed.recordCreated(List.of(employee("Fast")), () -> {}))
+                .get(1, TimeUnit.SECONDS);
+        assertEquals(1, changeFeed.position().sequence());
+        release.countDown();
+        slow.get(1, TimeUnit.SECONDS);
+
+        assertEquals(2, changeFeed.position().sequence());
+    }
+
+    @Test
+    void testLongPollCompletesOnChange() throws Exception {
+        final var poll = changeFeed.awaitChangesSince(0, Duration.ofSeconds(10));
+        assertFalse(poll.isDone());
+
+        final var employee = employee("Employee");
+        changeFeed.recordCreated(List.of(employee), () -> {});
+
+        final var changes = poll.get(1, TimeUnit.SECONDS).orElseThrow();
+        assertEquals(List.of(EmployeeChange.created(1, employee)), changes.changes());
+    }
+
+    @Test
+    void testLongPollWithoutChangesCompletesEmptyAfterWait() throws Exception {
+        final var poll = changeFeed.awaitChangesSince(0, Duration.ofMillis(50));
+
+        final EmployeeChanges changes = poll.get(1, TimeUnit.SECONDS).orElseThrow();
+
+        assertEquals(0, changes.sequence());
+        assertTrue(changes.changes().isEmpty());
+    }
+
+    @Test
+    void testLongPollWithExpiredCursorCompletesImmediately() {
+        for (var i = 0; i < 5; i++) {
+            changeFeed.recordCreated(List.of(employee("Employee " + i)), () -> {});
+        }
+
+        final var poll = changeFeed.awaitChangesSince(0, Duration.ofSeconds(10));
+
+        assertTrue(poll.isDone());
+        assertFalse(poll.join().isPresent());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Developer")
+                .email("employee@company.com")
+                .build();
+    }
+}
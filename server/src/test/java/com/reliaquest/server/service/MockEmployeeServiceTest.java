@@ -0,0 +1,118 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.store.ConcurrentEmployeeStore;
+import jakarta.validation.Validation;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+class MockEmployeeServiceTest {
+
+    private final ConcurrentEmployeeStore store = new ConcurrentEmployeeStore();
+
+    private final MockEmployeeService service = new MockEmployeeService(
+            new Faker(),
+            store,
+            Validation.buildDefaultValidatorFactory().getValidator(),
+            new EmployeeChangeFeed(100));
+
+    @Test
+    void testSortedPageKeepsRosterOrderForTiesAndPutsMissingKeysLast() {
+        final var noSalary = employee("No Salary", null);
+        final var first = employee("First", 50000);
+        final var top = employee("Top", 90000);
+        final var second = employee("Second", 50000);
+        final var low = employee("Low", 10000);
+        List.of(noSalary, first, top, second, low).forEach(store::add);
+
+        final var page = service.query(query("salary", "desc", null, null));
+
+        assertEquals(List.of(top, first, second, low, noSalary), page.employees());
+        assertEquals(5, page.total());
+    }
+
+    @Test
+    void testBoundedSortedPageMatchesFullSort() {
+        final var random = new Random(42);
+        final var employees = new ArrayList<MockEmployee>();
+        for (var i = 0; i < 1000; i++) {
+            // few distinct salaries, so many ties fall across the page boundaries
+            final var employee = employee("Employee " + i, 1000 * random.nextInt(50));
+            employees.add(employee);
+            store.add(employee);
+        }
+        final var fullSort = employees.stream()
+                .sorted(Comparator.comparing(MockEmployee::getSalary))
+                .toList();
+
+        for (final var offset : List.of(0, 7, 100, 995)) {
+            final var page = service.query(query("salary", "asc", offset, 10));
+
+            assertEquals(fullSort.subList(offset, Math.min(offset + 10, fullSort.size())), page.employees());
+            assertEquals(1000, page.total());
+        }
+    }
+
+    @Test
+    void testFilteredPageCountsAllMatches() {
+        final var matches = new ArrayList<MockEmployee>();
+        for (var i = 0; i < 20; i++) {
+            final var employee = employee(i % 2 == 0 ? "Jane Doe " + i : "John Smith " + i, 50000 + i);
+            store.add(employee);
+            if (i % 2 == 0) {
+                matches.add(employee);
+            }
+        }
+        final var query = query(null, null, 3, 4);
+        query.setNameContains("JANE");
+
+        final var page = service.query(query);
+
+        assertEquals(matches.subList(3, 7), page.employees());
+        assertEquals(10, page.total());
+    }
+
+    @Test
+    void testSalaryRangeExcludesEmployeesWithoutSalary() {
+        final var inRange = employee("In Range", 60000);
+        List.of(employee("Too Low", 10000), inRange, employee("No Salary", null), employee("Too High", 99000))
+                .forEach(store::add);
+        final var query = new EmployeeQuery();
+        query.setMinSalary(50000);
+        query.setMaxSalary(70000);
+
+        final var page = service.query(query);
+
+        assertEquals(List.of(inRange), page.employees());
+        assertEquals(1, page.total());
+    }
+
+    private static EmployeeQuery query(String sort, String order, Integer offset, Integer limit) {
+        final var query = new EmployeeQuery();
+        query.setSort(sort);
+        query.setOrder(order);
+        query.setOffset(offset);
+        query.setLimit(limit);
+        return query;
+    }
+
+    private static MockEmployee employee(String name, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Developer")
+                .email("employee@company.com")
+                .build();
+    }
+}
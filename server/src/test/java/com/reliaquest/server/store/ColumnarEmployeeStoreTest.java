@@ -0,0 +1,149 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+class ColumnarEmployeeStoreTest {
+
+    private final ColumnarEmployeeStore store = new ColumnarEmployeeStore(16);
+
+    @Test
+    void testFindsEveryEmployeeAfterGrowAndRelink() {
+        final var employees = employees("Employee", 1000);
+
+        store.addAll(employees);
+
+        assertEquals(1000, store.size());
+        for (final var employee : employees) {
+            assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        }
+        assertEquals(employees, new ArrayList<>(store.findAll()));
+        assertEquals(Optional.of(employees.get(500)), store.removeByName("employee 500"));
+    }
+
+    @Test
+    void testRemoveByNameWalksChainToEarliestMatch() {
+        final var first = employee("Jane Doe");
+        final var second = employee("JANE DOE");
+        store.add(first);
+        store.addAll(employees("Other", 100));
+        store.add(second);
+
+        assertEquals(Optional.of(first), store.removeByName("jane doe"));
+        assertEquals(Optional.of(second), store.removeByName("Jane Doe"));
+        assertEquals(Optional.empty(), store.removeByName("Jane Doe"));
+    }
+
+    @Test
+    void testRemoveByNameMatchesFoldedNamesOnly() {
+        // a capital I with a dot equals "i" ignoring case, but folds to "i" followed by a combining dot; some of these
+        // names share a bucket with the name they are removed by
+        for (var i = 0; i < 200; i++) {
+            store.add(employee("\u0130" + i + "\u0130"));
+
+            assertEquals(Optional.empty(), store.removeByName("i" + i + "i"));
+        }
+        assertEquals(200, store.size());
+    }
+
+    @Test
+    void testDeletedRowsAreSkipped() {
+        final var employees = employees("Employee", 10);
+        store.addAll(employees);
+
+        assertEquals(Optional.of(employees.get(3)), store.removeById(employees.get(3).getId()));
+
+        assertEquals(Optional.empty(), store.findById(employees.get(3).getId()));
+        assertEquals(Optional.empty(), store.removeById(employees.get(3).getId()));
+        assertEquals(Optional.empty(), store.removeByName("Employee 3"));
+        assertEquals(9, store.size());
+        assertEquals(9, store.findAll().size());
+        assertTrue(store.findAll().stream().noneMatch(employees.get(3)::equals));
+    }
+
+    @Test
+    void testReAddedIdIsFoundAfterDelete() {
+        final var employee = employee("Jane Doe");
+        store.add(employee);
+        store.removeById(employee.getId());
+        final var readded = employee.toBuilder().name("Jane Roe").build();
+
+        store.add(readded);
+
+        assertEquals(Optional.of(readded), store.findById(employee.getId()));
+    }
+
+    @Test
+    void testCompactsDeletedRowsKeepingOrder() {
+        final var employees = employees("Employee", 64);
+        store.addAll(employees);
+        final var remaining = new ArrayList<MockEmployee>();
+        for (var i = 0; i < employees.size(); i++) {
+            if (i % 3 == 0) {
+                store.removeById(employees.get(i).getId());
+            } else {
+                remaining.add(employees.get(i));
+            }
+        }
+
+        assertTrue(store.rowCount() < employees.size(), "rows: " + store.rowCount());
+        assertEquals(remaining, new ArrayList<>(store.findAll()));
+        for (final var employee : remaining) {
+            assertEquals(Optional.of(employee), store.findById(employee.getId()));
+        }
+        assertEquals(Optional.of(remaining.get(0)), store.removeByName("employee 1"));
+    }
+
+    @Test
+    void testIterationFollowsRowsAcrossCompaction() {
+        final var employees = employees("Employee", 64);
+        store.addAll(employees);
+        final var iterator = store.findAll().iterator();
+        final var seen = new ArrayList<MockEmployee>();
+        for (var i = 0; i < 10; i++) {
+            seen.add(iterator.next());
+        }
+
+        final var rowsBefore = store.rowCount();
+        for (var i = 5; i < 45; i += 2) {
+            store.removeById(employees.get(i).getId());
+        }
+        assertTrue(store.rowCount() < rowsBefore, "no compaction happened");
+        iterator.forEachRemaining(seen::add);
+
+        final var expected = new ArrayList<>(employees.subList(0, 10));
+        for (var i = 10; i < employees.size(); i++) {
+            if (i >= 45 || i % 2 == 0) {
+                expected.add(employees.get(i));
+            }
+        }
+        assertEquals(expected, seen);
+    }
+
+    private static List<MockEmployee> employees(String prefix, int count) {
+        final var employees = new ArrayList<MockEmployee>(count);
+        for (var i = 0; i < count; i++) {
+            employees.add(employee(prefix + " " + i));
+        }
+        return employees;
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Developer")
+                .email("employee@company.com")
+                .build();
+    }
+}
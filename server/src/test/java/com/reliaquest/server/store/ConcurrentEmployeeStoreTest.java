@@ -0,0 +1,96 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class ConcurrentEmployeeStoreTest {
+
+    private static final int EMPLOYEES = 2000;
+
+    private final ExecutorService removers = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        removers.shutdownNow();
+    }
+
+    @Test
+    void testRemoveByNameSkipsEmployeeTakenByConcurrentRemoveById() throws Exception {
+        for (var round = 0; round < 50; round++) {
+            final var store = new ConcurrentEmployeeStore();
+            final var ids = new ArrayList<UUID>();
+            for (var i = 0; i < EMPLOYEES; i++) {
+                final var employee = employee("Same Name");
+                ids.add(employee.getId());
+                store.add(employee);
+            }
+            final var start = new CountDownLatch(1);
+            final Callable<List<Optional<MockEmployee>>> byId = () -> {
+                start.await();
+                return ids.subList(0, EMPLOYEES / 2).stream().map(store::removeById).toList();
+            };
+            final Callable<List<Optional<MockEmployee>>> byName = () -> {
+                start.await();
+                final var removed = new ArrayList<Optional<MockEmployee>>();
+                for (var i = 0; i < EMPLOYEES / 2; i++) {
+                    removed.add(store.removeByName("same name"));
+                }
+                return removed;
+            };
+            final Future<List<Optional<MockEmployee>>> removedById = removers.submit(byId);
+            final Future<List<Optional<MockEmployee>>> removedByName = removers.submit(byName);
+            start.countDown();
+
+            final var removed = new HashSet<UUID>();
+            for (final var result : removedByName.get(5, TimeUnit.SECONDS)) {
+                assertTrue(result.isPresent(), "removeByName came back empty with employees left");
+                assertTrue(removed.add(result.get().getId()));
+            }
+            for (final var result : removedById.get(5, TimeUnit.SECONDS)) {
+                result.ifPresent(employee -> assertTrue(removed.add(employee.getId())));
+            }
+            assertEquals(EMPLOYEES - removed.size(), store.size());
+        }
+    }
+
+    @Test
+    void testRemoveByNameRemovesEarliestAddedIgnoringCase() {
+        final var store = new ConcurrentEmployeeStore();
+        final var first = employee("Jane Doe");
+        final var second = employee("JANE DOE");
+        store.add(first);
+        store.add(second);
+
+        assertEquals(Optional.of(first), store.removeByName("jane doe"));
+        assertEquals(Optional.of(second), store.removeByName("Jane Doe"));
+        assertEquals(Optional.empty(), store.removeByName("Jane Doe"));
+        assertEquals(0, store.size());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Developer")
+                .email("employee@company.com")
+                .build();
+    }
+}
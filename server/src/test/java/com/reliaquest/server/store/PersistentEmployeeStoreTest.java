@@ -0,0 +1,197 @@
+package com.reliaquest.server.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.model.MockEmployee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+class PersistentEmployeeStoreTest {
+
+    /** Magic number and generation at the start of every log. */
+    private static final int LOG_HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private static final Consumer<EmployeeStore> NOT_INITIALIZED = store -> {
+        throw new AssertionError("initializer ran although a snapshot exists");
+    };
+
+    @TempDir
+    Path directory;
+
+    private final MockEmployee jane = employee("Jane Doe");
+    private final MockEmployee john = employee("John Smith");
+    private final MockEmployee anna = employee("Anna Lee");
+
+    @Test
+    void testReplaysLogOntoSnapshot() throws IOException {
+        final var added = employee("Dan Brown");
+        final var batch = List.of(employee("Eve Adams"), employee("Max Power"));
+        try (var store = open(seed(jane, john, anna))) {
+            store.add(added);
+            store.removeById(john.getId());
+            store.removeByName("ANNA LEE");
+            store.addAll(batch);
+        }
+
+        try (var store = open(NOT_INITIALIZED)) {
+            assertEquals(List.of(jane, added, batch.get(0), batch.get(1)), roster(store));
+            assertEquals(Optional.empty(), store.findById(john.getId()));
+        }
+    }
+
+    @Test
+    void testIgnoresLogOfAnotherGeneration() throws IOException {
+        final var added = employee("Dan Brown");
+        try (var store = open(seed(jane, john))) {
+            store.add(added);
+            store.removeById(jane.getId());
+        }
+        final var staleLog = Files.readAllBytes(directory.resolve(PersistentEmployeeStore.LOG_FILE));
+        // replaying folds the log into a snapshot of the next generation
+        try (var store = open(NOT_INITIALIZED)) {
+            assertEquals(List.of(john, added), roster(store));
+        }
+        // as if a crash had happened after the new snapshot was written but before the log was reset
+        Files.write(directory.resolve(PersistentEmployeeStore.LOG_FILE), staleLog);
+
+        try (var store = open(NOT_INITIALIZED)) {
+            assertEquals(List.of(john, added), roster(store));
+        }
+    }
+
+    @Test
+    void testDropsTruncatedLastRecord() throws IOException {
+        final var torn = employee("Dan Brown");
+        try (var store = open(seed(jane))) {
+            store.add(john);
+            store.add(torn);
+        }
+        final var log = directory.resolve(PersistentEmployeeStore.LOG_FILE);
+        try (var channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (var store = open(NOT_INITIALIZED)) {
+            assertEquals(List.of(jane, john), roster(store));
+            assertEquals(Optional.empty(), store.findById(torn.getId()));
+        }
+    }
+
+    @Test
+    void testReopensAfterCompaction() throws IOException {
+        final var log = directory.resolve(PersistentEmployeeStore.LOG_FILE);
+        final var employees = new ArrayList<MockEmployee>();
+        for (var i = 0; i < 64; i++) {
+            employees.add(employee("Employee " + i));
+        }
+        try (var store = open(new ColumnarEmployeeStore(16), seed(employees.toArray(MockEmployee[]::new)))) {
+            // enough deletes for the columnar delegate to compact its rows as well
+            for (var i = 0; i < 40; i++) {
+                store.removeById(employees.get(i).getId());
+            }
+        }
+        final var remaining = employees.subList(40, employees.size());
+
+        try (var store = open(new ColumnarEmployeeStore(16), NOT_INITIALIZED)) {
+            assertEquals(LOG_HEADER_BYTES, Files.size(log));
+            assertEquals(remaining, roster(store));
+            store.add(jane);
+            store.removeByName("employee 40");
+        }
+
+        try (var store = open(new ColumnarEmployeeStore(16), NOT_INITIALIZED)) {
+            final var expected = new ArrayList<>(remaining.subList(1, remaining.size()));
+            expected.add(jane);
+            assertEquals(expected, roster(store));
+        }
+    }
+
+    @Test
+    void testCompactsLogOnceItOutgrowsLimit() throws IOException {
+        final var log = directory.resolve(PersistentEmployeeStore.LOG_FILE);
+        final var maxLogBytes = 1024;
+        final var expected = new ArrayList<MockEmployee>(List.of(jane));
+        try (var store =
+                PersistentEmployeeStore.open(directory, new ConcurrentEmployeeStore(), seed(jane), maxLogBytes)) {
+            for (var i = 0; i < 100; i++) {
+                final var employee = employee("Employee " + i);
+                store.add(employee);
+                expected.add(employee);
+                assertTrue(Files.size(log) < maxLogBytes);
+            }
+            store.removeByName("Employee 0");
+            expected.remove(1);
+        }
+
+        try (var store = open(NOT_INITIALIZED)) {
+            assertEquals(expected, roster(store));
+        }
+    }
+
+    @Test
+    void testFailedAppendLeavesDelegateUnchanged() throws IOException {
+        final var delegate = new ConcurrentEmployeeStore();
+        final var store = open(delegate, seed(jane));
+        store.close();
+
+        assertThrows(UncheckedIOException.class, () -> store.add(john));
+        assertThrows(UncheckedIOException.class, () -> store.addAll(List.of(john, anna)));
+        assertThrows(UncheckedIOException.class, () -> store.removeById(jane.getId()));
+        assertThrows(UncheckedIOException.class, () -> store.removeByName("Jane Doe"));
+
+        assertEquals(List.of(jane), roster(delegate));
+    }
+
+    @Test
+    void testWritesNothingToLogForMissedDeletes() throws IOException {
+        try (var store = open(seed(jane))) {
+            store.removeById(john.getId());
+            store.removeByName("John Smith");
+            store.removeAllById(List.of(john.getId(), anna.getId()));
+
+            assertEquals(LOG_HEADER_BYTES, Files.size(directory.resolve(PersistentEmployeeStore.LOG_FILE)));
+        }
+    }
+
+    private PersistentEmployeeStore open(Consumer<EmployeeStore> initializer) throws IOException {
+        return open(new ConcurrentEmployeeStore(), initializer);
+    }
+
+    private PersistentEmployeeStore open(EmployeeStore delegate, Consumer<EmployeeStore> initializer)
+            throws IOException {
+        return PersistentEmployeeStore.open(directory, delegate, initializer);
+    }
+
+    private static Consumer<EmployeeStore> seed(MockEmployee... employees) {
+        return store -> List.of(employees).forEach(store::add);
+    }
+
+    private static List<MockEmployee> roster(EmployeeStore store) {
+        return new ArrayList<>(store.findAll());
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Developer")
+                .email("employee@company.com")
+                .build();
+    }
+}
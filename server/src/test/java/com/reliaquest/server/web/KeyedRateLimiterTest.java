@@ -0,0 +1,104 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class KeyedRateLimiterTest {
+
+    private static final int LIMIT = 50;
+    private static final Duration WINDOW = Duration.ofSeconds(10);
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimitMode.class)
+    void testConcurrentRequestsNeverExceedLimit(RateLimitMode mode) throws Exception {
+        for (var round = 0; round < 20; round++) {
+            final var limiter = mode.create(LIMIT, WINDOW);
+            final var now = System.nanoTime();
+            final var start = new CountDownLatch(1);
+            final var results = new ArrayList<Future<Integer>>();
+            for (var caller = 0; caller < 8; caller++) {
+                results.add(callers.submit(() -> {
+                    start.await();
+                    var allowed = 0;
+                    for (var i = 0; i < LIMIT; i++) {
+                        if (limiter.tryAcquire("*", now).allowed()) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            var allowed = 0;
+            for (final var result : results) {
+                allowed += result.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(LIMIT, allowed, mode + " let " + allowed + " requests through");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimitMode.class)
+    void testDropsIdleKeys(RateLimitMode mode) {
+        final var limiter = (KeyedRateLimiter<?>) mode.create(2, WINDOW);
+        final var start = 0L;
+        for (var client = 0; client < 100; client++) {
+            limiter.tryAcquire("10.0.0." + client, start);
+        }
+        assertEquals(100, limiter.keyCount());
+
+        final var later = start + 3 * WINDOW.toNanos();
+        assertTrue(limiter.tryAcquire("10.0.1.1", later).allowed());
+
+        assertEquals(1, limiter.keyCount());
+        assertTrue(limiter.tryAcquire("10.0.0.1", later).allowed());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RateLimitMode.class)
+    void testKeepsLimitedKeys(RateLimitMode mode) {
+        final var limiter = (KeyedRateLimiter<?>) mode.create(2, WINDOW);
+        final var start = 0L;
+        limiter.tryAcquire("10.0.0.1", start);
+        final var busy = start + WINDOW.toNanos() - 1;
+        while (limiter.tryAcquire("10.0.0.2", busy).allowed()) {
+            // use up the limit just before the sweep
+        }
+
+        final var sweep = start + WINDOW.toNanos();
+        limiter.tryAcquire("10.0.0.3", sweep);
+
+        assertFalse(limiter.tryAcquire("10.0.0.2", sweep).allowed());
+    }
+
+    @Test
+    void testTokenBucketRejectsWindowTooShortToRefill() {
+        assertThrows(IllegalArgumentException.class, () -> RateLimitMode.TOKEN_BUCKET.create(0, WINDOW));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> RateLimitMode.TOKEN_BUCKET.create(LIMIT, Duration.ofNanos(LIMIT - 1)));
+    }
+}
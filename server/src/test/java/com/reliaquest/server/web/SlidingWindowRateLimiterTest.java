@@ -0,0 +1,44 @@
+package com.reliaquest.server.web;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(10);
+
+    private final SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(2, WINDOW);
+
+    @Test
+    void testRetryAfterFullWindowCoversPreviousWindowWeight() {
+        assertTrue(limiter.tryAcquire("*", 0).allowed());
+        assertTrue(limiter.tryAcquire("*", 0).allowed());
+
+        final var rejected = limiter.tryAcquire("*", TimeUnit.SECONDS.toNanos(1));
+
+        assertFalse(rejected.allowed());
+        final var retryAt = TimeUnit.SECONDS.toNanos(1) + rejected.retryAfterNanos();
+        assertFalse(limiter.tryAcquire("*", retryAt - 2).allowed());
+        assertTrue(limiter.tryAcquire("*", retryAt).allowed());
+    }
+
+    @Test
+    void testRetryAfterWaitsForPreviousWindowToDecay() {
+        limiter.tryAcquire("*", 0);
+        limiter.tryAcquire("*", 0);
+        final var now = WINDOW + TimeUnit.SECONDS.toNanos(2);
+        // the previous window still weighs 2 * 8 / 10 = 1.6
+        assertTrue(limiter.tryAcquire("*", now).allowed());
+
+        final var rejected = limiter.tryAcquire("*", now);
+
+        assertFalse(rejected.allowed());
+        final var retryAt = now + rejected.retryAfterNanos();
+        assertFalse(limiter.tryAcquire("*", retryAt - 2).allowed());
+        assertTrue(limiter.tryAcquire("*", retryAt).allowed());
+    }
+}